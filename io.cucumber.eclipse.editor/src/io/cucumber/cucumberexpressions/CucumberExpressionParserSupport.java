@@ -29,6 +29,7 @@ public class CucumberExpressionParserSupport {
 	private static final Pattern BEGIN_ANCHOR = Pattern.compile("^\\^.*");
 	private static final Pattern END_ANCHOR = Pattern.compile(".*\\$$");
 	private static final Pattern SCRIPT_STYLE_REGEXP = Pattern.compile("^/(.*)/$");
+	private static final String REGEX_META_CHARACTERS = "\\.[]{}()*+?^$|";
 
 	public static enum VariableReplacement {
 		DELETE, MATCH_ALL;
@@ -135,6 +136,48 @@ public class CucumberExpressionParserSupport {
 		return sb.toString();
 	}
 
+	/**
+	 * Computes the literal text every step matched by the given expression must
+	 * start with, this allows to rule out expressions without evaluating them
+	 * 
+	 * @param pattern the expression
+	 * @return the literal prefix, might be empty if the expression does not start
+	 *         with literal text or is too complex to tell
+	 */
+	public static String getLiteralPrefix(String pattern) {
+		StringBuilder sb = new StringBuilder();
+		if (isRegularExpression(pattern)) {
+			if (!pattern.startsWith("^") || pattern.indexOf('|') >= 0) {
+				return "";
+			}
+			for (int i = 1; i < pattern.length(); i++) {
+				char c = pattern.charAt(i);
+				if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+					if ((c == '?' || c == '*' || c == '{') && sb.length() > 0) {
+						// the quantifier makes the previous character optional
+						sb.setLength(sb.length() - 1);
+					}
+					break;
+				}
+				sb.append(c);
+			}
+		} else {
+			try {
+				Node ast = new CucumberExpressionParser().parse(pattern);
+				for (Node node : ast.nodes()) {
+					if (node.type() != Type.TEXT_NODE) {
+						// alternations always span a whole word, so all text up to here is fixed
+						break;
+					}
+					sb.append(node.text());
+				}
+			} catch (RuntimeException e) {
+				return "";
+			}
+		}
+		return sb.toString();
+	}
+
 	private static void replaceVariables(Node node, VariableReplacement replacement, StringBuilder buffer) {
 		Type type = node.type();
 		switch (type) {
@@ -13,6 +13,8 @@ import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceRegistration;
 import org.osgi.util.tracker.ServiceTracker;
 
+import io.cucumber.eclipse.editor.marker.StepMatchStates;
+
 /**
  * The activator class controls the plug-in life cycle
  */
@@ -50,6 +52,8 @@ public class Activator extends AbstractUIPlugin {
 		tracingRegistration = context.registerService(DebugOptionsListener.class, TRACING,
 				new Hashtable<>(Collections.singletonMap(DebugOptions.LISTENER_SYMBOLICNAME, PLUGIN_ID)));
 
+		FeatureFileCatalogue.install();
+		StepMatchStates.install();
 		io.cucumber.eclipse.editor.validation.DocumentValidator.initialize();
 	}
 
@@ -59,6 +63,8 @@ public class Activator extends AbstractUIPlugin {
 		this.context = null;
 		closeTracker();
 		io.cucumber.eclipse.editor.validation.DocumentValidator.shutdown();
+		FeatureFileCatalogue.shutdown();
+		StepMatchStates.shutdown();
 		tracingRegistration.unregister();
 		TRACING.optionsChanged(null);
 		plugin = null;
@@ -1,6 +1,7 @@
 package io.cucumber.eclipse.editor;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import io.cucumber.messages.types.Envelope;
 
@@ -20,4 +21,21 @@ public interface EnvelopeReader {
 	 *                     {@link Envelope} can not be deserialized
 	 */
 	Envelope readEnvelope(byte[] buffer, int length) throws IOException;
+
+	/**
+	 * Reads an Envelope from the remaining bytes of a {@link ByteBuffer}, the
+	 * buffer might be a direct buffer. The default implementation copies the
+	 * bytes, implementations should override it to decode without copying.
+	 * 
+	 * @param buffer the buffer containing the envelope data, its position is
+	 *               advanced
+	 * @return the deserialized Envelope
+	 * @throws IOException if an I/O error occurs during reading or the
+	 *                     {@link Envelope} can not be deserialized
+	 */
+	default Envelope readEnvelope(ByteBuffer buffer) throws IOException {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return readEnvelope(bytes, bytes.length);
+	}
 }
@@ -0,0 +1,163 @@
+package io.cucumber.eclipse.editor;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Maintains the set of feature files of each project.
+ * <p>
+ * The catalogue of a project is created by a single walk of the project the
+ * first time it is requested and from then on kept up to date from the resource
+ * deltas of the workspace (added, removed and moved files, derived flag
+ * changes), so callers get the feature files without visiting the resource
+ * tree again. Catalogues are not persisted, files might be added or removed
+ * while the IDE is not running, so each project is walked once per session.
+ * </p>
+ *
+ * @see ResourceHelper#getFeatureFilesInProject(IProject)
+ */
+final class FeatureFileCatalogue {
+
+	private static final ConcurrentMap<IProject, Set<IFile>> CATALOGUES = new ConcurrentHashMap<>();
+
+	private static final IResourceChangeListener LISTENER = FeatureFileCatalogue::resourceChanged;
+
+	private static boolean installed;
+
+	private FeatureFileCatalogue() {
+	}
+
+	/**
+	 * Starts tracking the workspace, must be called before any catalogue is
+	 * requested
+	 */
+	static synchronized void install() {
+		if (installed) {
+			return;
+		}
+		installed = true;
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(LISTENER, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Stops tracking the workspace and drops all catalogues
+	 */
+	static synchronized void shutdown() {
+		if (!installed) {
+			return;
+		}
+		installed = false;
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(LISTENER);
+		CATALOGUES.clear();
+	}
+
+	/**
+	 * @param project the project
+	 * @return an unmodifiable live view of the feature files of the project
+	 * @throws CoreException if the project can't be visited
+	 */
+	static Set<IFile> getFeatureFiles(IProject project) throws CoreException {
+		Set<IFile> files = CATALOGUES.get(project);
+		if (files == null) {
+			files = create(project);
+		}
+		return Collections.unmodifiableSet(files);
+	}
+
+	private static synchronized Set<IFile> create(IProject project) throws CoreException {
+		Set<IFile> files = CATALOGUES.get(project);
+		if (files != null) {
+			return files;
+		}
+		files = ConcurrentHashMap.newKeySet();
+		boolean perf = Tracing.PERF;
+		long start = perf ? System.currentTimeMillis() : 0;
+		files.addAll(ResourceHelper.scanFeatureFiles(project));
+		if (perf) {
+			Tracing.get().trace(Tracing.PERFORMANCE, "FeatureFileCatalogue " + project.getName() + ": "
+					+ files.size() + " feature file(s) collected in " + (System.currentTimeMillis() - start) + "ms");
+		}
+		if (installed && project.isAccessible()) {
+			// without the listener the catalogue would get stale
+			CATALOGUES.put(project, files);
+		}
+		return files;
+	}
+
+	private static synchronized void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta workspaceDelta = event.getDelta();
+		if (workspaceDelta == null) {
+			return;
+		}
+		for (IResourceDelta projectDelta : workspaceDelta.getAffectedChildren()) {
+			IProject project = (IProject) projectDelta.getResource();
+			if (projectDelta.getKind() == IResourceDelta.REMOVED
+					|| (projectDelta.getFlags() & IResourceDelta.OPEN) != 0) {
+				// the project was deleted, closed or opened
+				CATALOGUES.remove(project);
+				continue;
+			}
+			Set<IFile> files = CATALOGUES.get(project);
+			if (files == null) {
+				// not requested yet, the first request walks the project
+				continue;
+			}
+			try {
+				update(project, projectDelta, files);
+			} catch (CoreException e) {
+				EditorLogging.error("Failed to update feature files of project: " + project.getName(), e);
+				CATALOGUES.remove(project);
+			}
+		}
+	}
+
+	/**
+	 * Applies the delta of a project to its feature files
+	 *
+	 * @param files the feature files to update
+	 */
+	private static void update(IProject project, IResourceDelta projectDelta, Set<IFile> files)
+			throws CoreException {
+		boolean[] rescan = new boolean[1];
+		projectDelta.accept(delta -> {
+			if (rescan[0]) {
+				return false;
+			}
+			IResource resource = delta.getResource();
+			if (resource.getType() != IResource.FILE) {
+				if ((delta.getFlags() & IResourceDelta.DERIVED_CHANGED) != 0) {
+					rescan[0] = true;
+					return false;
+				}
+				return true;
+			}
+			if (!ResourceHelper.isFeatureFile(resource.getName())) {
+				return false;
+			}
+			IFile file = (IFile) resource;
+			if (delta.getKind() == IResourceDelta.ADDED) {
+				if (!file.getParent().isDerived(IResource.CHECK_ANCESTORS)) {
+					files.add(file);
+				}
+			} else if (delta.getKind() == IResourceDelta.REMOVED) {
+				files.remove(file);
+			}
+			return false;
+		});
+		if (rescan[0]) {
+			files.clear();
+			files.addAll(ResourceHelper.scanFeatureFiles(project));
+		}
+	}
+}
@@ -3,11 +3,10 @@ package io.cucumber.eclipse.editor;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
-import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.IResourceVisitor;
+import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -32,47 +31,87 @@ public class ResourceHelper {
 	 * <li>Any other directory marked as derived</li>
 	 * </ul>
 	 * </p>
+	 * <p>
+	 * The files are served from a catalogue that is maintained from resource
+	 * deltas, so the project is only visited once.
+	 * </p>
 	 * 
 	 * @param project the project to collect feature files from
-	 * @return set of feature files, excluding those in derived containers
+	 * @return unmodifiable set of feature files, excluding those in derived
+	 *         containers
 	 * @throws CoreException if an error occurs while traversing resources
 	 */
 	public static Set<IFile> getFeatureFilesInProject(IProject project) throws CoreException {
+		return FeatureFileCatalogue.getFeatureFiles(project);
+	}
+	
+	/**
+	 * Visits a project to collect all feature files, excluding those in derived
+	 * containers.
+	 * 
+	 * @param project the project to collect feature files from
+	 * @return set of feature files
+	 * @throws CoreException if an error occurs while traversing resources
+	 */
+	static Set<IFile> scanFeatureFiles(IProject project) throws CoreException {
 		Set<IFile> featureFiles = new LinkedHashSet<>();
 		
-		project.accept(new IResourceVisitor() {
-			@Override
-			public boolean visit(IResource resource) throws CoreException {
-				if (resource instanceof IFile file) {
-					if ("feature".equals(file.getFileExtension()) && !isDerived(file.getParent())) {
-						featureFiles.add(file);
-					}
+		// proxies avoid creating a handle for every visited resource, derived
+		// containers are pruned instead of checking the parents of every file
+		project.accept(proxy -> {
+			if (proxy.getType() == IResource.FILE) {
+				if (isFeatureFile(proxy.getName())) {
+					featureFiles.add((IFile) proxy.requestResource());
 				}
-				return true;
+				return false;
 			}
-		});
+			return !proxy.isDerived();
+		}, IResource.NONE);
 		
 		return featureFiles;
 	}
 	
 	/**
-	 * Checks if a container or any of its parent containers is marked as derived.
+	 * Checks if a resource delta of a project contains changes that require the
+	 * validation of a feature file and collects them.
 	 * <p>
-	 * A derived resource is typically a build output or generated file that
-	 * should be excluded from processing.
+	 * Only added feature files and feature files whose content has changed are
+	 * collected, derived containers are pruned like in
+	 * {@link #getFeatureFilesInProject(IProject)}.
 	 * </p>
 	 * 
-	 * @param container the container to check
-	 * @return true if the container or any parent is derived, false otherwise
+	 * @param delta the delta of the project
+	 * @return set of added or changed feature files
+	 * @throws CoreException if an error occurs while traversing the delta
 	 */
-	private static boolean isDerived(IContainer container) {
-		if (container == null) {
-			return false;
-		}
-		if (container.isDerived()) {
-			return true;
-		}
-		return isDerived(container.getParent());
+	public static Set<IFile> getChangedFeatureFiles(IResourceDelta delta) throws CoreException {
+		Set<IFile> featureFiles = new LinkedHashSet<>();
+		
+		delta.accept(child -> {
+			IResource resource = child.getResource();
+			if (resource instanceof IFile file) {
+				if (isFeatureFile(file.getName()) && isAddedOrChanged(child)) {
+					featureFiles.add(file);
+				}
+				return false;
+			}
+			return !resource.isDerived();
+		});
+		
+		return featureFiles;
+	}
+	
+	private static boolean isAddedOrChanged(IResourceDelta delta) {
+		return switch (delta.getKind()) {
+			case IResourceDelta.ADDED -> true;
+			case IResourceDelta.CHANGED -> (delta.getFlags()
+					& (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0;
+			default -> false;
+		};
+	}
+	
+	static boolean isFeatureFile(String name) {
+		return name.endsWith(".feature");
 	}
 	
 }
@@ -1,14 +1,19 @@
 package io.cucumber.eclipse.editor;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInput;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -16,7 +21,9 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
@@ -30,19 +37,13 @@ public class StorageHelper {
 
 	private static final String OUTPUT_FOLDER = ".cucumber";
 
-	public static InputStream toStream(Serializable serializable, IProgressMonitor monitor) throws IOException {
-		try (ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
-			try (ObjectOutputStream outputStream = new ObjectOutputStream(bout)) {
-				outputStream.writeObject(serializable);
-			}
-			return new ByteArrayInputStream(bout.toByteArray());
-		}
-	}
-	
-	public static <T extends Serializable> T fromStream(Class<T> type, InputStream stream, IProgressMonitor monitor) throws IOException, ClassNotFoundException {
-		try (ObjectInputStream objectStream = new ObjectInputStream(stream)) {
-			return type.cast(objectStream.readObject());
-		}
+	/**
+	 * Writes the content of a file in the build directory
+	 */
+	@FunctionalInterface
+	public interface ContentWriter {
+
+		void write(OutputStream stream) throws IOException;
 	}
 
 	public static IFolder getOutputFolder(IProject project)
@@ -73,6 +74,48 @@ public class StorageHelper {
 		}
 	}
 
+	/**
+	 * Saves a file into the build directory, if the file is located in the local
+	 * file system the content is streamed directly into it instead of being
+	 * buffered in memory first.
+	 */
+	public static void saveIntoBuildDirectory(String filename, IProject project, IProgressMonitor monitor,
+			ContentWriter writer) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, "Saving data", 100);
+		IFolder target = getOutputFolder(project);
+		createFolder(target, subMonitor.newChild(10));
+		IFile buildFile = target.getFile(filename);
+		IPath location = buildFile.getLocation();
+		try {
+			if (location == null) {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				writer.write(bytes);
+				saveIntoBuildDirectory(filename, project, subMonitor.newChild(90),
+						new ByteArrayInputStream(bytes.toByteArray()));
+				return;
+			}
+			// write to a sibling file and move it into place, so a crash or a failing
+			// writer never leaves a truncated file behind
+			Path target = location.toPath();
+			Path temp = target.resolveSibling(target.getFileName() + ".new");
+			try {
+				try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temp))) {
+					writer.write(stream);
+				}
+				try {
+					Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (IOException e) {
+			throw new CoreException(new Status(Status.ERROR, Activator.PLUGIN_ID, "writing " + filename + " failed", e));
+		}
+		buildFile.refreshLocal(IResource.DEPTH_ZERO, subMonitor.newChild(90));
+	}
+
 	private static void createFolder(IFolder folder, IProgressMonitor monitor) throws CoreException {
 		if (folder.exists()) {
 			return;
@@ -87,37 +130,83 @@ public class StorageHelper {
 	}
 
 
-	public static void writeStepDefinition(StepDefinition stepDefinition, ObjectOutput out) throws IOException {
-		out.writeObject(stepDefinition.getId());
-		out.writeObject(stepDefinition.getLabel());
-		out.writeObject(stepDefinition.getPackageName());
-		out.writeObject(stepDefinition.getSourceName());
-		out.writeInt(stepDefinition.getLineNumber());
-		out.writeObject(stepDefinition.getExpression().getLang());
-		out.writeObject(stepDefinition.getExpression().getText());
-		IResource source = stepDefinition.getSource();
-		if (source != null) {
-			out.writeObject(source.getFullPath().toString());
-		} else {
-			out.writeObject(null);
+	/**
+	 * Adds all strings of the step definition to the string table
+	 *
+	 * @param stepDefinition the step definition to be written later on
+	 * @param strings        the string table, mapping each string to its index
+	 */
+	public static void collectStrings(StepDefinition stepDefinition, Map<String, Integer> strings) {
+		for (String string : strings(stepDefinition)) {
+			if (string != null) {
+				strings.putIfAbsent(string, strings.size());
+			}
 		}
 	}
 
-	public static StepDefinition readStepDefinition(ObjectInput in) throws ClassNotFoundException, IOException {
-		String id = (String) in.readObject();
-		String label = (String) in.readObject();
-		String packageName = (String) in.readObject();
-		String sourceName = (String) in.readObject();
+	/**
+	 * Writes the step definition, all its strings must be part of the string table
+	 * (see {@link #collectStrings(StepDefinition, Map)})
+	 */
+	public static void writeStepDefinition(StepDefinition stepDefinition, DataOutput out,
+			Map<String, Integer> strings) throws IOException {
+		IResource source = stepDefinition.getSource();
+		writeString(stepDefinition.getId(), out, strings);
+		writeString(stepDefinition.getLabel(), out, strings);
+		writeString(stepDefinition.getPackageName(), out, strings);
+		writeString(stepDefinition.getSourceName(), out, strings);
+		out.writeInt(stepDefinition.getLineNumber());
+		writeString(stepDefinition.getExpression().getLang(), out, strings);
+		writeString(stepDefinition.getExpression().getText(), out, strings);
+		writeString(source == null ? null : source.getFullPath().toString(), out, strings);
+	}
+
+	/**
+	 * Reads a step definition written by
+	 * {@link #writeStepDefinition(StepDefinition, DataOutput, Map)}, its source
+	 * is only looked up on first access.
+	 *
+	 * @param in       the input to read from
+	 * @param strings  the string table
+	 * @param resolver resolves a source path to a resource
+	 */
+	public static StepDefinition readStepDefinition(DataInput in, String[] strings,
+			Function<String, IResource> resolver) throws IOException {
+		String id = string(in, strings);
+		String label = string(in, strings);
+		String packageName = string(in, strings);
+		String sourceName = string(in, strings);
 		int line = in.readInt();
-		String expLang = (String) in.readObject();
-		String expStr = (String) in.readObject();
-		String sourceRef = (String) in.readObject();
-		IResource resource = ResourceHelper.find(sourceRef);
+		String expLang = string(in, strings);
+		String expStr = string(in, strings);
+		String sourceRef = string(in, strings);
 		ExpressionDefinition expression = new ExpressionDefinition(expStr, expLang);
-		StepDefinition.ResolvedLocation location = new StepDefinition.ResolvedLocation(resource, line, sourceName,
-				packageName);
 		// FIXME
-		return new StepDefinition(id, label, expression, () -> location, () -> new StepParameter[0], (String) null);
+		return new StepDefinition(id, label, expression, () -> new StepDefinition.ResolvedLocation(
+				resolver.apply(sourceRef), line, sourceName, packageName), () -> new StepParameter[0], (String) null);
+	}
+
+	private static String[] strings(StepDefinition stepDefinition) {
+		IResource source = stepDefinition.getSource();
+		return new String[] { stepDefinition.getId(), stepDefinition.getLabel(), stepDefinition.getPackageName(),
+				stepDefinition.getSourceName(), stepDefinition.getExpression().getLang(),
+				stepDefinition.getExpression().getText(), source == null ? null : source.getFullPath().toString() };
+	}
+
+	private static void writeString(String string, DataOutput out, Map<String, Integer> strings)
+			throws IOException {
+		out.writeInt(string == null ? -1 : strings.get(string));
+	}
+
+	private static String string(DataInput in, String[] strings) throws IOException {
+		int index = in.readInt();
+		if (index < 0) {
+			return null;
+		}
+		if (index >= strings.length) {
+			throw new IOException("invalid string reference " + index);
+		}
+		return strings[index];
 	}
 
 }
@@ -8,6 +8,7 @@ import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ILog;
@@ -25,8 +26,16 @@ import io.cucumber.eclipse.editor.validation.DocumentValidator;
  * <p>
  * This builder processes all .feature files in the project and triggers
  * validation to update markers for syntax errors, unmatched steps, and other
- * glue code issues. Since glue code can change and affect validation,
- * this builder always performs a full build rather than incremental builds.
+ * glue code issues. A full build walks the whole project and revalidates all
+ * documents, incremental and auto builds only validate the feature files that
+ * were added or changed according to the resource delta, skipping documents
+ * whose content and glue have not changed since their last successful
+ * validation.
+ * </p>
+ * <p>
+ * Changes to glue code are not handled by this builder, the glue validators
+ * listen for changes of their glue and revalidate the documents of the affected
+ * project.
  * </p>
  * <p>
  * The builder delegates to the {@link DocumentValidator} which coordinates
@@ -55,15 +64,25 @@ public class CucumberFeatureBuilder extends IncrementalProjectBuilder {
 			default -> "UNKNOWN(" + kind + ")";
 		};
 
+		boolean full = kind == FULL_BUILD || kind == CLEAN_BUILD;
+		int skipped = 0;
 		try (BatchUpdater batch = DocumentValidator.batch()) {
 			Set<GherkinEditorDocument> documents = new LinkedHashSet<>();
 			
-			// Collect all feature files (excluding derived resources like target/bin)
-			Set<IFile> featureFiles = ResourceHelper.getFeatureFilesInProject(project);
+			IResourceDelta delta = full ? null : getDelta(project);
+			Set<IFile> featureFiles;
+			if (delta == null) {
+				// Collect all feature files (excluding derived resources like target/bin)
+				featureFiles = ResourceHelper.getFeatureFilesInProject(project);
+			} else {
+				// Only the feature files that were added or changed since the last build
+				featureFiles = ResourceHelper.getChangedFeatureFiles(delta);
+			}
 
 			if (perf) {
 				Tracing.get().trace(Tracing.PERFORMANCE, "CucumberFeatureBuilder [" + kindName + "] "
-						+ project.getName() + ": " + featureFiles.size() + " feature file(s) found");
+						+ project.getName() + ": " + featureFiles.size() + " feature file(s) found"
+						+ (delta == null ? "" : " in delta"));
 			}
 			
 			// Create tracked documents for validation
@@ -79,9 +98,17 @@ public class CucumberFeatureBuilder extends IncrementalProjectBuilder {
 				}
 			}
 			
-			if (!documents.isEmpty()) {
-				// if we have collected some data trigger validation for this project
-				DocumentValidator.revalidateDocuments(project);
+			if (full) {
+				if (!documents.isEmpty()) {
+					// if we have collected some data trigger validation for this project
+					DocumentValidator.revalidateDocuments(project);
+				}
+			} else {
+				for (GherkinEditorDocument editorDocument : documents) {
+					if (!DocumentValidator.validateIfChanged(editorDocument)) {
+						skipped++;
+					}
+				}
 			}
 		} catch (Exception e) {
 			ILog.get().error("Failed to validate project: " + project.getName(), e);
@@ -89,7 +116,8 @@ public class CucumberFeatureBuilder extends IncrementalProjectBuilder {
 
 		if (perf) {
 			Tracing.get().trace(Tracing.PERFORMANCE, "CucumberFeatureBuilder [" + kindName + "] "
-					+ project.getName() + ": done in " + (System.currentTimeMillis() - start) + "ms");
+					+ project.getName() + ": done in " + (System.currentTimeMillis() - start) + "ms, skipped "
+					+ skipped + " unchanged document(s)");
 		}
 		return null;
 	}
@@ -0,0 +1,129 @@
+package io.cucumber.eclipse.editor.codemining;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.codemining.ICodeMining;
+import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+
+import io.cucumber.eclipse.editor.Tracing;
+import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
+import io.cucumber.messages.types.Location;
+
+/**
+ * The code mining state of one version of a document, shared by all code mining
+ * providers of the document.
+ * <p>
+ * Code minings are refreshed on every reconcile, the model remembers the data
+ * each provider computed its minings from together with the glue state it was
+ * computed for, so a refresh that neither changed the document nor the glue
+ * only creates the minings from the previous data. The minings themselves are
+ * never reused as the viewer disposes the minings it replaces. The end of line
+ * positions minings are anchored to are computed once per line.
+ * </p>
+ * <p>
+ * A model belongs to a {@link GherkinEditorDocument}, which is replaced
+ * whenever the document is parsed again, so a new version of the document
+ * always starts with an empty model.
+ * </p>
+ */
+public final class CodeMiningModel {
+
+	private static final Map<GherkinEditorDocument, CodeMiningModel> MODELS = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
+	private final Map<Integer, Position> eolPositions = new ConcurrentHashMap<>();
+
+	private final Map<ICodeMiningProvider, CachedData> data = new ConcurrentHashMap<>();
+
+	private CodeMiningModel() {
+	}
+
+	/**
+	 * @param editorDocument the parsed document
+	 * @return the code mining model of the given document version
+	 */
+	public static CodeMiningModel of(GherkinEditorDocument editorDocument) {
+		return MODELS.computeIfAbsent(editorDocument, d -> new CodeMiningModel());
+	}
+
+	/**
+	 * Returns the position at the end of the line of the given location, the
+	 * position is computed once per line and a copy is returned as code minings
+	 * may update their position
+	 *
+	 * @param editorDocument the document the location belongs to
+	 * @param location       the location
+	 * @return the end of line position
+	 * @throws BadLocationException if the location is outside of the document
+	 */
+	public Position getEolPosition(GherkinEditorDocument editorDocument, Location location)
+			throws BadLocationException {
+		Integer line = location.getLine().intValue();
+		Position position = eolPositions.get(line);
+		if (position == null) {
+			position = editorDocument.getEolPosition(location);
+			eolPositions.put(line, position);
+		}
+		return new Position(position.getOffset(), position.getLength());
+	}
+
+	/**
+	 * Returns new code minings of a provider, the data they are created from is
+	 * only computed if the provider did not compute it for this document version
+	 * and glue state before
+	 *
+	 * @param <T>       the type of the data one code mining is created from
+	 * @param provider  the provider the minings belong to
+	 * @param glueState the state of everything besides the document the minings
+	 *                  depend on (glue, launchers, preferences), compared by
+	 *                  {@link Object#equals(Object)}
+	 * @param factory   computes the data of the minings
+	 * @param mining    creates the code mining of one data element, may return
+	 *                  <code>null</code> to skip the element
+	 * @return the code minings created from the cached or newly computed data
+	 */
+	public <T> List<ICodeMining> getCodeMinings(ICodeMiningProvider provider, Object glueState,
+			Supplier<List<T>> factory, Function<T, ICodeMining> mining) {
+		CachedData cached = data.get(provider);
+		List<?> elements;
+		if (cached != null && Objects.equals(cached.glueState(), glueState)) {
+			elements = cached.elements();
+			if (Tracing.PERF) {
+				Tracing.get().trace(Tracing.PERFORMANCE, "CodeMiningModel: reused the data of " + elements.size()
+						+ " code mining(s) of " + provider.getClass().getSimpleName());
+			}
+		} else {
+			long start = Tracing.PERF ? System.currentTimeMillis() : 0;
+			elements = List.copyOf(factory.get());
+			data.put(provider, new CachedData(glueState, elements));
+			if (Tracing.PERF) {
+				Tracing.get().trace(Tracing.PERFORMANCE, "CodeMiningModel: computed " + elements.size()
+						+ " code mining(s) of " + provider.getClass().getSimpleName() + " in "
+						+ (System.currentTimeMillis() - start) + "ms");
+			}
+		}
+		List<ICodeMining> minings = new ArrayList<>(elements.size());
+		for (Object element : elements) {
+			// the elements were computed by the factory of this provider
+			@SuppressWarnings("unchecked")
+			ICodeMining codeMining = mining.apply((T) element);
+			if (codeMining != null) {
+				minings.add(codeMining);
+			}
+		}
+		return minings;
+	}
+
+	private record CachedData(Object glueState, List<?> elements) {
+	}
+}
@@ -1,9 +1,9 @@
 package io.cucumber.eclipse.editor.codemining;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -54,42 +54,47 @@ public class CucumberRunCodeMiningProvider implements ICodeMiningProvider {
 			if (editorDocument == null) {
 				return Collections.emptyList();
 			}
-			List<ICodeMining> list = new ArrayList<>();
 			CucumberEditorPreferences preferences = CucumberEditorPreferences.of(editorDocument.getResource());
-			for (Mode mode : Mode.values()) {
-				if (!preferences.isShowShortcutFor(mode)) {
-					continue;
-				}
-				for (ILauncher launcher : CucumberServiceRegistry.getLauncher()) {
-					if (launcher.supports(editorDocument.getResource())) {
-						if (launcher.supports(mode)) {
-							runnable(editorDocument.getScenarios(), Scenario::getLocation, editorDocument, launcher,
-									mode).forEach(list::add);
-							runnable(editorDocument.getFeature().stream(), Feature::getLocation, editorDocument,
-									launcher, mode).forEach(list::add);
-							runnable(editorDocument.getTags(), Tag::getLocation, editorDocument, launcher, mode)
-									.forEach(list::add);
-						}
-					}
-				}
-			}
-			return list;
+			List<Mode> modes = Arrays.stream(Mode.values()).filter(preferences::isShowShortcutFor).toList();
+			List<ILauncher> launchers = CucumberServiceRegistry.getLauncher().stream()
+					.filter(launcher -> launcher.supports(editorDocument.getResource())).toList();
+			CodeMiningModel model = CodeMiningModel.of(editorDocument);
+			return model.getCodeMinings(this, List.of(modes, launchers),
+					() -> computeRunnables(editorDocument, modes, launchers),
+					runnable -> createCodeMining(editorDocument, model, runnable));
 		});
 	}
 
-	private <T> Stream<RunnableElementCodeMining> runnable(Stream<T> stream, Function<T, Location> locationProvider,
-			GherkinEditorDocument document, ILauncher launcher, Mode mode) {
-		return stream.map(runnable -> {
-			Location location = locationProvider.apply(runnable);
-			try {
-				Position position = document.getEolPosition(location);
-				return new RunnableElementCodeMining(position, runnable, launcher, mode,
-						CucumberRunCodeMiningProvider.this);
-			} catch (BadLocationException e) {
-				return null;
+	private List<RunnableElement> computeRunnables(GherkinEditorDocument editorDocument, List<Mode> modes,
+			List<ILauncher> launchers) {
+		List<RunnableElement> list = new ArrayList<>();
+		for (Mode mode : modes) {
+			for (ILauncher launcher : launchers) {
+				if (launcher.supports(mode)) {
+					runnable(editorDocument.getScenarios(), Scenario::getLocation, launcher, mode).forEach(list::add);
+					runnable(editorDocument.getFeature().stream(), Feature::getLocation, launcher, mode)
+							.forEach(list::add);
+					runnable(editorDocument.getTags(), Tag::getLocation, launcher, mode).forEach(list::add);
+				}
 			}
-		}).filter(Objects::nonNull);
+		}
+		return list;
+	}
+
+	private static <T> Stream<RunnableElement> runnable(Stream<T> stream, Function<T, Location> locationProvider,
+			ILauncher launcher, Mode mode) {
+		return stream.map(runnable -> new RunnableElement(locationProvider.apply(runnable), runnable, launcher, mode));
+	}
 
+	private ICodeMining createCodeMining(GherkinEditorDocument document, CodeMiningModel model,
+			RunnableElement runnable) {
+		try {
+			Position position = model.getEolPosition(document, runnable.location());
+			return new RunnableElementCodeMining(position, runnable.element(), runnable.launcher(), runnable.mode(),
+					this);
+		} catch (BadLocationException e) {
+			return null;
+		}
 	}
 
 	@Override
@@ -97,6 +102,12 @@ public class CucumberRunCodeMiningProvider implements ICodeMiningProvider {
 
 	}
 
+	/**
+	 * An element of the document that can be launched in a mode
+	 */
+	private record RunnableElement(Location location, Object element, ILauncher launcher, Mode mode) {
+	}
+
 	private static final class RunnableElementCodeMining extends LineContentCodeMining {
 
 		AtomicReference<Consumer<MouseEvent>> action = new AtomicReference<>();
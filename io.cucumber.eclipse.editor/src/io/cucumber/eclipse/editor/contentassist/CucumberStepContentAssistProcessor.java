@@ -26,12 +26,14 @@ public class CucumberStepContentAssistProcessor implements IContentAssistProcess
 
 	@Override
 	public ICompletionProposal[] computeCompletionProposals(ITextViewer viewer, int offset) {
+		GherkinEditorDocument editorDocument = GherkinEditorDocumentManager.get(viewer.getDocument());
+		Locale locale = editorDocument == null ? Locale.ENGLISH : editorDocument.getLocale();
 		return CucumberTemplates.computeTemplateProposals(viewer, offset, proposal -> {
 			String prefix = proposal.getLinePrefix();
 			ExpressionDefinition definition = proposal.getStepDefinition().getExpression();
 			if (definition.getText().startsWith(prefix)) {
 				proposal.setRelevance(PREFIX_MATCH);
-			} else if (definition.matchIgnoreTypes(proposal.getLineText(), GherkinEditorDocumentManager.get(viewer.getDocument()).getLocale())) {
+			} else if (proposal.matchIgnoreTypes(locale)) {
 				proposal.setRelevance(Integer.MAX_VALUE);
 			} else {
 				// TODO configure disable
@@ -2,7 +2,6 @@ package io.cucumber.eclipse.editor.contentassist;
 
 import org.apache.commons.text.similarity.EditDistance;
 import org.apache.commons.text.similarity.JaroWinklerDistance;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
@@ -14,7 +13,7 @@ import org.eclipse.ui.texteditor.MarkerAnnotation;
 
 import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
 import io.cucumber.eclipse.editor.document.GherkinEditorDocumentManager;
-import io.cucumber.eclipse.editor.marker.MarkerFactory;
+import io.cucumber.eclipse.editor.marker.StepMatchStates;
 import io.cucumber.eclipse.editor.steps.ExpressionDefinition;
 
 /**
@@ -50,11 +49,11 @@ public class CucumberStepQuickAssistProcessor implements IQuickAssistProcessor {
 		try {
 			int line = document.getLineOfOffset(invocationContext.getOffset());
 			GherkinEditorDocument editorDocument = GherkinEditorDocumentManager.get(document);
-			if (MarkerFactory.hasMarker(editorDocument.getResource(), MarkerFactory.UNMATCHED_STEP, line + 1)) {
+			if (StepMatchStates.isUnmatched(editorDocument.getResource(), line + 1)) {
 				return CucumberTemplates.computeTemplateProposals(viewer, invocationContext.getOffset(), (proposal) -> {
 					String lineText = proposal.getLineText();
 					ExpressionDefinition expression = proposal.getStepDefinition().getExpression();
-					if (expression.matchIgnoreTypes(lineText, editorDocument.getLocale())) {
+					if (proposal.matchIgnoreTypes(editorDocument.getLocale())) {
 						proposal.setRelevance(Integer.MAX_VALUE);
 						return true;
 					}
@@ -67,7 +66,6 @@ public class CucumberStepQuickAssistProcessor implements IQuickAssistProcessor {
 				});
 			}
 		} catch (BadLocationException e) {
-		} catch (CoreException e) {
 		}
 		return null;
 	}
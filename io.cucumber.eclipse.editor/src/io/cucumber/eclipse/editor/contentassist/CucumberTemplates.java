@@ -1,15 +1,22 @@
 package io.cucumber.eclipse.editor.contentassist;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -41,9 +48,12 @@ import io.cucumber.cucumberexpressions.CucumberExpressionParserSupport;
 import io.cucumber.eclipse.editor.CucumberServiceRegistry;
 import io.cucumber.eclipse.editor.EditorLogging;
 import io.cucumber.eclipse.editor.Images;
+import io.cucumber.eclipse.editor.Tracing;
 import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
 import io.cucumber.eclipse.editor.document.GherkinEditorDocumentManager;
 import io.cucumber.eclipse.editor.document.GherkinKeyword;
+import io.cucumber.eclipse.editor.steps.ExpressionDefinition;
+import io.cucumber.eclipse.editor.steps.ExpressionIndex;
 import io.cucumber.eclipse.editor.steps.IStepDefinitionsProvider;
 import io.cucumber.eclipse.editor.steps.StepDefinition;
 
@@ -60,6 +70,13 @@ public class CucumberTemplates {
 
 	private static final ConcurrentMap<IProject, StepDefSearchJob> jobMap = new ConcurrentHashMap<>();
 
+	/**
+	 * how long to wait for the first snapshot of the step definitions of a project
+	 * before giving up, later requests are answered from the last known snapshot
+	 * immediately
+	 */
+	private static final long FIRST_RESULTS_TIMEOUT = 10_000;
+
 	private static final Comparator<CucumberTemplateProposal> DISPLAYSTRING_ORDER = (t1, t2) -> {
 		return t1.getDisplayString().compareToIgnoreCase(t2.getDisplayString());
 	};
@@ -105,25 +122,18 @@ public class CucumberTemplates {
 				IResource resource = editorDocument.getResource();
 				if (resource != null) {
 					IProject project = resource.getProject();
-					StepDefSearchJob job = jobMap.compute(project, (p, j) -> {
-						if (j == null) {
-							j = new StepDefSearchJob(p, viewer, offset);
-							j.schedule();
-						} else {
-							if (j.definitions != null) {
-								// update existing definitions
-								j.definitions = null;
-								j.viewer = viewer;
-								j.offset = offset;
-								j.schedule();
-							}
-						}
-						return j;
-					});
+					StepDefSearchJob job = jobMap.computeIfAbsent(project, StepDefSearchJob::new);
+					// always refresh in the background, but answer from the last snapshot
+					job.refresh(viewer, offset);
 					try {
-						job.join();
-						Collection<StepDefinition> steps = job.definitions;
-						if (steps != null) {
+						Snapshot snapshot = job.snapshot;
+						if (snapshot == null) {
+							// nothing computed for this project yet, wait for the first provider to
+							// answer but not for the whole search
+							snapshot = job.firstSnapshot.get(FIRST_RESULTS_TIMEOUT, TimeUnit.MILLISECONDS);
+						}
+						if (snapshot != null) {
+							long start = System.currentTimeMillis();
 							GherkinKeyword gherkinKeyword = keywordPrefix.get();
 							String keyWord = gherkinKeyword.getKey();
 							int keyWordLength = keyWord.length() + 1 + stripped;
@@ -135,19 +145,30 @@ public class CucumberTemplates {
 							CucumberDocumentTemplateContext ctx = new CucumberDocumentTemplateContext(
 									viewer.getDocument(), region);
 							Image icon = Images.getCukesIcon();
-							ICompletionProposal[] proposals = steps.parallelStream()
+							Set<StepDefinition> candidates = snapshot.index().candidates(text);
+							Map<StepDefinition, Template> templates = job.templates;
+							ICompletionProposal[] proposals = snapshot.definitions().parallelStream()
 									.map(stepDefinition -> new CucumberStepProposal(stepDefinition, gherkinKeyword,
-											text, prefix))
+											text, prefix, candidates.contains(stepDefinition), templates))
 									.filter(stepProposal -> stepFilter.test(stepProposal)).map(stepProposal -> {
 
 										return new CucumberTemplateProposal(stepProposal.getTemplate(), ctx, region,
 												icon, stepProposal.relevance,
 												stepProposal.getStepDefinition()::getDescription);
 									}).sorted(RELEVANCE_ORDER).toArray(ICompletionProposal[]::new);
+							if (Tracing.PERF) {
+								Tracing.get().trace(Tracing.PERFORMANCE, "CucumberTemplates: " + proposals.length
+										+ " proposal(s) from " + (snapshot.complete() ? "" : "partial ") + "snapshot of "
+										+ snapshot.definitions().size() + " step definition(s), " + candidates.size()
+										+ " might match '" + text + "', took " + (System.currentTimeMillis() - start)
+										+ "ms");
+							}
 							return proposals;
 						}
 					} catch (InterruptedException e) {
 						Thread.currentThread().interrupt();
+					} catch (ExecutionException | TimeoutException e) {
+						// no step definitions yet, the next request might have some
 					}
 
 				}
@@ -235,39 +256,109 @@ public class CucumberTemplates {
 
 	}
 
+	/**
+	 * The step definitions known for a project at some point in time
+	 *
+	 * @param definitions the step definitions
+	 * @param index       the index over the definitions
+	 * @param complete    <code>false</code> if not all providers had answered
+	 *                    when the snapshot was taken
+	 */
+	private record Snapshot(List<StepDefinition> definitions, ExpressionIndex<StepDefinition> index,
+			boolean complete) {
+
+		Snapshot(List<StepDefinition> definitions, boolean complete) {
+			this(definitions, new ExpressionIndex<>(definitions, StepDefinition::getExpression), complete);
+		}
+	}
+
+	/**
+	 * Computes the step definitions of a project in the background, results are
+	 * published as a {@link Snapshot} after each provider so proposals can be
+	 * computed from what is known so far while the rest is still searched.
+	 * <p>
+	 * The jobs live as long as the workspace, so the viewer of a request is only
+	 * held until the search for it has started.
+	 * </p>
+	 */
 	private static final class StepDefSearchJob extends Job {
 
 		private final IProject project;
 
-		private volatile Collection<StepDefinition> definitions;
+		private volatile Snapshot snapshot;
 
-		private ITextViewer viewer;
+		/**
+		 * completed with the first snapshot that is published
+		 */
+		private final CompletableFuture<Snapshot> firstSnapshot = new CompletableFuture<>();
+
+		/**
+		 * templates of the known step definitions, they are reused as long as the step
+		 * definition is still present
+		 */
+		private final Map<StepDefinition, Template> templates = new ConcurrentHashMap<>();
 
-		private int offset;
+		private final AtomicReference<Request> request = new AtomicReference<>();
 
-		public StepDefSearchJob(IProject project, ITextViewer viewer, int offset) {
+		public StepDefSearchJob(IProject project) {
 			super("Compute Step definitions");
 			this.project = project;
-			this.viewer = viewer;
-			this.offset = offset;
 			setUser(false);
+			setSystem(true);
 			setPriority(Job.BUILD);
 		}
 
+		/**
+		 * Schedules a new search for the given context, if a search is already
+		 * running it is performed once the current one has finished
+		 */
+		void refresh(ITextViewer viewer, int offset) {
+			request.set(new Request(viewer, offset));
+			schedule();
+		}
+
+		private void publish(Snapshot snapshot) {
+			this.snapshot = snapshot;
+			firstSnapshot.complete(snapshot);
+		}
+
 		@Override
 		public IStatus run(IProgressMonitor monitor) {
+			Request current = request.getAndSet(null);
+			if (current == null) {
+				// already answered by the previous run
+				return Status.OK_STATUS;
+			}
+			ITextViewer viewer = current.viewer();
+			int offset = current.offset();
+			boolean publishPartial = snapshot == null || !snapshot.complete();
 			List<IStepDefinitionsProvider> providers = CucumberServiceRegistry.getStepDefinitionsProvider(project);
-			definitions = providers.stream().flatMap(provider -> {
+			List<StepDefinition> found = new ArrayList<>();
+			for (IStepDefinitionsProvider provider : providers) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
 				try {
-					return provider.findStepDefinitions(viewer, offset, project, monitor).stream();
+					found.addAll(provider.findStepDefinitions(viewer, offset, project, monitor));
 				} catch (CoreException e) {
 					EditorLogging.error(e.getStatus().getMessage(), e);
 				} catch (RuntimeException e) {
 					EditorLogging.error("Internal error while computing step definitions", e);
 				}
-				return Stream.empty();
-			}).collect(Collectors.toList());
-			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+				if (publishPartial) {
+					// better than nothing until all providers have answered
+					publish(new Snapshot(List.copyOf(found), false));
+				}
+			}
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			publish(new Snapshot(List.copyOf(found), true));
+			templates.keySet().retainAll(new HashSet<>(found));
+			return Status.OK_STATUS;
+		}
+
+		private record Request(ITextViewer viewer, int offset) {
 		}
 
 	}
@@ -280,18 +371,36 @@ public class CucumberTemplates {
 		private String typed;
 		private Template template;
 		private int relevance;
+		private boolean candidate;
+		private Map<StepDefinition, Template> templates;
 
 		private CucumberStepProposal(StepDefinition stepDefinition, GherkinKeyword gherkinKeyword, String text,
-				String typed) {
+				String typed, boolean candidate, Map<StepDefinition, Template> templates) {
 			this.stepDefinition = stepDefinition;
 			this.gherkinKeyword = gherkinKeyword;
 			this.text = text;
 			this.typed = typed;
+			this.candidate = candidate;
+			this.templates = templates;
+		}
+
+		/**
+		 * Test if the step definition matches the line text except parameter types,
+		 * definitions that can't match because of their literal prefix are rejected
+		 * without evaluating the expression
+		 * 
+		 * @param locale the locale to use
+		 * @return <code>true</code> if the step definition matches the line text
+		 * @see ExpressionDefinition#matchIgnoreTypes(String, Locale)
+		 */
+		public boolean matchIgnoreTypes(Locale locale) {
+			return candidate && stepDefinition.getExpression().matchIgnoreTypes(text, locale);
 		}
 
 		public Template getTemplate() {
 			if (template == null) {
-				template = CucumberExpressionParserSupport.createTemplate(stepDefinition, CONTEXT_TYPE.getId());
+				template = templates.computeIfAbsent(stepDefinition,
+						definition -> CucumberExpressionParserSupport.createTemplate(definition, CONTEXT_TYPE.getId()));
 			}
 			return template;
 		}
@@ -1,7 +1,5 @@
 package io.cucumber.eclipse.editor.debug;
 
-import java.util.stream.Stream;
-
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.CoreException;
@@ -20,8 +18,6 @@ import org.osgi.service.component.annotations.Component;
 
 import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
 import io.cucumber.eclipse.editor.document.GherkinEditorDocumentManager;
-import io.cucumber.messages.types.Step;
-import io.cucumber.messages.types.Location;
 
 /**
  * Service for providing breakpoints to the generic editor
@@ -102,8 +98,7 @@ public class GherkingToggleBreakpointsTarget implements IToggleBreakpointsTarget
 					GherkinEditorDocument editorDocument = GherkinEditorDocumentManager.get(document);
 					ITextSelection textSelection = (ITextSelection) selection;
 					int lineNumber = textSelection.getStartLine() + 1;
-					Stream<Location> stream = editorDocument.getSteps().map(Step::getLocation);
-					return stream.mapToLong(Location::getLine).filter(line -> line == lineNumber).findAny().isPresent();
+					return editorDocument.getStep(lineNumber).isPresent();
 				}
 			}
 		}
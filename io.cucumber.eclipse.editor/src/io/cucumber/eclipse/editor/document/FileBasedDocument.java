@@ -79,13 +79,21 @@ class FileBasedDocument extends Document {
 	/**
 	 * Reloads the document content from the underlying file resource.
 	 * This method is synchronized to prevent concurrent modification during reload.
+	 * The document is left untouched if the content of the file has not changed,
+	 * e.g. if the file was only touched or checked out with the same content.
 	 * 
+	 * @return <code>true</code> if the content has changed
 	 * @throws IOException if reading the file fails
 	 * @throws CoreException if accessing the file resource fails
 	 */
-	void reload() throws IOException, CoreException {
+	synchronized boolean reload() throws IOException, CoreException {
 		try (InputStream stream = file.getContents()) {
-			set(IOUtils.toString(stream, file.getCharset()));
+			String content = IOUtils.toString(stream, file.getCharset());
+			if (content.equals(get())) {
+				return false;
+			}
+			set(content);
+			return true;
 		}
 	}
 
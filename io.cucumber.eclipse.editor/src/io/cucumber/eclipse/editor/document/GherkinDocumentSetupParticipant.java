@@ -63,8 +63,16 @@ public class GherkinDocumentSetupParticipant
 		GherkinEditorDocumentManager.textBufferChanged(event.getDocument());
 	}
 
+	/**
+	 * Called before a document's content changes.
+	 * <p>
+	 * Records the edit so the document manager can reparse only the affected
+	 * parts of the document.
+	 * </p>
+	 */
 	@Override
 	public void documentAboutToBeChanged(DocumentEvent event) {
+		GherkinEditorDocumentManager.textBufferAboutToChange(event);
 	}
 
 	/**
@@ -62,9 +62,19 @@ public final class GherkinEditorDocument extends GherkinStream {
 
 	private Supplier<IResource> resourceSupplier;
 
+	private long contentHash;
+
+	private boolean contentHashed;
+
+	private GherkinPickles pickles;
+
 	GherkinEditorDocument(IDocument document, Supplier<IResource> resourceSupplier) {
+		this(document, resourceSupplier, getEnvelopes(document));
+	}
 
-		super(getEnvelopes(document));
+	GherkinEditorDocument(IDocument document, Supplier<IResource> resourceSupplier, Envelope[] envelopes) {
+
+		super(envelopes);
 		this.resourceSupplier = resourceSupplier;
 		this.document = document;
 
@@ -127,6 +137,50 @@ public final class GherkinEditorDocument extends GherkinStream {
 		return document;
 	}
 
+	/**
+	 * Returns a 64 bit hash of the content this document was parsed from, two
+	 * documents with the same hash can be assumed to have the same content.
+	 * 
+	 * @return the hash of the parsed content
+	 */
+	public synchronized long getContentHash() {
+		if (!contentHashed) {
+			contentHash = hash(getSource().orElseGet(document::get));
+			contentHashed = true;
+		}
+		return contentHash;
+	}
+
+	/**
+	 * Returns the pickles the Gherkin compiler creates for this document. They are
+	 * compiled on first access, as most users of a document never need them.
+	 * 
+	 * @return the pickles of the parsed content
+	 */
+	public synchronized GherkinPickles getPickles() {
+		if (pickles == null) {
+			GherkinParser parser = GherkinParser.builder()
+					.includeSource(false)
+					.includeGherkinDocument(true)
+					.includePickles(true)
+					.build();
+			Source source = new Source("", getSource().orElseGet(document::get),
+					SourceMediaType.TEXT_X_CUCUMBER_GHERKIN_PLAIN);
+			pickles = new GherkinPickles(parser.parse(Envelope.of(source)));
+		}
+		return pickles;
+	}
+
+	private static long hash(String content) {
+		// FNV-1a
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < content.length(); i++) {
+			hash ^= content.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
 	/**
 	 * Converts a Gherkin location to an Eclipse document position.
 	 * 
@@ -271,6 +325,19 @@ public final class GherkinEditorDocument extends GherkinStream {
 		return new GherkinEditorDocument(document, resource);
 	}
 
+	/**
+	 * Creates a new GherkinEditorDocument instance from already parsed envelopes.
+	 * Package-private factory method for use by {@link IncrementalGherkinParser}.
+	 * 
+	 * @param document  the document the envelopes were parsed from
+	 * @param resource  supplier for the associated resource, or null if none
+	 * @param envelopes the parsed envelopes
+	 * @return a new GherkinEditorDocument instance
+	 */
+	static GherkinEditorDocument create(IDocument document, Supplier<IResource> resource, Envelope[] envelopes) {
+		return new GherkinEditorDocument(document, resource, envelopes);
+	}
+
 	private static boolean isWildcard(String keyword) {
 		return "*".equals(keyword);
 	}
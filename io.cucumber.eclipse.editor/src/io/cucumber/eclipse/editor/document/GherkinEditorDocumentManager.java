@@ -2,8 +2,10 @@ package io.cucumber.eclipse.editor.document;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
@@ -18,8 +20,11 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.content.IContentType;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 
+import io.cucumber.eclipse.editor.document.IncrementalGherkinParser.PendingEdit;
 import io.cucumber.eclipse.editor.validation.BatchUpdater;
 import io.cucumber.eclipse.editor.validation.DocumentValidator;
 
@@ -29,6 +34,9 @@ import io.cucumber.eclipse.editor.validation.DocumentValidator;
  * This class maintains a cache of parsed Gherkin documents and provides factory
  * methods to obtain instances for Eclipse documents and resources. Cached
  * instances are automatically invalidated when the underlying document changes.
+ * Edits are recorded while the cached instance is invalidated, so the next
+ * request can reparse only the affected scenarios, rules or backgrounds using
+ * {@link IncrementalGherkinParser} instead of the whole document.
  * </p>
  * <p>
  * The manager also handles document lifecycle events:
@@ -45,6 +53,7 @@ import io.cucumber.eclipse.editor.validation.DocumentValidator;
 public final class GherkinEditorDocumentManager {
 
 	private static final ConcurrentHashMap<IDocument, GherkinEditorDocument> DOCUMENT_MAP = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<IDocument, PendingEdit> PENDING_EDITS = new ConcurrentHashMap<>();
 	private static final List<IGherkinDocumentListener> LISTENERS = new CopyOnWriteArrayList<>();
 	private static final ConcurrentHashMap<IFile, TrackedResourceDocument> TRACKED_RESOURCES = new ConcurrentHashMap<>();
 	private static IResourceChangeListener resourceChangeListener;
@@ -82,7 +91,16 @@ public final class GherkinEditorDocumentManager {
 		Objects.requireNonNull(document, "document can't be null");
 		if (isCompatibleTextBuffer(document)) {
 			return DOCUMENT_MAP.computeIfAbsent(document, key -> {
-				return GherkinEditorDocument.create(key, () -> resourceForDocument(key));
+				Supplier<IResource> resource = () -> resourceForDocument(key);
+				PendingEdit pending = PENDING_EDITS.remove(key);
+				if (pending != null) {
+					Optional<GherkinEditorDocument> reparsed = IncrementalGherkinParser.reparse(pending, key,
+							resource);
+					if (reparsed.isPresent()) {
+						return reparsed.get();
+					}
+				}
+				return GherkinEditorDocument.create(key, resource);
 			});
 		}
 		if (create) {
@@ -267,6 +285,32 @@ public final class GherkinEditorDocumentManager {
 		}
 	}
 
+	/**
+	 * Called by {@link GherkinDocumentSetupParticipant} before a document changes
+	 * to record the edit for an incremental reparse. Package-private to restrict
+	 * access to the document package.
+	 * 
+	 * @param event the event describing the upcoming change
+	 */
+	static void textBufferAboutToChange(DocumentEvent event) {
+		PENDING_EDITS.compute(event.getDocument(), (document, pending) -> {
+			if (pending == null) {
+				GherkinEditorDocument base = DOCUMENT_MAP.get(document);
+				if (base == null) {
+					// nothing parsed yet so there is nothing to update incrementally
+					return null;
+				}
+				pending = new PendingEdit(base);
+			}
+			try {
+				pending.add(event);
+				return pending;
+			} catch (BadLocationException e) {
+				return null;
+			}
+		});
+	}
+
 	/**
 	 * Called by {@link GherkinDocumentSetupParticipant} when a document changes.
 	 * Package-private to restrict access to the document package.
@@ -294,6 +338,7 @@ public final class GherkinEditorDocumentManager {
 	 * @param document the document that was removed
 	 */
 	static void textBufferRemoved(IDocument document) {
+		PENDING_EDITS.remove(document);
 		GherkinEditorDocument removed = DOCUMENT_MAP.remove(document);
 		if (removed != null) {
 			fireDocumentRemoved(document);
@@ -400,7 +445,12 @@ public final class GherkinEditorDocumentManager {
 		if (isMappedToBuffer(changed.getFile())) {
 			return;
 		}
+		GherkinEditorDocument previous = changed.getDocument(false);
 		GherkinEditorDocument document = changed.reloadDocument();
+		if (document != null && document == previous) {
+			// same content as before, nothing to revalidate
+			return;
+		}
 		if (document == null) {
 			fireDocumentRemoved(new FileBasedDocument(changed.getFile()));
 		} else {
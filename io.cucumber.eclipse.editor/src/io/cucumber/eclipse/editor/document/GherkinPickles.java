@@ -0,0 +1,107 @@
+package io.cucumber.eclipse.editor.document;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import io.cucumber.messages.types.Background;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.Examples;
+import io.cucumber.messages.types.Feature;
+import io.cucumber.messages.types.FeatureChild;
+import io.cucumber.messages.types.GherkinDocument;
+import io.cucumber.messages.types.Location;
+import io.cucumber.messages.types.Pickle;
+import io.cucumber.messages.types.PickleStep;
+import io.cucumber.messages.types.RuleChild;
+import io.cucumber.messages.types.Scenario;
+import io.cucumber.messages.types.Step;
+import io.cucumber.messages.types.TableRow;
+
+/**
+ * The pickles the Gherkin compiler creates for a {@link GherkinEditorDocument}.
+ * <p>
+ * The pickles are compiled from their own parse of the document source, so the
+ * ids they refer to belong to that parse and not to the elements of the
+ * document. Use {@link #getStep(PickleStep)} and {@link #getLocation(Pickle)} to
+ * resolve them.
+ * </p>
+ *
+ * @see GherkinEditorDocument#getPickles()
+ */
+public final class GherkinPickles {
+
+	private final List<Pickle> pickles;
+	private final Map<String, Step> steps = new HashMap<>();
+	private final Map<String, Location> locations = new HashMap<>();
+
+	GherkinPickles(Stream<Envelope> envelopes) {
+		List<Pickle> pickleList = new ArrayList<>();
+		envelopes.forEach(envelope -> {
+			envelope.getPickle().ifPresent(pickleList::add);
+			envelope.getGherkinDocument().flatMap(GherkinDocument::getFeature).ifPresent(this::index);
+		});
+		pickles = List.copyOf(pickleList);
+	}
+
+	private void index(Feature feature) {
+		for (FeatureChild child : feature.getChildren()) {
+			child.getBackground().ifPresent(this::index);
+			child.getScenario().ifPresent(this::index);
+			child.getRule().ifPresent(rule -> {
+				for (RuleChild ruleChild : rule.getChildren()) {
+					ruleChild.getBackground().ifPresent(this::index);
+					ruleChild.getScenario().ifPresent(this::index);
+				}
+			});
+		}
+	}
+
+	private void index(Background background) {
+		for (Step step : background.getSteps()) {
+			steps.put(step.getId(), step);
+		}
+	}
+
+	private void index(Scenario scenario) {
+		locations.put(scenario.getId(), scenario.getLocation());
+		for (Step step : scenario.getSteps()) {
+			steps.put(step.getId(), step);
+		}
+		for (Examples examples : scenario.getExamples()) {
+			for (TableRow row : examples.getTableBody()) {
+				locations.put(row.getId(), row.getLocation());
+			}
+		}
+	}
+
+	/**
+	 * @return the pickles of the document in the order of the document
+	 */
+	public List<Pickle> getPickles() {
+		return pickles;
+	}
+
+	/**
+	 * @param pickleStep a step of one of the pickles
+	 * @return the step of the document the pickle step was compiled from
+	 */
+	public Optional<Step> getStep(PickleStep pickleStep) {
+		List<String> ids = pickleStep.getAstNodeIds();
+		return ids.isEmpty() ? Optional.empty() : Optional.ofNullable(steps.get(ids.get(0)));
+	}
+
+	/**
+	 * @param pickle one of the pickles
+	 * @return the location cucumber reports for the pickle, that is the examples
+	 *         row for a scenario outline and the scenario otherwise
+	 */
+	public Optional<Location> getLocation(Pickle pickle) {
+		List<String> ids = pickle.getAstNodeIds();
+		return ids.isEmpty() ? Optional.empty() : Optional.ofNullable(locations.get(ids.get(ids.size() - 1)));
+	}
+
+}
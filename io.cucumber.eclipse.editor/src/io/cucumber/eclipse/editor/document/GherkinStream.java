@@ -1,8 +1,15 @@
 package io.cucumber.eclipse.editor.document;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
 import io.cucumber.messages.types.Background;
@@ -12,8 +19,10 @@ import io.cucumber.messages.types.Examples;
 import io.cucumber.messages.types.Feature;
 import io.cucumber.messages.types.FeatureChild;
 import io.cucumber.messages.types.GherkinDocument;
+import io.cucumber.messages.types.Location;
 import io.cucumber.messages.types.ParseError;
 import io.cucumber.messages.types.Scenario;
+import io.cucumber.messages.types.Source;
 import io.cucumber.messages.types.Step;
 import io.cucumber.messages.types.TableRow;
 import io.cucumber.messages.types.Tag;
@@ -31,6 +40,11 @@ import io.cucumber.messages.types.Tag;
  * </ul>
  * </p>
  * <p>
+ * The document structure is indexed once on construction into flat arrays, so
+ * the accessors do not need to walk the envelopes or the feature tree again and
+ * lookups by line or tag name are answered without scanning all elements.
+ * </p>
+ * <p>
  * This class is extended by {@link GherkinEditorDocument} to provide Eclipse-specific
  * functionality like position mapping and keyword access.
  * </p>
@@ -39,10 +53,94 @@ import io.cucumber.messages.types.Tag;
  */
 public class GherkinStream {
 
-	private final Envelope[] envelopes;
+	private final Optional<String> source;
+	private final Optional<GherkinDocument> gherkinDocument;
+	private final FeatureChild[] featureChilds;
+	private final Scenario[] scenarios;
+	private final Background[] backgrounds;
+	private final Step[] steps;
+	private final Step[] stepsByLine;
+	private final long[] stepLines;
+	private final Tag[] tags;
+	private final Tag[] tagsByLine;
+	private final long[] tagLines;
+	private final Map<String, List<Tag>> tagsByName;
+	private final Scenario[] scenariosByLine;
+	private final long[] scenarioLines;
+	private final Examples[] examples;
+	private final Examples[] examplesByLine;
+	private final long[] examplesLines;
+	private final TableRow[] tableHeaders;
+	private final List<List<TableRow>> tableBodys;
+	private final DataTable[] dataTables;
+	private final ParseError[] parseErrors;
 
 	public GherkinStream(Envelope... envelopes) {
-		this.envelopes = envelopes;
+		source = Arrays.stream(envelopes).map(Envelope::getSource).flatMap(Optional::stream).map(Source::getData)
+				.findFirst();
+		gherkinDocument = Arrays.stream(envelopes).map(s -> s.getGherkinDocument()).filter(o -> o.isPresent())
+				.map(o -> o.get()).findFirst();
+		parseErrors = Arrays.stream(envelopes).map(Envelope::getParseError).filter(o -> o.isPresent())
+				.map(o -> o.get()).toArray(ParseError[]::new);
+		List<FeatureChild> childList = gherkinDocument.flatMap(GherkinDocument::getFeature)
+				.map(Feature::getChildren).orElse(List.of());
+		featureChilds = childList.toArray(FeatureChild[]::new);
+		List<Scenario> scenarioList = new ArrayList<>();
+		List<Background> backgroundList = new ArrayList<>();
+		for (FeatureChild child : featureChilds) {
+			child.getScenario().ifPresent(scenarioList::add);
+			child.getBackground().ifPresent(backgroundList::add);
+		}
+		scenarios = scenarioList.toArray(Scenario[]::new);
+		backgrounds = backgroundList.toArray(Background[]::new);
+		List<Step> stepList = new ArrayList<>();
+		List<Examples> examplesList = new ArrayList<>();
+		List<DataTable> dataTableList = new ArrayList<>();
+		for (Scenario scenario : scenarios) {
+			for (Step step : scenario.getSteps()) {
+				stepList.add(step);
+				step.getDataTable().ifPresent(dataTableList::add);
+			}
+			examplesList.addAll(scenario.getExamples());
+		}
+		for (Background background : backgrounds) {
+			stepList.addAll(background.getSteps());
+		}
+		// every node of the tree is a distinct object, so no further filtering for
+		// duplicates is required
+		steps = stepList.toArray(Step[]::new);
+		examples = examplesList.toArray(Examples[]::new);
+		dataTables = dataTableList.toArray(DataTable[]::new);
+		List<Tag> tagList = new ArrayList<>();
+		List<TableRow> headerList = new ArrayList<>();
+		List<List<TableRow>> bodyList = new ArrayList<>();
+		for (Examples example : examples) {
+			tagList.addAll(example.getTags());
+			example.getTableHeader().ifPresent(header -> {
+				headerList.add(header);
+				bodyList.add(example.getTableBody());
+			});
+		}
+		for (Scenario scenario : scenarios) {
+			tagList.addAll(scenario.getTags());
+		}
+		gherkinDocument.flatMap(GherkinDocument::getFeature).ifPresent(feature -> tagList.addAll(feature.getTags()));
+		tags = tagList.toArray(Tag[]::new);
+		tableHeaders = headerList.toArray(TableRow[]::new);
+		tableBodys = Collections.unmodifiableList(bodyList);
+		Map<String, List<Tag>> byName = new HashMap<>();
+		for (Tag tag : tags) {
+			byName.computeIfAbsent(tag.getName(), name -> new ArrayList<>(1)).add(tag);
+		}
+		tagsByName = byName;
+		tagsByLine = sortedByLine(tags, Tag::getLocation);
+		tagLines = lines(tagsByLine, Tag::getLocation);
+		stepsByLine = sortedByLine(steps, Step::getLocation);
+		stepLines = lines(stepsByLine, Step::getLocation);
+		scenariosByLine = sortedByLine(scenarios, Scenario::getLocation);
+		scenarioLines = lines(scenariosByLine, Scenario::getLocation);
+		examplesByLine = sortedByLine(examples, Examples::getLocation);
+		examplesLines = lines(examplesByLine, Examples::getLocation);
 	}
 
 	/**
@@ -51,7 +149,15 @@ public class GherkinStream {
 	 *         feature is present (either none is defined or there are parse errors)
 	 */
 	public Optional<Feature> getFeature() {
-		return getGherkinDocument().flatMap(GherkinDocument::getFeature);
+		return gherkinDocument.flatMap(GherkinDocument::getFeature);
+	}
+
+	/**
+	 * @return the source text the stream was parsed from or an empty optional if
+	 *         the envelopes do not contain a source
+	 */
+	public Optional<String> getSource() {
+		return source;
 	}
 
 	/**
@@ -59,15 +165,14 @@ public class GherkinStream {
 	 *         document is present
 	 */
 	public Optional<GherkinDocument> getGherkinDocument() {
-		return Arrays.stream(envelopes).map(s -> s.getGherkinDocument()).filter(o -> o.isPresent()).map(o -> o.get())
-				.findFirst();
+		return gherkinDocument;
 	}
 
 	/**
 	 * @return a stream of all feature children (scenarios, rules, backgrounds)
 	 */
 	public Stream<FeatureChild> getFeatureChilds() {
-		return getFeature().stream().flatMap(GherkinStream::featureChilds);
+		return Arrays.stream(featureChilds);
 	}
 
 	/**
@@ -84,7 +189,18 @@ public class GherkinStream {
 	 * @return a stream of all scenarios in the document
 	 */
 	public Stream<Scenario> getScenarios() {
-		return getFeatureChilds().map(FeatureChild::getScenario).filter(o -> o.isPresent()).map(o -> o.get());
+		return Arrays.stream(scenarios);
+	}
+
+	/**
+	 * Returns all scenarios whose keyword is located in the given line range.
+	 * 
+	 * @param fromLine the first line (1-based, inclusive)
+	 * @param toLine   the last line (1-based, inclusive)
+	 * @return a stream of scenarios in the given range ordered by line
+	 */
+	public Stream<Scenario> getScenarios(long fromLine, long toLine) {
+		return range(scenariosByLine, scenarioLines, fromLine, toLine);
 	}
 
 	/**
@@ -104,9 +220,21 @@ public class GherkinStream {
 	 * @return a stream of all steps in the document
 	 */
 	public Stream<Step> getSteps() {
-		Stream<Step> backgroundSteps = getBackgrounds().flatMap(bg -> bg.getSteps().stream());
-		Stream<Step> scenarioSteps = getScenarios().flatMap(GherkinStream::scenarioSteps);
-		return Stream.concat(scenarioSteps, backgroundSteps).distinct();
+		return Arrays.stream(steps);
+	}
+
+	/**
+	 * Returns the step located at the given line.
+	 * 
+	 * @param line the line (1-based)
+	 * @return the step at this line or an empty optional if there is none
+	 */
+	public Optional<Step> getStep(long line) {
+		int index = Arrays.binarySearch(stepLines, line);
+		if (index < 0) {
+			return Optional.empty();
+		}
+		return Optional.of(stepsByLine[index]);
 	}
 
 	/**
@@ -123,7 +251,7 @@ public class GherkinStream {
 	 * @return a stream of all backgrounds in the document
 	 */
 	public Stream<Background> getBackgrounds() {
-		return getFeatureChilds().map(FeatureChild::getBackground).filter(o -> o.isPresent()).map(o -> o.get());
+		return Arrays.stream(backgrounds);
 	}
 
 	/**
@@ -133,17 +261,46 @@ public class GherkinStream {
 	 * @return a stream of all tags in the document
 	 */
 	public Stream<Tag> getTags() {
-		return Stream.concat(getExamples().flatMap(example -> example.getTags().stream()),
-				Stream.concat(getScenarios().flatMap(scenario -> scenario.getTags().stream()),
-						getFeature().stream().flatMap(feature -> feature.getTags().stream())))
-				.distinct();
+		return Arrays.stream(tags);
+	}
+
+	/**
+	 * Returns all tags with the given name from features, scenarios, and examples.
+	 * 
+	 * @param name the name of the tag including the leading <code>@</code>
+	 * @return the tags with this name
+	 */
+	public List<Tag> getTags(String name) {
+		return Collections.unmodifiableList(tagsByName.getOrDefault(name, List.of()));
+	}
+
+	/**
+	 * Returns all tags located in the given line range.
+	 * 
+	 * @param fromLine the first line (1-based, inclusive)
+	 * @param toLine   the last line (1-based, inclusive)
+	 * @return a stream of tags in the given range ordered by line
+	 */
+	public Stream<Tag> getTags(long fromLine, long toLine) {
+		return range(tagsByLine, tagLines, fromLine, toLine);
 	}
 
 	/**
 	 * @return a stream of all examples in the document
 	 */
 	public Stream<Examples> getExamples() {
-		return getScenarios().flatMap(s -> s.getExamples().stream());
+		return Arrays.stream(examples);
+	}
+
+	/**
+	 * Returns all examples whose keyword is located in the given line range.
+	 * 
+	 * @param fromLine the first line (1-based, inclusive)
+	 * @param toLine   the last line (1-based, inclusive)
+	 * @return a stream of examples in the given range ordered by line
+	 */
+	public Stream<Examples> getExamples(long fromLine, long toLine) {
+		return range(examplesByLine, examplesLines, fromLine, toLine);
 	}
 
 	/**
@@ -153,7 +310,7 @@ public class GherkinStream {
 	 * @return a stream of table headers
 	 */
 	public Stream<TableRow> getTableHeaders() {
-		return getExamples().map(Examples::getTableHeader).filter(o -> o.isPresent()).map(o -> o.get()).distinct();
+		return Arrays.stream(tableHeaders);
 	}
 
 	/**
@@ -164,7 +321,7 @@ public class GherkinStream {
 	 * @return a stream of table body lists
 	 */
 	public Stream<List<TableRow>> getTableBodys() {
-		return getExamples().filter(e->e.getTableHeader().isPresent()).map(Examples::getTableBody).distinct();
+		return tableBodys.stream();
 	}
 
 	/**
@@ -174,16 +331,51 @@ public class GherkinStream {
 	 * @return a stream of data tables
 	 */
 	public Stream<DataTable> getDataTables() {
-		return getScenarios().flatMap(scenario -> scenario.getSteps().stream())
-				.map(Step::getDataTable).filter(o -> o.isPresent()).map(o -> o.get()).distinct();
+		return Arrays.stream(dataTables);
 	}
 
 	/**
 	 * @return a stream of parse errors for the given document
 	 */
 	public Stream<ParseError> getParseError() {
-		return Arrays.stream(envelopes).map(Envelope::getParseError).filter(o -> o.isPresent()).map(o -> o.get());
+		return Arrays.stream(parseErrors);
+	}
+
+	private static <T> T[] sortedByLine(T[] elements, Function<T, Location> location) {
+		T[] sorted = elements.clone();
+		Arrays.sort(sorted, Comparator.comparingLong((ToLongFunction<T>) e -> location.apply(e).getLine()));
+		return sorted;
 	}
 
+	private static <T> long[] lines(T[] sorted, Function<T, Location> location) {
+		long[] lines = new long[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			lines[i] = location.apply(sorted[i]).getLine();
+		}
+		return lines;
+	}
+
+	private static <T> Stream<T> range(T[] sorted, long[] lines, long fromLine, long toLine) {
+		int from = firstIndex(lines, fromLine);
+		int to = firstIndex(lines, toLine + 1);
+		if (from >= to) {
+			return Stream.empty();
+		}
+		return Arrays.stream(sorted, from, to);
+	}
+
+	private static int firstIndex(long[] lines, long line) {
+		int low = 0;
+		int high = lines.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (lines[mid] < line) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
 
 }
@@ -0,0 +1,371 @@
+package io.cucumber.eclipse.editor.document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+
+import io.cucumber.eclipse.editor.Tracing;
+import io.cucumber.gherkin.GherkinParser;
+import io.cucumber.messages.types.Background;
+import io.cucumber.messages.types.Comment;
+import io.cucumber.messages.types.DataTable;
+import io.cucumber.messages.types.DocString;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.Examples;
+import io.cucumber.messages.types.Feature;
+import io.cucumber.messages.types.FeatureChild;
+import io.cucumber.messages.types.GherkinDocument;
+import io.cucumber.messages.types.Location;
+import io.cucumber.messages.types.Rule;
+import io.cucumber.messages.types.RuleChild;
+import io.cucumber.messages.types.Scenario;
+import io.cucumber.messages.types.Source;
+import io.cucumber.messages.types.SourceMediaType;
+import io.cucumber.messages.types.Step;
+import io.cucumber.messages.types.TableCell;
+import io.cucumber.messages.types.TableRow;
+import io.cucumber.messages.types.Tag;
+
+/**
+ * Reparses only the top-level {@link FeatureChild} elements touched by an edit
+ * and splices them into the previously parsed document.
+ * <p>
+ * The affected region is parsed as a synthetic source that consists of the
+ * unchanged feature header (including the language line) followed by blank lines
+ * up to the start of the region, this way all locations produced by the parser
+ * are already correct for the real document and no location rewriting is
+ * required. The children following the touched ones are kept, if the edit
+ * changed the number of lines they are copied with their locations moved by the
+ * same number of lines instead of being reparsed.
+ * </p>
+ * <p>
+ * Whenever the result can't be guaranteed to be the same as a full parse (the
+ * header is touched, the region has parse errors, a rule or background shows up
+ * where it would change the structure of the rest of the document, ...) the
+ * caller must fall back to a full parse.
+ * </p>
+ */
+final class IncrementalGherkinParser {
+
+	private IncrementalGherkinParser() {
+	}
+
+	/**
+	 * Accumulates all edits applied to a document since it was parsed the last
+	 * time, the affected range is tracked in (1-based) line numbers of the base
+	 * document.
+	 */
+	static final class PendingEdit {
+
+		private final GherkinEditorDocument base;
+		private int firstLine = Integer.MAX_VALUE;
+		private int lastLine = -1;
+		private int lineDelta;
+
+		PendingEdit(GherkinEditorDocument base) {
+			this.base = base;
+		}
+
+		/**
+		 * Records an edit, must be called before the edit is applied to the document
+		 *
+		 * @param event the event describing the edit
+		 * @throws BadLocationException if the event does not match the document
+		 */
+		void add(DocumentEvent event) throws BadLocationException {
+			IDocument document = event.getDocument();
+			int start = document.getLineOfOffset(event.getOffset()) + 1;
+			int end = document.getLineOfOffset(event.getOffset() + event.getLength()) + 1;
+			String text = event.getText();
+			int added = text == null ? 0 : document.computeNumberOfLines(text);
+			int baseStart = toBaseLine(start, true);
+			int baseEnd = toBaseLine(end, false);
+			firstLine = Math.min(firstLine, baseStart);
+			lastLine = Math.max(lastLine, baseEnd);
+			lineDelta += added - (end - start);
+		}
+
+		private int toBaseLine(int line, boolean start) {
+			if (lastLine < 0 || line < firstLine) {
+				return line;
+			}
+			if (line > lastLine + lineDelta) {
+				return line - lineDelta;
+			}
+			return start ? firstLine : lastLine;
+		}
+	}
+
+	/**
+	 * Tries to reparse the given document incrementally
+	 *
+	 * @param edit     the edits applied since the base document was parsed
+	 * @param document the document in its current state
+	 * @param resource supplier for the associated resource
+	 * @return the reparsed document or an empty optional if a full parse is
+	 *         required
+	 */
+	static Optional<GherkinEditorDocument> reparse(PendingEdit edit, IDocument document,
+			Supplier<IResource> resource) {
+		long start = System.currentTimeMillis();
+		try {
+			Envelope[] envelopes = reparse(edit, document);
+			if (envelopes == null) {
+				return Optional.empty();
+			}
+			if (Tracing.PERF) {
+				Tracing.get().trace(Tracing.PERFORMANCE, "Incremental reparse of lines " + edit.firstLine + "-"
+						+ edit.lastLine + " took " + (System.currentTimeMillis() - start) + "ms");
+			}
+			return Optional.of(GherkinEditorDocument.create(document, resource, envelopes));
+		} catch (BadLocationException | RuntimeException e) {
+			// something is out of sync, a full parse will sort it out
+			return Optional.empty();
+		}
+	}
+
+	private static Envelope[] reparse(PendingEdit edit, IDocument document) throws BadLocationException {
+		GherkinEditorDocument base = edit.base;
+		if (edit.lastLine < 0 || base.getParseError().findAny().isPresent()) {
+			return null;
+		}
+		Optional<GherkinDocument> baseDocument = base.getGherkinDocument();
+		Feature feature = baseDocument.flatMap(GherkinDocument::getFeature).orElse(null);
+		if (feature == null) {
+			return null;
+		}
+		List<FeatureChild> children = feature.getChildren();
+		int count = children.size();
+		if (count == 0) {
+			return null;
+		}
+		int[] childStart = new int[count];
+		for (int i = 0; i < count; i++) {
+			childStart[i] = startLine(children.get(i));
+		}
+		if (edit.firstLine < childStart[0]) {
+			// feature header or language line has changed
+			return null;
+		}
+		int first = indexOf(childStart, edit.firstLine);
+		int last = indexOf(childStart, edit.lastLine);
+		boolean tail = last == count - 1;
+		int regionStart = childStart[first];
+		// the end of the region in the base document and in the current document
+		int baseRegionEnd = tail ? Integer.MAX_VALUE : childStart[last + 1] - 1;
+		int regionEnd = tail ? document.getNumberOfLines() : baseRegionEnd + edit.lineDelta;
+		if (regionEnd < regionStart) {
+			return null;
+		}
+
+		int featureLine = feature.getLocation().getLine().intValue();
+		StringBuilder source = new StringBuilder(
+				document.get(0, document.getLineOffset(featureLine - 1) + document.getLineLength(featureLine - 1)));
+		String delimiter = document.getLegalLineDelimiters()[0];
+		for (int line = featureLine + 1; line < regionStart; line++) {
+			source.append(delimiter);
+		}
+		int regionOffset = document.getLineOffset(regionStart - 1);
+		int regionEndOffset = tail ? document.getLength()
+				: document.getLineOffset(regionEnd - 1) + document.getLineLength(regionEnd - 1);
+		source.append(document.get(regionOffset, regionEndOffset - regionOffset));
+
+		GherkinParser parser = GherkinParser.builder().includeSource(false).includeGherkinDocument(true)
+				.includePickles(false).build();
+		List<Envelope> parsed = parser
+				.parse(Envelope.of(new Source("", source.toString(), SourceMediaType.TEXT_X_CUCUMBER_GHERKIN_PLAIN)))
+				.toList();
+		if (parsed.stream().anyMatch(e -> e.getParseError().isPresent())) {
+			return null;
+		}
+		GherkinDocument fragment = parsed.stream().map(Envelope::getGherkinDocument).flatMap(Optional::stream)
+				.findFirst().orElse(null);
+		if (fragment == null || fragment.getFeature().isEmpty()) {
+			return null;
+		}
+		List<FeatureChild> replacement = fragment.getFeature().get().getChildren();
+		if (!isStructurallyCompatible(children, first, last, tail, replacement)) {
+			return null;
+		}
+
+		List<FeatureChild> newChildren = new ArrayList<>(children.subList(0, first));
+		newChildren.addAll(replacement);
+		if (!tail) {
+			for (FeatureChild child : children.subList(last + 1, count)) {
+				newChildren.add(edit.lineDelta == 0 ? child : shift(child, edit.lineDelta));
+			}
+		}
+		List<Comment> comments = new ArrayList<>();
+		for (Comment comment : baseDocument.get().getComments()) {
+			long line = comment.getLocation().getLine();
+			if (line < regionStart) {
+				comments.add(comment);
+			} else if (line > baseRegionEnd) {
+				comments.add(new Comment(shift(comment.getLocation(), edit.lineDelta), comment.getText()));
+			}
+		}
+		for (Comment comment : fragment.getComments()) {
+			if (comment.getLocation().getLine() >= regionStart) {
+				comments.add(comment);
+			}
+		}
+		comments.sort((c1, c2) -> Long.compare(c1.getLocation().getLine(), c2.getLocation().getLine()));
+
+		Feature newFeature = new Feature(feature.getLocation(), feature.getTags(), feature.getLanguage(),
+				feature.getKeyword(), feature.getName(), feature.getDescription(), newChildren);
+		GherkinDocument gherkinDocument = new GherkinDocument(baseDocument.get().getUri().orElse(null), newFeature,
+				comments);
+		return new Envelope[] {
+				Envelope.of(new Source("", document.get(), SourceMediaType.TEXT_X_CUCUMBER_GHERKIN_PLAIN)),
+				Envelope.of(gherkinDocument) };
+	}
+
+	/**
+	 * Checks that replacing the children first..last with the given replacement
+	 * results in the same structure a full parse would produce: backgrounds are
+	 * only allowed as the first child, and scenarios can't follow a rule as they
+	 * would otherwise belong to that rule.
+	 */
+	private static boolean isStructurallyCompatible(List<FeatureChild> children, int first, int last, boolean tail,
+			List<FeatureChild> replacement) {
+		if (replacement.isEmpty()) {
+			return false;
+		}
+		boolean ruleSeen = children.subList(0, first).stream().anyMatch(c -> c.getRule().isPresent());
+		for (int i = 0; i < replacement.size(); i++) {
+			FeatureChild child = replacement.get(i);
+			if (child.getBackground().isPresent() && (first > 0 || i > 0)) {
+				return false;
+			}
+			if (child.getScenario().isPresent() && ruleSeen) {
+				return false;
+			}
+			if (child.getRule().isPresent()) {
+				ruleSeen = true;
+			}
+		}
+		if (!tail && ruleSeen) {
+			// the following children must still be rules then
+			return children.get(last + 1).getRule().isPresent();
+		}
+		return true;
+	}
+
+	/**
+	 * Copies the given child with all its locations moved by the given number of
+	 * lines, the ids are kept as the child itself has not changed
+	 */
+	private static FeatureChild shift(FeatureChild child, long delta) {
+		return new FeatureChild(child.getRule().map(rule -> shift(rule, delta)).orElse(null),
+				child.getBackground().map(background -> shift(background, delta)).orElse(null),
+				child.getScenario().map(scenario -> shift(scenario, delta)).orElse(null));
+	}
+
+	private static Rule shift(Rule rule, long delta) {
+		List<RuleChild> children = new ArrayList<>(rule.getChildren().size());
+		for (RuleChild child : rule.getChildren()) {
+			children.add(new RuleChild(child.getBackground().map(background -> shift(background, delta)).orElse(null),
+					child.getScenario().map(scenario -> shift(scenario, delta)).orElse(null)));
+		}
+		return new Rule(shift(rule.getLocation(), delta), shiftTags(rule.getTags(), delta), rule.getKeyword(),
+				rule.getName(), rule.getDescription(), children, rule.getId());
+	}
+
+	private static Background shift(Background background, long delta) {
+		return new Background(shift(background.getLocation(), delta), background.getKeyword(), background.getName(),
+				background.getDescription(), shiftSteps(background.getSteps(), delta), background.getId());
+	}
+
+	private static Scenario shift(Scenario scenario, long delta) {
+		List<Examples> examples = new ArrayList<>(scenario.getExamples().size());
+		for (Examples example : scenario.getExamples()) {
+			examples.add(new Examples(shift(example.getLocation(), delta), shiftTags(example.getTags(), delta),
+					example.getKeyword(), example.getName(), example.getDescription(),
+					example.getTableHeader().map(header -> shift(header, delta)).orElse(null),
+					shiftRows(example.getTableBody(), delta), example.getId()));
+		}
+		return new Scenario(shift(scenario.getLocation(), delta), shiftTags(scenario.getTags(), delta),
+				scenario.getKeyword(), scenario.getName(), scenario.getDescription(),
+				shiftSteps(scenario.getSteps(), delta), examples, scenario.getId());
+	}
+
+	private static List<Step> shiftSteps(List<Step> steps, long delta) {
+		List<Step> shifted = new ArrayList<>(steps.size());
+		for (Step step : steps) {
+			DocString docString = step.getDocString()
+					.map(doc -> new DocString(shift(doc.getLocation(), delta), doc.getMediaType().orElse(null),
+							doc.getContent(), doc.getDelimiter()))
+					.orElse(null);
+			DataTable dataTable = step.getDataTable()
+					.map(table -> new DataTable(shift(table.getLocation(), delta), shiftRows(table.getRows(), delta)))
+					.orElse(null);
+			shifted.add(new Step(shift(step.getLocation(), delta), step.getKeyword(),
+					step.getKeywordType().orElse(null), step.getText(), docString, dataTable, step.getId()));
+		}
+		return shifted;
+	}
+
+	private static List<TableRow> shiftRows(List<TableRow> rows, long delta) {
+		List<TableRow> shifted = new ArrayList<>(rows.size());
+		for (TableRow row : rows) {
+			shifted.add(shift(row, delta));
+		}
+		return shifted;
+	}
+
+	private static TableRow shift(TableRow row, long delta) {
+		List<TableCell> cells = new ArrayList<>(row.getCells().size());
+		for (TableCell cell : row.getCells()) {
+			cells.add(new TableCell(shift(cell.getLocation(), delta), cell.getValue()));
+		}
+		return new TableRow(shift(row.getLocation(), delta), cells, row.getId());
+	}
+
+	private static List<Tag> shiftTags(List<Tag> tags, long delta) {
+		List<Tag> shifted = new ArrayList<>(tags.size());
+		for (Tag tag : tags) {
+			shifted.add(new Tag(shift(tag.getLocation(), delta), tag.getName(), tag.getId()));
+		}
+		return shifted;
+	}
+
+	private static Location shift(Location location, long delta) {
+		return new Location(location.getLine() + delta, location.getColumn().orElse(null));
+	}
+
+	private static int indexOf(int[] childStart, int line) {
+		int index = 0;
+		for (int i = 0; i < childStart.length; i++) {
+			if (childStart[i] <= line) {
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	private static int startLine(FeatureChild child) {
+		if (child.getScenario().isPresent()) {
+			Scenario scenario = child.getScenario().get();
+			return startLine(scenario.getLocation().getLine(), scenario.getTags());
+		}
+		if (child.getRule().isPresent()) {
+			Rule rule = child.getRule().get();
+			return startLine(rule.getLocation().getLine(), rule.getTags());
+		}
+		return child.getBackground().map(b -> b.getLocation().getLine().intValue()).orElse(Integer.MAX_VALUE);
+	}
+
+	private static int startLine(Long keywordLine, List<Tag> tags) {
+		long line = keywordLine;
+		for (Tag tag : tags) {
+			line = Math.min(line, tag.getLocation().getLine());
+		}
+		return (int) line;
+	}
+}
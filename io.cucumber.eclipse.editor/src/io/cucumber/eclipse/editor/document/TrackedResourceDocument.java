@@ -60,7 +60,8 @@ final class TrackedResourceDocument {
 	 * <p>
 	 * If the document is a {@link FileBasedDocument}, attempts to reload its
 	 * content from the file. If reloading fails or the document is not file-based,
-	 * falls back to loading a fresh document.
+	 * falls back to loading a fresh document. If the content of the file is
+	 * unchanged the current instance is returned as is.
 	 * </p>
 	 * 
 	 * @return the reloaded GherkinEditorDocument, or null if loading failed
@@ -72,7 +73,9 @@ final class TrackedResourceDocument {
 				IDocument document = editorDocument.getDocument();
 				if (document instanceof FileBasedDocument resourceDocument) {
 					try {
-						resourceDocument.reload();
+						if (!resourceDocument.reload()) {
+							return editorDocument;
+						}
 						GherkinEditorDocument reloaded = new GherkinEditorDocument(document, () -> file);
 						documentRef = new WeakReference<>(reloaded);
 						return reloaded;
@@ -1,7 +1,7 @@
 package io.cucumber.eclipse.editor.hyperlinks;
 
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.resources.IResource;
@@ -18,8 +18,18 @@ import io.cucumber.eclipse.editor.CucumberServiceRegistry;
 import io.cucumber.eclipse.editor.EditorLogging;
 import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
 import io.cucumber.eclipse.editor.document.GherkinEditorDocumentManager;
-import io.cucumber.eclipse.editor.marker.MarkerFactory;
+import io.cucumber.eclipse.editor.marker.StepMatchStates;
+import io.cucumber.messages.types.Step;
 
+/**
+ * Detects hyperlinks from steps to their step definitions.
+ * <p>
+ * Detection runs on every mouse move while the modifier key is held, so the
+ * step of a line is looked up in the line table of the document and the match
+ * state in the {@link StepMatchStates} that are refreshed by the validation,
+ * neither the markers nor the steps of the document are scanned.
+ * </p>
+ */
 public class StepHyperlinkDetector implements IHyperlinkDetector {
 
 	@Override
@@ -27,8 +37,19 @@ public class StepHyperlinkDetector implements IHyperlinkDetector {
 		int offset = region.getOffset();
 		IDocument document = textViewer.getDocument();
 		GherkinEditorDocument editorDocument = GherkinEditorDocumentManager.get(document);
-		if (editorDocument != null) {
+		if (editorDocument == null) {
+			return null;
+		}
+		try {
+			int lineNumber = document.getLineOfOffset(offset) + 1;
+			Optional<Step> lineStep = editorDocument.getStep(lineNumber);
+			if (lineStep.isEmpty()) {
+				return null;
+			}
 			IResource resource = editorDocument.getResource();
+			if (StepMatchStates.isUnmatched(resource, lineNumber)) {
+				return null;
+			}
 			List<IStepDefinitionOpener> openers = CucumberServiceRegistry.getStepDefinitionOpener().stream()
 					.filter(opener -> {
 						try {
@@ -37,34 +58,18 @@ public class StepHyperlinkDetector implements IHyperlinkDetector {
 							return false;
 						}
 					}).collect(Collectors.toList());
-			if (openers.size() > 0) {
-				try {
-					int lineNumber = document.getLineOfOffset(offset) + 1;
-					IRegion lineInfo = document.getLineInformationOfOffset(offset);
-					int lineStartOffset = lineInfo.getOffset();
-					if (MarkerFactory.hasMarker(editorDocument.getResource(), MarkerFactory.UNMATCHED_STEP,
-							lineNumber)) {
-						return null;
-					}
-
-					IHyperlink[] hyperlinks = editorDocument.getSteps()
-							.filter(step -> step.getLocation().getLine() == lineNumber).map(step -> {
-								long column = step.getLocation().getColumn().orElse(0l) - 1;
-								String keyword = step.getKeyword();
-								Long statementStartOffset = lineStartOffset + column + keyword.length();
-								IRegion stepRegion = new Region(statementStartOffset.intValue(), step.getText().length());
-
-								return new StepHyperlink(stepRegion, step, textViewer, resource, openers);
-							}).filter(Objects::nonNull).toArray(IHyperlink[]::new);
-					if (hyperlinks.length > 0) {
-						return hyperlinks;
-					}
-				} catch (BadLocationException e) {
-					EditorLogging.error("Failed to detect hyperlink at offset: " + offset, e);
-				} catch (CoreException e) {
-					EditorLogging.error("Failed to detect hyperlink", e);
-				}
+			if (openers.isEmpty()) {
+				return null;
 			}
+			Step step = lineStep.get();
+			int lineStartOffset = document.getLineOffset(lineNumber - 1);
+			long column = step.getLocation().getColumn().orElse(0l) - 1;
+			String keyword = step.getKeyword();
+			Long statementStartOffset = lineStartOffset + column + keyword.length();
+			IRegion stepRegion = new Region(statementStartOffset.intValue(), step.getText().length());
+			return new IHyperlink[] { new StepHyperlink(stepRegion, step, textViewer, resource, openers) };
+		} catch (BadLocationException e) {
+			EditorLogging.error("Failed to detect hyperlink at offset: " + offset, e);
 		}
 		return null;
 	}
@@ -86,14 +86,10 @@ public class CucumberFeatureLaunchShortcut implements ILaunchShortcut {
 								int startLine = textSelection.getStartLine() + 1;
 								int endLine = textSelection.getEndLine() + 1;
 								List<Object> selectedItems = new ArrayList<>();
-								editorDocument.getTags()
-										.filter(tag -> tag.getLocation().getLine() >= startLine
-												&& tag.getLocation().getLine() <= endLine)
+								editorDocument.getTags(startLine, endLine)
 										.map(tag -> TagExpressionParser.parse(tag.getName()))
 										.forEach(selectedItems::add);
-								editorDocument.getScenarios()
-										.filter(senario -> senario.getLocation().getLine() >= startLine
-												&& senario.getLocation().getLine() <= endLine)
+								editorDocument.getScenarios(startLine, endLine)
 										.forEach(selectedItems::add);
 								if (selectedItems.isEmpty()) {
 									selectedItems.add(feature.get());
@@ -0,0 +1,252 @@
+package io.cucumber.eclipse.editor.marker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+import io.cucumber.eclipse.editor.EditorLogging;
+import io.cucumber.eclipse.editor.Tracing;
+
+/**
+ * Collects the desired marker state of many resources and applies it at once.
+ * <p>
+ * Every {@link MarkerFactory} method that replaces a set of markers describes
+ * the markers it wants to exist for a {@link Scope} of a resource, the batch
+ * then diffs this against the existing markers when it is closed: markers with
+ * the same key and attributes are not touched at all, changed ones are updated
+ * in place and only missing or obsolete ones are created or deleted. All changes
+ * are applied in a single workspace runnable, so listeners only see one resource
+ * delta per batch.
+ * </p>
+ * <p>
+ * A batch is bound to the thread that opened it, nested calls to
+ * {@link #open()} join the current batch which is applied when the outermost
+ * one is closed. Work that is handed to other threads can join the batch with
+ * {@link #runIn(MarkerBatch, Runnable)}. Without an open batch each
+ * {@link MarkerFactory} call is applied immediately.
+ * </p>
+ *
+ * <pre>
+ * try (MarkerBatch batch = MarkerBatch.open()) {
+ * 	MarkerFactory.syntaxErrorOnGherkin(resource, errors, false);
+ * 	...
+ * }
+ * </pre>
+ */
+public final class MarkerBatch implements AutoCloseable {
+
+	private static final ThreadLocal<MarkerBatch> CURRENT = new ThreadLocal<>();
+
+	private final Map<IResource, Map<Scope, List<MarkerSpec>>> desired = new ConcurrentHashMap<>();
+
+	private final AtomicInteger references = new AtomicInteger(1);
+
+	private MarkerBatch() {
+	}
+
+	/**
+	 * Opens a new batch for the current thread or joins the batch that is already
+	 * open
+	 *
+	 * @return the batch, must be closed to apply the collected markers
+	 */
+	public static MarkerBatch open() {
+		MarkerBatch current = CURRENT.get();
+		if (current != null) {
+			current.references.incrementAndGet();
+			return current;
+		}
+		MarkerBatch batch = new MarkerBatch();
+		CURRENT.set(batch);
+		return batch;
+	}
+
+	/**
+	 * @return the batch open for the current thread or <code>null</code> if there
+	 *         is none
+	 */
+	public static MarkerBatch current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Runs the given runnable with the given batch as the current batch of the
+	 * calling thread
+	 *
+	 * @param batch    the batch to use, might be <code>null</code> in which case
+	 *                 the runnable is simply run
+	 * @param runnable the runnable to run
+	 */
+	public static void runIn(MarkerBatch batch, Runnable runnable) {
+		MarkerBatch previous = CURRENT.get();
+		if (batch == null || batch == previous) {
+			runnable.run();
+			return;
+		}
+		CURRENT.set(batch);
+		try {
+			runnable.run();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Replaces the desired markers of the given scope
+	 *
+	 * @param resource the resource the markers belong to
+	 * @param scope    the scope that is replaced
+	 * @param markers  the markers that should exist in this scope
+	 */
+	void replace(IResource resource, Scope scope, List<MarkerSpec> markers) {
+		desired.computeIfAbsent(resource, r -> new ConcurrentHashMap<>()).put(scope, markers);
+	}
+
+	@Override
+	public void close() {
+		if (references.decrementAndGet() > 0) {
+			return;
+		}
+		if (CURRENT.get() == this) {
+			CURRENT.remove();
+		}
+		apply();
+	}
+
+	/**
+	 * Applies the collected state, called when the batch is closed or for a single
+	 * update without an open batch
+	 */
+	void apply() {
+		if (desired.isEmpty()) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		int[] counts = new int[4];
+		IWorkspaceRunnable runnable = monitor -> {
+			for (Entry<IResource, Map<Scope, List<MarkerSpec>>> entry : desired.entrySet()) {
+				IResource resource = entry.getKey();
+				if (!resource.isAccessible()) {
+					continue;
+				}
+				synchronized (MarkerFactory.lockFor(resource)) {
+					for (Entry<Scope, List<MarkerSpec>> scope : entry.getValue().entrySet()) {
+						try {
+							apply(resource, scope.getKey(), scope.getValue(), counts);
+						} catch (CoreException e) {
+							EditorLogging.error(String.format("Failed to place marker %s", resource), e);
+						}
+					}
+				}
+			}
+		};
+		try {
+			ResourcesPlugin.getWorkspace().run(runnable, null, IWorkspace.AVOID_UPDATE, null);
+		} catch (CoreException e) {
+			EditorLogging.error("Failed to update markers", e);
+		}
+		if (Tracing.PERF) {
+			Tracing.get().trace(Tracing.PERFORMANCE,
+					"MarkerBatch: " + desired.size() + " resource(s), created=" + counts[0] + ", updated="
+							+ counts[1] + ", deleted=" + counts[2] + ", unchanged=" + counts[3] + " in "
+							+ (System.currentTimeMillis() - start) + "ms");
+		}
+		desired.clear();
+	}
+
+	private static void apply(IResource resource, Scope scope, List<MarkerSpec> markers, int[] counts)
+			throws CoreException {
+		Map<String, IMarker> existing = new HashMap<>();
+		List<IMarker> obsolete = new ArrayList<>();
+		for (IMarker marker : resource.findMarkers(scope.type(), scope.subtypes(), scope.depth())) {
+			String sourceId = marker.getAttribute(IMarker.SOURCE_ID, "");
+			if (scope.sourceId() != null && !scope.sourceId().equals(sourceId)) {
+				continue;
+			}
+			if (existing.putIfAbsent(sourceId, marker) != null) {
+				obsolete.add(marker);
+			}
+		}
+		for (MarkerSpec spec : markers) {
+			IMarker marker = existing.remove(spec.key());
+			Map<String, Object> attributes = new LinkedHashMap<>();
+			List<String> removed = new ArrayList<>();
+			spec.attributes().forEach((k, v) -> {
+				if (v != null) {
+					attributes.put(k, v);
+				} else {
+					removed.add(k);
+				}
+			});
+			if (marker == null) {
+				attributes.put(IMarker.SOURCE_ID, spec.key());
+				resource.createMarker(spec.type(), attributes);
+				counts[0]++;
+			} else if (hasAttributes(marker, spec.attributes())) {
+				counts[3]++;
+			} else {
+				marker.setAttributes(attributes.keySet().toArray(String[]::new), attributes.values().toArray());
+				for (String key : removed) {
+					if (marker.getAttribute(key) != null) {
+						marker.setAttribute(key, null);
+					}
+				}
+				counts[1]++;
+			}
+		}
+		obsolete.addAll(existing.values());
+		for (IMarker marker : obsolete) {
+			marker.delete();
+			counts[2]++;
+		}
+	}
+
+	private static boolean hasAttributes(IMarker marker, Map<String, Object> attributes) throws CoreException {
+		for (Entry<String, Object> entry : attributes.entrySet()) {
+			if (!Objects.equals(marker.getAttribute(entry.getKey()), entry.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Describes a set of markers on a resource that is replaced as a whole
+	 *
+	 * @param type     the marker type to look for
+	 * @param subtypes if subtypes of the marker type are included
+	 * @param depth    the depth to search markers
+	 * @param sourceId if not <code>null</code> only markers with this source id
+	 *                 belong to the scope
+	 */
+	record Scope(String type, boolean subtypes, int depth, String sourceId) {
+	}
+
+	/**
+	 * A marker that should exist
+	 *
+	 * @param type       the type of the marker when it needs to be created
+	 * @param key        the key that identifies the marker in its scope, stored
+	 *                   as {@link IMarker#SOURCE_ID}
+	 * @param attributes the attributes the marker should have
+	 */
+	record MarkerSpec(String type, String key, Map<String, Object> attributes) {
+	}
+}
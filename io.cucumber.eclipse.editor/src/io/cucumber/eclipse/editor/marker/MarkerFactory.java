@@ -1,7 +1,10 @@
 package io.cucumber.eclipse.editor.marker;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -18,6 +21,8 @@ import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 
 import io.cucumber.eclipse.editor.EditorLogging;
+import io.cucumber.eclipse.editor.marker.MarkerBatch.MarkerSpec;
+import io.cucumber.eclipse.editor.marker.MarkerBatch.Scope;
 import io.cucumber.messages.types.Location;
 import io.cucumber.messages.types.ParseError;
 import io.cucumber.messages.types.SourceReference;
@@ -60,52 +65,41 @@ public class MarkerFactory {
 
 	public static final String CUCUMBER_NATURE_MISSING_MARKER = CUCUMBER_MARKER + ".project.cucumber_nature_missing";
 
+	/**
+	 * Marker updates for the same resource are serialized as validation might run
+	 * concurrently, a fixed set of lock stripes keeps this bounded
+	 */
+	private static final Object[] RESOURCE_LOCKS = new Object[64];
+
+	static {
+		for (int i = 0; i < RESOURCE_LOCKS.length; i++) {
+			RESOURCE_LOCKS[i] = new Object();
+		}
+	}
+
 	private MarkerFactory() {
 	}
 
 	public static void validationErrorOnStepDefinition(final IResource resource,
 			Map<Integer, String> errors, boolean persistent) {
-		if (errors == null || errors.isEmpty()) {
-			mark(resource, new IMarkerBuilder() {
-
-				@Override
-				public void build() throws CoreException {
-					deleteStepValidationErrors(resource);
-				}
-
-
-
-			});
-			return;
-		}
-
-		mark(resource, new IMarkerBuilder() {
-			@Override
-			public void build() throws CoreException {
-				deleteStepValidationErrors(resource);
-				for (Entry<Integer, String> entry : errors.entrySet()) {
-					IMarker marker = resource.createMarker(STEPDEF_VALIDATION_ERROR);
-					marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
-					marker.setAttribute(IMarker.MESSAGE, entry.getValue());
-					marker.setAttribute(IMarker.LINE_NUMBER, entry.getKey());
-					marker.setAttribute(IMarker.TRANSIENT, persistent);
-				}
+		List<MarkerSpec> markers = new ArrayList<>();
+		if (errors != null) {
+			for (Entry<Integer, String> entry : errors.entrySet()) {
+				Map<String, Object> attributes = new LinkedHashMap<>();
+				attributes.put(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+				attributes.put(IMarker.MESSAGE, entry.getValue());
+				attributes.put(IMarker.LINE_NUMBER, entry.getKey());
+				attributes.put(IMarker.TRANSIENT, persistent);
+				markers.add(new MarkerSpec(STEPDEF_VALIDATION_ERROR, String.valueOf(entry.getKey()), attributes));
 			}
-		});
-
+		}
+		update(resource, new Scope(STEPDEF_VALIDATION_ERROR, true, IResource.DEPTH_INFINITE, null), markers);
 	}
 
 	public void syntaxErrorOnStepDefinition(IResource stepDefinitionResource, Exception e) {
 		syntaxErrorOnStepDefinition(stepDefinitionResource, e, 0);
 	}
 
-	private static void deleteStepValidationErrors(final IResource resource) throws CoreException {
-		IMarker[] markers = resource.findMarkers(STEPDEF_VALIDATION_ERROR, true, IResource.DEPTH_INFINITE);
-		for (IMarker marker : markers) {
-			marker.delete();
-		}
-	}
-
 //	public void unmatchedStep(final IDocument gherkinDocument, final GherkinStepWrapper gherkinStepWrapper) {
 //
 //		final IResource gherkinFile = gherkinStepWrapper.getSource();
@@ -168,87 +162,56 @@ public class MarkerFactory {
 
 	public static void syntaxErrorOnGherkin(final IResource resource, Iterable<ParseError> errors,
 			boolean persistent) {
-
-		mark(resource, new IMarkerBuilder() {
-			@Override
-			public void build() throws CoreException {
-				Map<Object, IMarker> existingMarker = getExistingMarker(resource, GHERKIN_SYNTAX_ERROR);
-				for (ParseError error : errors) {
-					String sourceId;
-					Integer line;
-					int column;
-					if (error.getSource().getLocation().isPresent()) {
-						SourceReference source = error.getSource();
-						Location location = source.getLocation().get();
-						Long l = location.getLine();
-						line = l == null ? null : l.intValue();
-						column = location.getColumn().orElse(-1l).intValue();
-					} else {
-						line = -1;
-						column = -1;
-					}
-					if (line > 0) {
-						sourceId = line + ":" + column;
-					} else {
-						sourceId = "";
-					}
-					IMarker marker = existingMarker.remove(sourceId);
-					if (marker == null) {
-						marker = resource.createMarker(GHERKIN_SYNTAX_ERROR);
-						marker.setAttribute(IMarker.SOURCE_ID, sourceId);
-					}
-					marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
-					marker.setAttribute(IMarker.MESSAGE, error.getMessage());
-					marker.setAttribute(IMarker.LINE_NUMBER, line);
-					marker.setAttribute(IMarker.LINE_NUMBER, line);
-					marker.setAttribute(IMarker.TRANSIENT, persistent);
-				}
-				for (IMarker obsolete : existingMarker.values()) {
-					obsolete.delete();
-				}
+		List<MarkerSpec> markers = new ArrayList<>();
+		for (ParseError error : errors) {
+			String sourceId;
+			Integer line;
+			int column;
+			if (error.getSource().getLocation().isPresent()) {
+				SourceReference source = error.getSource();
+				Location location = source.getLocation().get();
+				Long l = location.getLine();
+				line = l == null ? null : l.intValue();
+				column = location.getColumn().orElse(-1l).intValue();
+			} else {
+				line = -1;
+				column = -1;
 			}
-
-		});
-
+			if (line != null && line > 0) {
+				sourceId = line + ":" + column;
+			} else {
+				sourceId = "";
+			}
+			Map<String, Object> attributes = new LinkedHashMap<>();
+			attributes.put(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+			attributes.put(IMarker.MESSAGE, error.getMessage());
+			attributes.put(IMarker.LINE_NUMBER, line);
+			attributes.put(IMarker.TRANSIENT, persistent);
+			markers.add(new MarkerSpec(GHERKIN_SYNTAX_ERROR, sourceId, attributes));
+		}
+		update(resource, new Scope(GHERKIN_SYNTAX_ERROR, true, IResource.DEPTH_INFINITE, null), markers);
 	}
 
 	public static void missingSteps(IResource resource, Map<Integer, Collection<String>> snippets,
 			String snippetType, boolean persistent) {
-		// TODO Auto-generated method stub
-		mark(resource, new IMarkerBuilder() {
-			@Override
-			public void build() throws CoreException {
-				Map<Object, IMarker> existingMarker = getExistingMarker(resource, UNMATCHED_STEP);
-				for (Entry<Integer, Collection<String>> entry : snippets.entrySet()) {
-					int lineNumber = entry.getKey();
-					int index = 0;
-					for (String snippet : entry.getValue()) {
-						String sourceId = snippetType + "_" + lineNumber + "_" + (index++);
-						IMarker marker = existingMarker.remove(sourceId);
-						if (marker == null) {
-							marker = resource.createMarker(UNMATCHED_STEP);
-							marker.setAttribute(IMarker.SOURCE_ID, sourceId);
-						}
-						marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
-						marker.setAttribute(IMarker.MESSAGE, "Step  does not have a matching glue code");
-						marker.setAttribute(IMarker.LINE_NUMBER, lineNumber);
-						marker.setAttribute(IMarker.TRANSIENT, persistent);
-						marker.setAttribute(UNMATCHED_STEP_SNIPPET_ATTRIBUTE, snippet);
-						marker.setAttribute(UNMATCHED_STEP_SNIPPTE_TYPE_ATTRIBUTE, snippetType);
-//					marker.setAttribute(IMarker.CHAR_START, stepRegion.getOffset());
-//					marker.setAttribute(IMarker.CHAR_END, stepRegion.getOffset() + stepRegion.getLength());
-//					marker.setAttribute(UNMATCHED_STEP_KEYWORD_ATTRIBUTE, gherkinStep.getKeyword());
-//					marker.setAttribute(UNMATCHED_STEP_NAME_ATTRIBUTE, gherkinStep.getName());
-//					marker.setAttribute(UNMATCHED_STEP_PATH_ATTRIBUTE, gherkinFile.getFullPath().toString());
-
-					}
-				}
-				for (IMarker obsolete : existingMarker.values()) {
-					obsolete.delete();
-				}
+		List<MarkerSpec> markers = new ArrayList<>();
+		for (Entry<Integer, Collection<String>> entry : snippets.entrySet()) {
+			int lineNumber = entry.getKey();
+			int index = 0;
+			for (String snippet : entry.getValue()) {
+				String sourceId = snippetType + "_" + lineNumber + "_" + (index++);
+				Map<String, Object> attributes = new LinkedHashMap<>();
+				attributes.put(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+				attributes.put(IMarker.MESSAGE, "Step  does not have a matching glue code");
+				attributes.put(IMarker.LINE_NUMBER, lineNumber);
+				attributes.put(IMarker.TRANSIENT, persistent);
+				attributes.put(UNMATCHED_STEP_SNIPPET_ATTRIBUTE, snippet);
+				attributes.put(UNMATCHED_STEP_SNIPPTE_TYPE_ATTRIBUTE, snippetType);
+				markers.add(new MarkerSpec(UNMATCHED_STEP, sourceId, attributes));
 			}
-		});
-
+		}
+		StepMatchStates.update(resource, snippetType, snippets.keySet());
+		update(resource, new Scope(UNMATCHED_STEP, true, IResource.DEPTH_INFINITE, null), markers);
 	}
 
 	private static Map<Object, IMarker> getExistingMarker(final IResource resource, String type) throws CoreException {
@@ -368,12 +331,28 @@ public class MarkerFactory {
 		}
 	}
 
+	/**
+	 * Replaces the markers of the given scope, if a {@link MarkerBatch} is open
+	 * the update is deferred until the batch is closed
+	 */
+	private static void update(IResource resource, Scope scope, List<MarkerSpec> markers) {
+		try (MarkerBatch batch = MarkerBatch.open()) {
+			batch.replace(resource, scope, markers);
+		}
+	}
+
+	static Object lockFor(IResource resource) {
+		return RESOURCE_LOCKS[Math.floorMod(resource.hashCode(), RESOURCE_LOCKS.length)];
+	}
+
 	private static void mark(final IResource resource, final IMarkerBuilder markerBuilder) {
 		try {
 			IWorkspaceRunnable runnable = new IWorkspaceRunnable() {
 				@Override
 				public void run(IProgressMonitor monitor) throws CoreException {
-					markerBuilder.build();
+					synchronized (lockFor(resource)) {
+						markerBuilder.build();
+					}
 				}
 			};
 
@@ -413,27 +392,13 @@ public class MarkerFactory {
 	 * @param sourceId unique identifier for this type of error marker
 	 */
 	public static void glueValidationError(IResource resource, String message, String sourceId) {
-		mark(resource, new IMarkerBuilder() {
-			@Override
-			public void build() throws CoreException {
-				// Delete existing glue validation error markers with this source ID
-				IMarker[] existingMarkers = resource.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
-				for (IMarker marker : existingMarkers) {
-					String source = marker.getAttribute(IMarker.SOURCE_ID, "");
-					if (sourceId.equals(source)) {
-						marker.delete();
-					}
-				}
-				
-				// Create new error marker
-				IMarker marker = resource.createMarker(IMarker.PROBLEM);
-				marker.setAttribute(IMarker.SOURCE_ID, sourceId);
-				marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
-				marker.setAttribute(IMarker.MESSAGE, message);
-				marker.setAttribute(IMarker.LINE_NUMBER, 1);
-				marker.setAttribute(IMarker.TRANSIENT, true);
-			}
-		});
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		attributes.put(IMarker.MESSAGE, message);
+		attributes.put(IMarker.LINE_NUMBER, 1);
+		attributes.put(IMarker.TRANSIENT, true);
+		update(resource, new Scope(IMarker.PROBLEM, true, IResource.DEPTH_ZERO, sourceId),
+				List.of(new MarkerSpec(IMarker.PROBLEM, sourceId, attributes)));
 	}
 
 	/**
@@ -443,18 +408,7 @@ public class MarkerFactory {
 	 * @param sourceId unique identifier for the error markers to clear
 	 */
 	public static void clearGlueValidationError(IResource resource, String sourceId) {
-		mark(resource, new IMarkerBuilder() {
-			@Override
-			public void build() throws CoreException {
-				IMarker[] existingMarkers = resource.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
-				for (IMarker marker : existingMarkers) {
-					String source = marker.getAttribute(IMarker.SOURCE_ID, "");
-					if (sourceId.equals(source)) {
-						marker.delete();
-					}
-				}
-			}
-		});
+		update(resource, new Scope(IMarker.PROBLEM, true, IResource.DEPTH_ZERO, sourceId), List.of());
 	}
 
 }
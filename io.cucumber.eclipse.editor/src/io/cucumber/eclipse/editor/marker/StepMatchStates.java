@@ -0,0 +1,155 @@
+package io.cucumber.eclipse.editor.marker;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * In-memory table of the lines with unmatched steps of each feature file.
+ * <p>
+ * The table is refreshed whenever a validation writes the
+ * {@link MarkerFactory#UNMATCHED_STEP unmatched step} markers of a resource, so
+ * editor features that run on every mouse move (e.g. hyperlink detection) can
+ * check the match state of a line without accessing the markers of the
+ * workspace. A resource that was not validated in this session yet is looked up
+ * in its markers once.
+ * </p>
+ * <p>
+ * The lines are kept per snippet type, so validators of different languages
+ * that validate the same file do not replace the lines of each other. Entries
+ * are dropped when their resource is removed or its project is closed.
+ * </p>
+ */
+public final class StepMatchStates {
+
+	/**
+	 * resource -> snippet type -> sorted unmatched lines
+	 */
+	private static final ConcurrentMap<IResource, Map<String, int[]>> UNMATCHED_LINES = new ConcurrentHashMap<>();
+
+	private static final IResourceChangeListener LISTENER = StepMatchStates::resourceChanged;
+
+	private static boolean installed;
+
+	private StepMatchStates() {
+	}
+
+	/**
+	 * Starts evicting the lines of removed resources, called when the bundle is
+	 * started
+	 */
+	public static synchronized void install() {
+		if (installed) {
+			return;
+		}
+		installed = true;
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(LISTENER,
+				IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+	}
+
+	/**
+	 * Stops tracking the workspace and drops all lines, called when the bundle is
+	 * stopped
+	 */
+	public static synchronized void shutdown() {
+		if (!installed) {
+			return;
+		}
+		installed = false;
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(LISTENER);
+		UNMATCHED_LINES.clear();
+	}
+
+	/**
+	 * @param resource the feature file
+	 * @param line     the line (1-based)
+	 * @return <code>true</code> if the step at the given line is not matched by
+	 *         any glue code
+	 */
+	public static boolean isUnmatched(IResource resource, int line) {
+		if (resource == null) {
+			return false;
+		}
+		for (int[] lines : UNMATCHED_LINES.computeIfAbsent(resource, StepMatchStates::readMarkers).values()) {
+			if (Arrays.binarySearch(lines, line) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Replaces the lines with unmatched steps of a resource found by one
+	 * validator, must be called by every validation that updates the unmatched
+	 * step markers
+	 *
+	 * @param resource       the feature file
+	 * @param snippetType    the snippet type of the validator
+	 * @param unmatchedLines the lines (1-based) of all unmatched steps
+	 */
+	public static void update(IResource resource, String snippetType, Collection<Integer> unmatchedLines) {
+		int[] lines = unmatchedLines.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+		UNMATCHED_LINES.computeIfAbsent(resource, r -> new ConcurrentHashMap<>()).put(snippetType, lines);
+	}
+
+	private static Map<String, int[]> readMarkers(IResource resource) {
+		Map<String, int[]> linesByType = new ConcurrentHashMap<>();
+		try {
+			IMarker[] markers = resource.findMarkers(MarkerFactory.UNMATCHED_STEP, true, IResource.DEPTH_INFINITE);
+			Map<String, List<IMarker>> markersByType = Arrays.stream(markers)
+					.collect(Collectors.groupingBy(StepMatchStates::snippetType));
+			markersByType.forEach((type, markersOfType) -> linesByType.put(type,
+					markersOfType.stream().mapToInt(marker -> marker.getAttribute(IMarker.LINE_NUMBER, -1))
+							.filter(line -> line > 0).sorted().distinct().toArray()));
+		} catch (CoreException e) {
+			// no lines then
+		}
+		return linesByType;
+	}
+
+	/**
+	 * @return the snippet type of the marker, either as attribute or as the prefix
+	 *         of the source id (<code>type_line</code> or
+	 *         <code>type_line_index</code>)
+	 */
+	private static String snippetType(IMarker marker) {
+		String type = marker.getAttribute(MarkerFactory.UNMATCHED_STEP_SNIPPTE_TYPE_ATTRIBUTE, null);
+		if (type != null) {
+			return type;
+		}
+		String sourceId = marker.getAttribute(IMarker.SOURCE_ID, "");
+		int separator = sourceId.indexOf('_');
+		return separator < 0 ? sourceId : sourceId.substring(0, separator);
+	}
+
+	private static void resourceChanged(IResourceChangeEvent event) {
+		if (event.getType() != IResourceChangeEvent.POST_CHANGE) {
+			// the project is closed or deleted
+			IResource project = event.getResource();
+			UNMATCHED_LINES.keySet().removeIf(resource -> project.equals(resource.getProject()));
+			return;
+		}
+		IResourceDelta delta = event.getDelta();
+		if (delta == null || UNMATCHED_LINES.isEmpty()) {
+			return;
+		}
+		for (IResource resource : UNMATCHED_LINES.keySet()) {
+			IResourceDelta resourceDelta = delta.findMember(resource.getFullPath());
+			if (resourceDelta != null && resourceDelta.getKind() == IResourceDelta.REMOVED) {
+				UNMATCHED_LINES.remove(resource);
+			}
+		}
+	}
+}
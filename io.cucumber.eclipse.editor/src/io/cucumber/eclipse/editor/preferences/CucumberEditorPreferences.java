@@ -39,6 +39,10 @@ public final record CucumberEditorPreferences(IPreferenceStore store, IEclipsePr
 	static final String PREF_SHOW_RUN_SHORTCUT_PREFIX = Activator.PLUGIN_ID + ".show_run_shortcut_";
 	static final String PREF_VALIDATION_TIMEOUT = Activator.PLUGIN_ID + ".validation_timeout";
 	public static final int DEFAULT_VALIDATION_TIMEOUT = 500;
+	static final String PREF_VALIDATION_PARALLELISM = Activator.PLUGIN_ID + ".validation_parallelism";
+	public static final int DEFAULT_VALIDATION_PARALLELISM = Math.max(1,
+			Runtime.getRuntime().availableProcessors() / 2);
+	public static final int MAX_VALIDATION_PARALLELISM = 64;
 
 	/**
 	 * Creates a preferences instance using workspace settings only.
@@ -140,4 +144,32 @@ public final record CucumberEditorPreferences(IPreferenceStore store, IEclipsePr
 	public static void setValidationTimeout(IPreferenceStore store, int timeout) {
 		store.setValue(PREF_VALIDATION_TIMEOUT, timeout);
 	}
+
+	/**
+	 * Gets the maximum number of threads used to validate documents and glue
+	 * code concurrently.
+	 * <p>
+	 * This is a workspace wide setting as all validation jobs share the same
+	 * pool, project-specific settings are not considered.
+	 * </p>
+	 * 
+	 * @return the validation parallelism, at least one
+	 */
+	public int getValidationParallelism() {
+		int parallelism = store.getInt(PREF_VALIDATION_PARALLELISM);
+		if (parallelism <= 0) {
+			return DEFAULT_VALIDATION_PARALLELISM;
+		}
+		return Math.min(parallelism, MAX_VALIDATION_PARALLELISM);
+	}
+
+	/**
+	 * Sets the workspace preference for validation parallelism.
+	 * 
+	 * @param store       the preference store to update
+	 * @param parallelism the maximum number of concurrent validation threads
+	 */
+	public static void setValidationParallelism(IPreferenceStore store, int parallelism) {
+		store.setValue(PREF_VALIDATION_PARALLELISM, parallelism);
+	}
 }
@@ -16,6 +16,8 @@ public class CucumberPreferenceInitializer extends AbstractPreferenceInitializer
 		}
 		store.setDefault(CucumberEditorPreferences.PREF_VALIDATION_TIMEOUT, 
 				CucumberEditorPreferences.DEFAULT_VALIDATION_TIMEOUT);
+		store.setDefault(CucumberEditorPreferences.PREF_VALIDATION_PARALLELISM,
+				CucumberEditorPreferences.DEFAULT_VALIDATION_PARALLELISM);
 	}
 
 }
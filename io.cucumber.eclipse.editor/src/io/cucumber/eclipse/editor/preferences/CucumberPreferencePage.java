@@ -44,6 +44,14 @@ public class CucumberPreferencePage extends FieldEditorPreferencePage implements
 		timeoutEditor.setValidRange(100, 10000);
 		timeoutEditor.setTextLimit(5);
 		addField(timeoutEditor);
+
+		IntegerFieldEditor parallelismEditor = new IntegerFieldEditor(
+				CucumberEditorPreferences.PREF_VALIDATION_PARALLELISM,
+				"Maximum parallel validation threads:",
+				parent);
+		parallelismEditor.setValidRange(1, CucumberEditorPreferences.MAX_VALIDATION_PARALLELISM);
+		parallelismEditor.setTextLimit(2);
+		addField(parallelismEditor);
 	}
 
 	public static String getLabelForMode(Mode mode) {
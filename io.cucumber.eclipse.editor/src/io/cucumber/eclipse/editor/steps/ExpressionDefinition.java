@@ -1,11 +1,15 @@
 package io.cucumber.eclipse.editor.steps;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 import io.cucumber.cucumberexpressions.CucumberExpressionParserSupport;
 import io.cucumber.cucumberexpressions.CucumberExpressionParserSupport.VariableReplacement;
+import io.cucumber.cucumberexpressions.Expression;
 import io.cucumber.cucumberexpressions.ExpressionFactory;
 import io.cucumber.cucumberexpressions.ParameterTypeRegistry;
 
@@ -19,9 +23,30 @@ public final class ExpressionDefinition {
 
 	private static final Map<Locale, ExpressionFactory> EXPRESSION_FACTORY_MAP = new ConcurrentHashMap<>();
 
+	private static final int MAX_COMPILED_EXPRESSIONS = 10_000;
+
+	/**
+	 * Expressions compiled for {@link #matchIgnoreTypes(String, Locale)} in least
+	 * recently used order, an empty optional marks an expression that can't be
+	 * compiled
+	 */
+	private static final Map<CompiledKey, Optional<Expression>> COMPILED_EXPRESSIONS = Collections
+			.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<CompiledKey, Optional<Expression>> eldest) {
+					return size() > MAX_COMPILED_EXPRESSIONS;
+				}
+			});
+
 	private final String text;
 	private final String lang;
 
+	private volatile String textWithoutVariables;
+	private volatile String literalPrefix;
+
 	public ExpressionDefinition(String text) {
 		this(text, "");
 	}
@@ -55,22 +80,57 @@ public final class ExpressionDefinition {
 	 *         otherwise
 	 */
 	public boolean matchIgnoreTypes(String text, Locale locale) {
+		Optional<Expression> expression = compileIgnoreTypes(locale);
+		if (expression.isEmpty()) {
+			return false;
+		}
 		try {
-			return EXPRESSION_FACTORY_MAP
-					.computeIfAbsent(locale, l -> new ExpressionFactory(new ParameterTypeRegistry(l)))
-					.createExpression(
-							CucumberExpressionParserSupport.replaceVariables(getText(), VariableReplacement.MATCH_ALL))
-					.match(text) != null;
+			return expression.get().match(text) != null;
 		} catch (RuntimeException e) {
 			return false;
 		}
 	}
 
+	private Optional<Expression> compileIgnoreTypes(Locale locale) {
+		CompiledKey key = new CompiledKey(text, locale);
+		Optional<Expression> compiled = COMPILED_EXPRESSIONS.get(key);
+		if (compiled == null) {
+			try {
+				compiled = Optional.of(EXPRESSION_FACTORY_MAP
+						.computeIfAbsent(locale, l -> new ExpressionFactory(new ParameterTypeRegistry(l)))
+						.createExpression(
+								CucumberExpressionParserSupport.replaceVariables(text, VariableReplacement.MATCH_ALL)));
+			} catch (RuntimeException e) {
+				compiled = Optional.empty();
+			}
+			COMPILED_EXPRESSIONS.put(key, compiled);
+		}
+		return compiled;
+	}
+
 	/**
 	 * @return the expression text but with all variables replaced
 	 */
 	public String getTextWithoutVariables() {
-		return CucumberExpressionParserSupport.replaceVariables(getText(), VariableReplacement.DELETE);
+		String result = textWithoutVariables;
+		if (result == null) {
+			result = CucumberExpressionParserSupport.replaceVariables(getText(), VariableReplacement.DELETE);
+			textWithoutVariables = result;
+		}
+		return result;
+	}
+
+	/**
+	 * @return the literal text every step matched by this expression must start
+	 *         with, might be empty
+	 */
+	public String getLiteralPrefix() {
+		String result = literalPrefix;
+		if (result == null) {
+			result = CucumberExpressionParserSupport.getLiteralPrefix(getText());
+			literalPrefix = result;
+		}
+		return result;
 	}
 
 	@Override
@@ -109,4 +169,7 @@ public final class ExpressionDefinition {
 		return true;
 	}
 
+	private record CompiledKey(String text, Locale locale) {
+	}
+
 }
@@ -0,0 +1,82 @@
+package io.cucumber.eclipse.editor.steps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A prefix trie over the {@link ExpressionDefinition#getLiteralPrefix() literal
+ * prefixes} of a set of expressions.
+ * <p>
+ * A step text can only be matched by an expression whose literal prefix is a
+ * prefix of the text, so walking the trie along the text yields all plausible
+ * candidates without evaluating a single expression. Expressions without a
+ * literal prefix (e.g. starting with a parameter) are always candidates.
+ * </p>
+ *
+ * @param <T> the type of the indexed items
+ */
+public final class ExpressionIndex<T> {
+
+	private final Node<T> root = new Node<>();
+
+	private final int size;
+
+	/**
+	 * Creates an index over the given items
+	 *
+	 * @param items      the items to index
+	 * @param expression function to get the expression of an item
+	 */
+	public ExpressionIndex(Collection<T> items, Function<T, ExpressionDefinition> expression) {
+		for (T item : items) {
+			String prefix = expression.apply(item).getLiteralPrefix();
+			Node<T> node = root;
+			for (int i = 0; i < prefix.length(); i++) {
+				node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node<>());
+			}
+			node.items.add(item);
+		}
+		size = items.size();
+	}
+
+	/**
+	 * Finds all items that might match the given text
+	 *
+	 * @param text the text to match
+	 * @return the candidates, compared by identity
+	 */
+	public Set<T> candidates(String text) {
+		Set<T> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+		Node<T> node = root;
+		candidates.addAll(node.items);
+		for (int i = 0; i < text.length(); i++) {
+			node = node.children.get(text.charAt(i));
+			if (node == null) {
+				break;
+			}
+			candidates.addAll(node.items);
+		}
+		return candidates;
+	}
+
+	/**
+	 * @return the number of indexed items
+	 */
+	public int size() {
+		return size;
+	}
+
+	private static final class Node<T> {
+
+		private final Map<Character, Node<T>> children = new HashMap<>(4);
+
+		private final List<T> items = new ArrayList<>(1);
+	}
+}
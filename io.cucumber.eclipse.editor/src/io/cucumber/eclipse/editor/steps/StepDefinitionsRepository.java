@@ -1,11 +1,14 @@
 package io.cucumber.eclipse.editor.steps;
 
-import java.io.Externalizable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.ObjectInput;
-import java.io.ObjectOutput;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -28,12 +31,20 @@ import io.cucumber.eclipse.editor.StorageHelper;
  * definitions.
  * 
  * 
+ * The repository is stored in a versioned binary format: a header, a table of
+ * all strings (so repeated package and source names are only stored once) and
+ * one length prefixed block per resource, that allows to skip the steps of
+ * resources that do no longer exist.
+ * 
  * @author qvdk
  *
  */
-public class StepDefinitionsRepository implements Externalizable {
+public class StepDefinitionsRepository {
+
+	private static final int MAGIC = 0x43535444;
+
+	private static final int FORMAT_VERSION = 1;
 
-	private static final long serialVersionUID = -5426643465030832989L;
 	private final Map<IResource, Set<StepDefinition>> stepDefinitionsByResourceName = new HashMap<IResource, Set<StepDefinition>>();
 	public synchronized void add(IResource stepDefinitionsFile, Set<StepDefinition> steps) {
 		if (steps.isEmpty()) {
@@ -70,41 +81,84 @@ public class StepDefinitionsRepository implements Externalizable {
 	}
 
 
-	@Override
-	public synchronized void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-		stepDefinitionsByResourceName.clear();
+	/**
+	 * Reads a repository written by {@link #write(OutputStream)}
+	 * 
+	 * @param stream the stream to read from
+	 * @return the repository, or an empty one if the stream was written in a
+	 *         different format
+	 * @throws IOException if reading fails or the content is corrupted
+	 */
+	public static StepDefinitionsRepository read(InputStream stream) throws IOException {
+		StepDefinitionsRepository repository = new StepDefinitionsRepository();
+		DataInputStream in = new DataInputStream(stream);
+		if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+			return repository;
+		}
+		String[] strings = new String[in.readInt()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = in.readUTF();
+		}
 		int size = in.readInt();
 		for (int i = 0; i < size; i++) {
-			String key = (String) in.readObject();
-			IResource resource = ResourceHelper.find(key);
+			int length = in.readInt();
+			String path = strings[in.readInt()];
+			IResource resource = ResourceHelper.find(path);
+			// only add data for existing resources, the sources of the steps are
+			// resolved once they are accessed
+			if (resource == null) {
+				in.skipNBytes(length - Integer.BYTES);
+				continue;
+			}
 			int childSize = in.readInt();
 			Set<StepDefinition> steps = new HashSet<>();
 			for (int j = 0; j < childSize; j++) {
-				StepDefinition step = StorageHelper.readStepDefinition(in);
-				if (step != null) {
-					steps.add(step);
-				}
+				steps.add(StorageHelper.readStepDefinition(in, strings,
+						source -> path.equals(source) ? resource : ResourceHelper.find(source)));
 			}
-			// only add data for existing resources...
-			if (resource != null && !steps.isEmpty()) {
-				stepDefinitionsByResourceName.put(resource, steps);
+			if (!steps.isEmpty()) {
+				repository.stepDefinitionsByResourceName.put(resource, steps);
 			}
 		}
+		return repository;
 	}
 
-	@Override
-	public synchronized void writeExternal(ObjectOutput out) throws IOException {
+	/**
+	 * Writes this repository to the given stream
+	 * 
+	 * @param stream the stream to write to
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void write(OutputStream stream) throws IOException {
+		Map<String, Integer> strings = new LinkedHashMap<>();
+		for (Entry<IResource, Set<StepDefinition>> entry : stepDefinitionsByResourceName.entrySet()) {
+			strings.putIfAbsent(entry.getKey().getFullPath().toString(), strings.size());
+			for (StepDefinition stepDefinition : entry.getValue()) {
+				StorageHelper.collectStrings(stepDefinition, strings);
+			}
+		}
+		DataOutputStream out = new DataOutputStream(stream);
+		out.writeInt(MAGIC);
+		out.writeInt(FORMAT_VERSION);
+		out.writeInt(strings.size());
+		for (String string : strings.keySet()) {
+			out.writeUTF(string);
+		}
 		out.writeInt(stepDefinitionsByResourceName.size());
+		ByteArrayOutputStream block = new ByteArrayOutputStream();
+		DataOutputStream blockOut = new DataOutputStream(block);
 		for (Entry<IResource, Set<StepDefinition>> entry : stepDefinitionsByResourceName.entrySet()) {
-			out.writeObject(entry.getKey().getFullPath().toString());
+			block.reset();
+			blockOut.writeInt(strings.get(entry.getKey().getFullPath().toString()));
 			Set<StepDefinition> value = entry.getValue();
-			out.writeInt(value.size());
+			blockOut.writeInt(value.size());
 			for (StepDefinition stepDefinition : value) {
-				StorageHelper.writeStepDefinition(stepDefinition, out);
+				StorageHelper.writeStepDefinition(stepDefinition, blockOut, strings);
 			}
+			out.writeInt(block.size());
+			block.writeTo(out);
 		}
-
+		out.flush();
 	}
 
-
 }
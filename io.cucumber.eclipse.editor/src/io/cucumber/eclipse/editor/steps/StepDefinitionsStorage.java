@@ -1,5 +1,6 @@
 package io.cucumber.eclipse.editor.steps;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -12,10 +13,8 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 
-import io.cucumber.eclipse.editor.Activator;
 import io.cucumber.eclipse.editor.BuildStorage;
 import io.cucumber.eclipse.editor.EditorLogging;
 import io.cucumber.eclipse.editor.StorageHelper;
@@ -57,14 +56,8 @@ public class StepDefinitionsStorage implements BuildStorage<StepDefinitionsRepos
 	public void persist(IProject project, IProgressMonitor monitor) throws CoreException {
 		SubMonitor subMonitor = SubMonitor.convert(monitor, "Persiting step definitions", 100);
 		StepDefinitionsRepository stepDefinitionsRepository = this.getOrCreate(project, subMonitor.newChild(10));
-		try {
-			try (InputStream inputStream = StorageHelper.toStream(stepDefinitionsRepository, subMonitor.newChild(80))) {
-				StorageHelper.saveIntoBuildDirectory(BUILD_FILE, project, subMonitor.newChild(10), inputStream);
-			}
-		} catch (IOException e) {
-			throw new CoreException(new Status(Status.ERROR, Activator.PLUGIN_ID, e.getMessage(), e));
-		}
-
+		StorageHelper.saveIntoBuildDirectory(BUILD_FILE, project, subMonitor.newChild(90),
+				stepDefinitionsRepository::write);
 	}
 
 	@Override
@@ -78,10 +71,8 @@ public class StepDefinitionsStorage implements BuildStorage<StepDefinitionsRepos
 			return;
 		}
 		try {
-			try (InputStream inputStream = buildFile.getContents()) {
-				StepDefinitionsRepository repository = StorageHelper.fromStream(StepDefinitionsRepository.class,
-						inputStream, monitor);
-				this.add(project, repository);
+			try (InputStream inputStream = new BufferedInputStream(buildFile.getContents())) {
+				this.add(project, StepDefinitionsRepository.read(inputStream));
 			}
 		} catch (RuntimeException e) {
 			EditorLogging.error("loading StepDefinitionStore failed, a full rebuild of the project might be required", e);
@@ -89,9 +80,6 @@ public class StepDefinitionsStorage implements BuildStorage<StepDefinitionsRepos
 		} catch (IOException e) {
 			EditorLogging.error("loading StepDefinitionStore failed, a full rebuild of the project might be required", e);
 			this.add(project, new StepDefinitionsRepository());
-		} catch (ClassNotFoundException e) {
-			EditorLogging.error("loading StepDefinitionStore failed, a full rebuild of the project might be required", e);
-			this.add(project, new StepDefinitionsRepository());
 		}
 	}
 
@@ -4,37 +4,19 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.text.IDocument;
 
+/**
+ * Collects validation requests while it is open, they are handed to the
+ * validation jobs of their projects once the last reference is closed.
+ */
 public abstract class BatchUpdater implements AutoCloseable {
 
 	int references;
 	Set<IDocument> documents = new LinkedHashSet<>();
 	Set<IResource> resources = new LinkedHashSet<>();
-	private final BatchVerificationJob previousJob;
 
-	BatchUpdater(BatchVerificationJob previousJob) {
-		this.previousJob = previousJob;
-	}
-
-	void checkForCancel() {
-		if (previousJob == null) {
-			return;
-		}
-		BatchUpdater updater = previousJob.getUpdater();
-		if (documents.containsAll(updater.documents) && resources.containsAll(updater.resources)) {
-			// We have already everything here (and maybe more) to update so we can cancel
-			// the previous job
-			previousJob.cancel();
-		}
-	}
-
-	void join(IProgressMonitor monitor) throws InterruptedException {
-		if (previousJob == null) {
-			return;
-		}
-		previousJob.join(0, monitor);
+	BatchUpdater() {
 	}
 
 	@Override
@@ -0,0 +1,203 @@
+package io.cucumber.eclipse.editor.validation;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.IDocument;
+
+import io.cucumber.eclipse.editor.Tracing;
+import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
+
+/**
+ * Verification job that coalesces the validation requests of a project.
+ * <p>
+ * Documents and resources are only added to the pending set, the job itself is
+ * debounced like a per-document job would be. Every request that arrives
+ * before the job starts is validated in the same run, so a change to many
+ * documents at once (e.g. a refactoring or search and replace) results in a
+ * single multi-document glue validation instead of one per document. Requests
+ * that arrive while the job is running are collected for the next run.
+ * </p>
+ * <p>
+ * This works like a {@link BatchUpdater} that is opened by the first request
+ * and closed when the debounce period has elapsed.
+ * </p>
+ * <p>
+ * There is one job per project and {@link ValidationPriority}, when a job for
+ * the active or a visible editor starts it preempts running jobs of a lower
+ * priority, these put their documents back and resume after a short delay. A
+ * job that would be preempted does not start while such a job is running.
+ * </p>
+ */
+class CoalescingVerificationJob extends VerificationJob {
+
+	private static final long RESUME_DELAY = 1000;
+
+	private static final Set<CoalescingVerificationJob> RUNNING = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * number of pending documents and resources over all jobs
+	 */
+	private static final AtomicInteger QUEUE_DEPTH = new AtomicInteger();
+
+	private final IProject project;
+
+	private final ValidationPriority priority;
+
+	private final Set<IDocument> documents = new LinkedHashSet<>();
+
+	private final Set<IResource> resources = new LinkedHashSet<>();
+
+	private List<IDocument> runningDocuments = List.of();
+
+	private List<IResource> runningResources = List.of();
+
+	private long firstRequest;
+
+	private volatile boolean preempted;
+
+	/**
+	 * Creates a new coalescing job for the given project
+	 *
+	 * @param project  the project whose documents are validated by this job
+	 * @param priority the priority of the documents validated by this job
+	 */
+	CoalescingVerificationJob(IProject project, ValidationPriority priority) {
+		super("Features of " + project.getName());
+		this.project = project;
+		this.priority = priority;
+		setPriority(priority.getJobPriority());
+	}
+
+	ValidationPriority getValidationPriority() {
+		return priority;
+	}
+
+	synchronized void add(IDocument document) {
+		if (documents.add(document)) {
+			queued(1);
+		}
+	}
+
+	synchronized void add(IResource resource) {
+		if (resources.add(resource)) {
+			queued(1);
+		}
+	}
+
+	synchronized void remove(IDocument document) {
+		if (documents.remove(document)) {
+			QUEUE_DEPTH.decrementAndGet();
+		}
+	}
+
+	synchronized void remove(IResource resource) {
+		if (resources.remove(resource)) {
+			QUEUE_DEPTH.decrementAndGet();
+		}
+	}
+
+	private void queued(int count) {
+		if (firstRequest == 0) {
+			firstRequest = System.nanoTime();
+		}
+		QUEUE_DEPTH.addAndGet(count);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		for (CoalescingVerificationJob running : RUNNING) {
+			if (running.priority.preempts(priority)) {
+				// the pending requests stay queued until the editors are done
+				schedule(RESUME_DELAY);
+				return Status.OK_STATUS;
+			}
+		}
+		preempted = false;
+		RUNNING.add(this);
+		try {
+			for (CoalescingVerificationJob running : RUNNING) {
+				if (priority.preempts(running.priority)) {
+					running.preempt(this);
+				}
+			}
+			IStatus status = super.run(monitor);
+			if (preempted) {
+				resume();
+			}
+			return status;
+		} finally {
+			RUNNING.remove(this);
+			synchronized (this) {
+				runningDocuments = List.of();
+				runningResources = List.of();
+			}
+		}
+	}
+
+	private void preempt(CoalescingVerificationJob by) {
+		preempted = true;
+		cancel();
+		if (Tracing.PERF) {
+			Tracing.get().trace(Tracing.PERFORMANCE,
+					getName() + " [" + priority + "]: preempted by " + by.getName() + " [" + by.priority + "]");
+		}
+	}
+
+	/**
+	 * Puts the documents of a preempted run back and schedules the job again
+	 */
+	private void resume() {
+		synchronized (this) {
+			runningDocuments.forEach(this::add);
+			runningResources.forEach(this::add);
+		}
+		schedule(RESUME_DELAY);
+	}
+
+	/**
+	 * Takes all pending requests, they are removed from this job
+	 */
+	@Override
+	protected Collection<GherkinEditorDocument> getEditorDocuments() {
+		List<IDocument> pendingDocuments;
+		List<IResource> pendingResources;
+		long waited;
+		synchronized (this) {
+			pendingDocuments = List.copyOf(documents);
+			pendingResources = List.copyOf(resources);
+			documents.clear();
+			resources.clear();
+			runningDocuments = pendingDocuments;
+			runningResources = pendingResources;
+			waited = firstRequest == 0 ? 0 : System.nanoTime() - firstRequest;
+			firstRequest = 0;
+		}
+		int depth = QUEUE_DEPTH.addAndGet(-(pendingDocuments.size() + pendingResources.size()));
+		Collection<GherkinEditorDocument> editorDocuments = collectEditorDocuments(pendingDocuments,
+				pendingResources);
+		if (Tracing.PERF) {
+			Tracing.get().trace(Tracing.PERFORMANCE,
+					getName() + " [" + priority + "]: coalesced " + pendingDocuments.size() + " editor doc(s) and "
+							+ pendingResources.size() + " background doc(s) into " + editorDocuments.size()
+							+ " document(s) after waiting " + (waited / 1_000_000) + "ms, " + depth
+							+ " request(s) still queued");
+		}
+		return editorDocuments;
+	}
+
+	@Override
+	public boolean matches(IProject project) {
+		return this.project == project;
+	}
+
+}
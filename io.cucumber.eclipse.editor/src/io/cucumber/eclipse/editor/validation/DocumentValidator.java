@@ -7,16 +7,19 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.OperationCanceledException;
-import org.eclipse.core.runtime.jobs.IJobChangeEvent;
-import org.eclipse.core.runtime.jobs.IJobChangeListener;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.text.IDocument;
 
+import io.cucumber.eclipse.editor.EditorLogging;
+import io.cucumber.eclipse.editor.ResourceHelper;
 import io.cucumber.eclipse.editor.Tracing;
+import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
 import io.cucumber.eclipse.editor.document.GherkinEditorDocumentManager;
 import io.cucumber.eclipse.editor.document.IGherkinDocumentListener;
 import io.cucumber.eclipse.editor.preferences.CucumberEditorPreferences;
@@ -70,6 +73,13 @@ public class DocumentValidator implements IGherkinDocumentListener {
 	 */
 	private static final ConcurrentMap<IResource, VerificationJob> resourceDocuments = new ConcurrentHashMap<>();
 
+	/**
+	 * Pending validation requests are coalesced per project and priority, so all
+	 * documents that change within the debounce period are validated together
+	 * while the active and visible editors are validated first
+	 */
+	private static final ConcurrentMap<ProjectJobKey, CoalescingVerificationJob> projectJobs = new ConcurrentHashMap<>();
+
 	/**
 	 * Singleton instance of the validator.
 	 */
@@ -89,6 +99,7 @@ public class DocumentValidator implements IGherkinDocumentListener {
 	 */
 	public static void initialize() {
 		GherkinEditorDocumentManager.addDocumentListener(INSTANCE);
+		EditorVisibility.install();
 	}
 
 	/**
@@ -130,16 +141,25 @@ public class DocumentValidator implements IGherkinDocumentListener {
 			if (remove != null) {
 				remove.cancel();
 			}
+			for (ValidationPriority priority : ValidationPriority.values()) {
+				CoalescingVerificationJob projectJob = projectJobs.get(new ProjectJobKey(resource.getProject(), priority));
+				if (projectJob != null) {
+					projectJob.remove(document);
+					projectJob.remove(resource);
+				}
+			}
 		}
 	}
 
 	/**
 	 * Schedules validation for the specified document with an optional delay.
 	 * <p>
-	 * This method reuses the existing validation job for the document if one
-	 * exists, or creates a new one. If a job is already scheduled or running, it
-	 * will be canceled and rescheduled. The delay parameter allows for debouncing
-	 * to avoid excessive validation during rapid typing.
+	 * The document is added to the validation job of its project that matches the
+	 * priority of the document (see {@link ValidationPriority}), if the job is
+	 * already scheduled it is rescheduled with the new delay and if it is running
+	 * it runs again once it completes. The delay parameter allows for debouncing
+	 * to avoid excessive validation during rapid typing, all documents of the
+	 * project that change in the meantime are validated in the same run.
 	 * </p>
 	 * 
 	 * @param document the document to validate
@@ -156,7 +176,7 @@ public class DocumentValidator implements IGherkinDocumentListener {
 			if (INSTANCE.addToBatch(document)) {
 				return;
 			}
-			job.schedule(Math.max(0, delay));
+			scheduleValidation(document, job, delay);
 			return;
 		}
 		IResource resource = GherkinEditorDocumentManager.resourceForDocument(document);
@@ -171,7 +191,7 @@ public class DocumentValidator implements IGherkinDocumentListener {
 		if (INSTANCE.addToBatch(resource)) {
 			return;
 		}
-		job.schedule(Math.max(0, delay));
+		scheduleValidation(resource, job, delay);
 	}
 
 	/**
@@ -184,9 +204,28 @@ public class DocumentValidator implements IGherkinDocumentListener {
 	 * @param document the document to revalidate
 	 */
 	public static void revalidate(IDocument document) {
+		ValidationStamps.invalidate(document);
 		validate(document, 0);
 	}
 
+	/**
+	 * Schedules validation of the resource of the given document unless the
+	 * document has not changed since its last successful validation and the glue
+	 * of its project has not changed either.
+	 * 
+	 * @param document the document to validate
+	 * @return <code>true</code> if validation was scheduled, <code>false</code> if
+	 *         it was skipped
+	 */
+	public static boolean validateIfChanged(GherkinEditorDocument document) {
+		IResource resource = document.getResource();
+		if (resource == null || ValidationStamps.isUpToDate(document)) {
+			return false;
+		}
+		validate(resource, 0);
+		return true;
+	}
+
 	/**
 	 * Triggers revalidation for all currently tracked documents.
 	 * <p>
@@ -195,6 +234,7 @@ public class DocumentValidator implements IGherkinDocumentListener {
 	 * </p>
 	 */
 	public static void revalidateAllDocuments() {
+		ValidationStamps.glueChanged();
 		Set<IResource> scheduled = new HashSet<>();
 		textBufferDocuments.forEach((doc, job) -> {
 			IResource resource = GherkinEditorDocumentManager.resourceForDocument(doc);
@@ -205,7 +245,7 @@ public class DocumentValidator implements IGherkinDocumentListener {
 			if (INSTANCE.addToBatch(doc)) {
 				return;
 			}
-			scheduleValidation(resource, job);
+			scheduleValidation(doc, job, getValidationTimeout(resource));
 			scheduled.add(resource);
 		});
 		resourceDocuments.forEach((resource, job) -> {
@@ -213,14 +253,51 @@ public class DocumentValidator implements IGherkinDocumentListener {
 				if (INSTANCE.addToBatch(resource)) {
 					return;
 				}
-				scheduleValidation(resource, job);
+				scheduleValidation(resource, job, getValidationTimeout(resource));
 			}
 		});
 	}
 
-	private static void scheduleValidation(IResource resource, VerificationJob job) {
-		int timeout = CucumberEditorPreferences.of(resource).getValidationTimeout();
-		job.schedule(Math.max(0, timeout));
+	private static int getValidationTimeout(IResource resource) {
+		return CucumberEditorPreferences.of(resource).getValidationTimeout();
+	}
+
+	private static void scheduleValidation(IDocument document, VerificationJob job, int delay) {
+		IResource resource = GherkinEditorDocumentManager.resourceForDocument(document);
+		if (resource == null || resource.getProject() == null) {
+			job.schedule(Math.max(0, delay));
+			return;
+		}
+		ValidationPriority priority = ValidationPriority.of(document);
+		for (ValidationPriority other : ValidationPriority.values()) {
+			// the priority of the document might have changed since it was queued
+			CoalescingVerificationJob otherJob = other == priority ? null
+					: projectJobs.get(new ProjectJobKey(resource.getProject(), other));
+			if (otherJob != null) {
+				otherJob.remove(document);
+			}
+		}
+		CoalescingVerificationJob projectJob = getProjectJob(resource.getProject(), priority);
+		projectJob.add(document);
+		projectJob.schedule(Math.max(0, delay));
+	}
+
+	private static void scheduleValidation(IResource resource, VerificationJob job, int delay) {
+		if (resource.getProject() == null) {
+			job.schedule(Math.max(0, delay));
+			return;
+		}
+		CoalescingVerificationJob projectJob = getProjectJob(resource.getProject(), ValidationPriority.of(null));
+		projectJob.add(resource);
+		projectJob.schedule(Math.max(0, delay));
+	}
+
+	private static CoalescingVerificationJob getProjectJob(IProject project, ValidationPriority priority) {
+		return projectJobs.computeIfAbsent(new ProjectJobKey(project, priority),
+				key -> new CoalescingVerificationJob(key.project(), key.priority()));
+	}
+
+	private record ProjectJobKey(IProject project, ValidationPriority priority) {
 	}
 
 	/**
@@ -229,12 +306,16 @@ public class DocumentValidator implements IGherkinDocumentListener {
 	 * This method is useful when project-specific configuration changes affect
 	 * feature files, such as glue path changes or project setup modifications.
 	 * Ensures each resource is validated only once even if tracked both as text
-	 * buffer and resource.
+	 * buffer and resource. Besides the tracked documents all feature files of the
+	 * project are validated, a file that was never opened or built since it was
+	 * last changed would keep the markers of the old glue otherwise. The glue of
+	 * the project is considered changed, so no document is skipped as unchanged.
 	 * </p>
 	 * 
 	 * @param project the project whose documents should be revalidated
 	 */
 	public static void revalidateDocuments(IProject project) {
+		ValidationStamps.glueChanged(project);
 		int editorCount = 0;
 		int resourceCount = 0;
 		Set<IResource> scheduled = new HashSet<>();
@@ -245,12 +326,12 @@ public class DocumentValidator implements IGherkinDocumentListener {
 			if (resource == null || resource.getProject() != project) {
 				continue;
 			}
+			scheduled.add(resource);
 			if (INSTANCE.addToBatch(doc)) {
 				editorCount++;
 				continue;
 			}
-			scheduleValidation(resource, job);
-			scheduled.add(resource);
+			scheduleValidation(doc, job, getValidationTimeout(resource));
 			editorCount++;
 		}
 		for (Map.Entry<IResource, VerificationJob> e : resourceDocuments.entrySet()) {
@@ -261,10 +342,20 @@ public class DocumentValidator implements IGherkinDocumentListener {
 					resourceCount++;
 					continue;
 				}
-				scheduleValidation(resource, job);
+				scheduleValidation(resource, job, getValidationTimeout(resource));
 				resourceCount++;
 			}
 		}
+		try {
+			for (IFile file : ResourceHelper.getFeatureFilesInProject(project)) {
+				if (scheduled.add(file)) {
+					validate(file, getValidationTimeout(file));
+					resourceCount++;
+				}
+			}
+		} catch (CoreException e) {
+			EditorLogging.error("Failed to collect feature files of project: " + project.getName(), e);
+		}
 		if (Tracing.PERF) {
 			Tracing.get().trace(Tracing.PERFORMANCE, "revalidateDocuments(" + project.getName() + "): "
 					+ editorCount + " editor doc(s), " + resourceCount + " background doc(s) scheduled");
@@ -279,73 +370,37 @@ public class DocumentValidator implements IGherkinDocumentListener {
 	 * </p>
 	 */
 	public static void shutdown() {
+		EditorVisibility.uninstall();
 		textBufferDocuments.values().forEach(Job::cancel);
 		textBufferDocuments.clear();
 		resourceDocuments.values().forEach(Job::cancel);
 		resourceDocuments.clear();
+		projectJobs.values().forEach(Job::cancel);
+		projectJobs.clear();
+		ValidationExecutor.shutdown();
 	}
 
-	private synchronized void performBatchUpdate() {
-		BatchUpdater updater = this.batch;
-		if (updater == null) {
-			return;
-		}
-		updater.references--;
-		// Check if we can cancel any previous batch
-		updater.checkForCancel();
-		if (updater.references <= 0) {
-			this.batch = null;
-			if (updater.documents.isEmpty() && updater.resources.isEmpty()) {
+	private void performBatchUpdate() {
+		BatchUpdater updater;
+		synchronized (this) {
+			updater = this.batch;
+			if (updater == null) {
 				return;
 			}
-			if (updater.documents.size() + updater.resources.size() == 1) {
-				for (IDocument doc : updater.documents) {
-					validate(doc, 0);
-				}
-				for (IResource resource : updater.resources) {
-					validate(resource, 0);
-				}
+			updater.references--;
+			if (updater.references > 0) {
 				return;
 			}
-			BatchVerificationJob job = new BatchVerificationJob(updater);
-			// During a batch run in the background we collect other requests for update in
-			// another batch to prevent concurrent runs of verification. The most likely
-			// event is that the user is editing a feature file in the meanwhile, so once
-			// our batch job completes, we complete the next batch created here, what
-			// results in a single document and then the cycle ends (or we trigger a new
-			// batch verification if more things have been changed.
-			BatchUpdater nextBatch = getBatch(job);
-			job.addJobChangeListener(new IJobChangeListener() {
-
-				@Override
-				public void sleeping(IJobChangeEvent event) {
-				}
-
-				@Override
-				public void scheduled(IJobChangeEvent event) {
-				}
-
-				@Override
-				public void running(IJobChangeEvent event) {
-				}
-
-				@Override
-				public void done(IJobChangeEvent event) {
-					nextBatch.close();
-
-				}
-
-				@Override
-				public void awake(IJobChangeEvent event) {
-				}
-
-				@Override
-				public void aboutToRun(IJobChangeEvent event) {
-				}
-			});
-			job.schedule();
-		} else {
-
+			this.batch = null;
+		}
+		// the collected requests go through the jobs of their project and priority
+		// like any other request, they validate everything that arrives before they
+		// start in a single run and the active and visible editors still go first
+		for (IDocument doc : updater.documents) {
+			validate(doc, 0);
+		}
+		for (IResource resource : updater.resources) {
+			validate(resource, 0);
 		}
 	}
 
@@ -366,12 +421,12 @@ public class DocumentValidator implements IGherkinDocumentListener {
 	}
 
 	public static BatchUpdater batch() {
-		return INSTANCE.getBatch(null);
+		return INSTANCE.getBatch();
 	}
 
-	private synchronized BatchUpdater getBatch(BatchVerificationJob job) {
+	private synchronized BatchUpdater getBatch() {
 		if (batch == null) {
-			return batch = new BatchUpdater(job) {
+			return batch = new BatchUpdater() {
 
 				@Override
 				public void close() {
@@ -0,0 +1,195 @@
+package io.cucumber.eclipse.editor.validation;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.texteditor.IDocumentProvider;
+import org.eclipse.ui.texteditor.ITextEditor;
+
+/**
+ * Tracks which documents are shown in the active and in visible editors, so
+ * validation work can be prioritized from any thread without accessing the
+ * workbench.
+ */
+final class EditorVisibility {
+
+	private static final Listener LISTENER = new Listener();
+
+	private static volatile IDocument activeDocument;
+
+	private static volatile Set<IDocument> visibleDocuments = Set.of();
+
+	private static boolean installed;
+
+	private EditorVisibility() {
+	}
+
+	/**
+	 * @param document a text buffer document
+	 * @return the priority of the document depending on its editor
+	 */
+	static ValidationPriority getPriority(IDocument document) {
+		if (document == activeDocument) {
+			return ValidationPriority.ACTIVE_EDITOR;
+		}
+		if (visibleDocuments.contains(document)) {
+			return ValidationPriority.VISIBLE_EDITOR;
+		}
+		return ValidationPriority.OPEN_BUFFER;
+	}
+
+	/**
+	 * Starts tracking the editors of all workbench windows
+	 */
+	static synchronized void install() {
+		if (installed || !PlatformUI.isWorkbenchRunning()) {
+			return;
+		}
+		installed = true;
+		IWorkbench workbench = PlatformUI.getWorkbench();
+		workbench.getDisplay().asyncExec(() -> {
+			if (workbench.isClosing()) {
+				return;
+			}
+			workbench.addWindowListener(LISTENER);
+			for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+				window.getPartService().addPartListener(LISTENER);
+			}
+			update();
+		});
+	}
+
+	/**
+	 * Stops tracking the editors
+	 */
+	static synchronized void uninstall() {
+		if (!installed) {
+			return;
+		}
+		installed = false;
+		activeDocument = null;
+		visibleDocuments = Set.of();
+		if (!PlatformUI.isWorkbenchRunning()) {
+			return;
+		}
+		IWorkbench workbench = PlatformUI.getWorkbench();
+		workbench.getDisplay().asyncExec(() -> {
+			workbench.removeWindowListener(LISTENER);
+			for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+				window.getPartService().removePartListener(LISTENER);
+			}
+		});
+	}
+
+	/**
+	 * Recomputes the active and visible documents, must be called from the UI
+	 * thread
+	 */
+	private static void update() {
+		IWorkbench workbench = PlatformUI.getWorkbench();
+		IWorkbenchWindow activeWindow = workbench.getActiveWorkbenchWindow();
+		IDocument active = null;
+		Set<IDocument> visible = new HashSet<>();
+		for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+			for (IWorkbenchPage page : window.getPages()) {
+				for (IEditorReference editorRef : page.getEditorReferences()) {
+					IEditorPart editor = editorRef.getEditor(false);
+					if (editor != null && page.isPartVisible(editor)) {
+						IDocument document = getDocument(editor);
+						if (document != null) {
+							visible.add(document);
+						}
+					}
+				}
+				if (window == activeWindow && page == window.getActivePage()) {
+					IEditorPart editor = page.getActiveEditor();
+					if (editor != null) {
+						active = getDocument(editor);
+					}
+				}
+			}
+		}
+		visibleDocuments = Set.copyOf(visible);
+		activeDocument = active;
+	}
+
+	private static IDocument getDocument(IEditorPart editor) {
+		if (editor instanceof ITextEditor textEditor) {
+			IDocumentProvider documentProvider = textEditor.getDocumentProvider();
+			if (documentProvider != null) {
+				return documentProvider.getDocument(editor.getEditorInput());
+			}
+		}
+		return null;
+	}
+
+	private static final class Listener implements IPartListener2, IWindowListener {
+
+		@Override
+		public void partActivated(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partBroughtToTop(IWorkbenchPartReference partRef) {
+		}
+
+		@Override
+		public void partClosed(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partDeactivated(IWorkbenchPartReference partRef) {
+		}
+
+		@Override
+		public void partOpened(IWorkbenchPartReference partRef) {
+		}
+
+		@Override
+		public void partHidden(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partVisible(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partInputChanged(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void windowActivated(IWorkbenchWindow window) {
+			update();
+		}
+
+		@Override
+		public void windowDeactivated(IWorkbenchWindow window) {
+		}
+
+		@Override
+		public void windowClosed(IWorkbenchWindow window) {
+			window.getPartService().removePartListener(this);
+			update();
+		}
+
+		@Override
+		public void windowOpened(IWorkbenchWindow window) {
+			window.getPartService().addPartListener(this);
+		}
+	}
+}
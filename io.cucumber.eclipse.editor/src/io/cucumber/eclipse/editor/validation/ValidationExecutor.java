@@ -0,0 +1,160 @@
+package io.cucumber.eclipse.editor.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import io.cucumber.eclipse.editor.EditorLogging;
+import io.cucumber.eclipse.editor.Tracing;
+import io.cucumber.eclipse.editor.marker.MarkerBatch;
+import io.cucumber.eclipse.editor.preferences.CucumberEditorPreferences;
+
+/**
+ * Fans out independent validation work over a bounded {@link ForkJoinPool}.
+ * <p>
+ * The parallelism is controlled by
+ * {@link CucumberEditorPreferences#getValidationParallelism()}, a value of one
+ * (or a single work item) runs everything in the calling thread just like
+ * before. Callers must make sure the work items are independent, writes to the
+ * markers of a resource are serialized by the
+ * {@link io.cucumber.eclipse.editor.marker.MarkerFactory} itself and the
+ * {@link MarkerBatch} of the calling thread is shared with the workers.
+ * </p>
+ */
+public final class ValidationExecutor {
+
+	private static ForkJoinPool pool;
+
+	private ValidationExecutor() {
+	}
+
+	/**
+	 * Performs the given action for each item, possibly concurrently, and waits
+	 * until all items are processed. Items are skipped once the monitor is
+	 * canceled.
+	 *
+	 * @param <T>     type of the items
+	 * @param items   the items to process
+	 * @param monitor the monitor to check for cancellation
+	 * @param action  the action to perform, it must not use the monitor for
+	 *                progress reporting, use {@link #concurrent(IProgressMonitor)}
+	 *                instead
+	 */
+	public static <T> void forEach(Collection<T> items, IProgressMonitor monitor, Consumer<T> action) {
+		ForkJoinPool executor = items.size() > 1 ? getPool() : null;
+		if (executor == null || ForkJoinTask.inForkJoinPool()) {
+			for (T item : items) {
+				if (monitor.isCanceled()) {
+					return;
+				}
+				run(item, action);
+			}
+			return;
+		}
+		if (Tracing.PERF) {
+			Tracing.get().trace(Tracing.PERFORMANCE, "ValidationExecutor: processing " + items.size()
+					+ " item(s) with parallelism " + executor.getParallelism());
+		}
+		// marker updates of the workers must end up in the batch of the caller
+		MarkerBatch batch = MarkerBatch.current();
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(items.size());
+		for (T item : items) {
+			tasks.add(submit(executor, () -> MarkerBatch.runIn(batch, () -> {
+				if (!monitor.isCanceled()) {
+					run(item, action);
+				}
+			})));
+		}
+		for (ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+	}
+
+	/**
+	 * Wraps the given monitor so it can be shared by concurrently running work
+	 * items, only cancellation is forwarded as progress monitors are not thread
+	 * safe.
+	 *
+	 * @param monitor the monitor to wrap
+	 * @return a monitor safe to be used from multiple threads
+	 */
+	public static IProgressMonitor concurrent(IProgressMonitor monitor) {
+		return new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return monitor.isCanceled();
+			}
+
+			@Override
+			public void setCanceled(boolean cancelled) {
+				monitor.setCanceled(cancelled);
+			}
+		};
+	}
+
+	/**
+	 * Shuts down the pool, should be called when the bundle is stopped.
+	 */
+	static synchronized void shutdown() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Submits the task to the given pool, if the pool was shut down in the meantime
+	 * (because the parallelism was changed or the bundle is stopped) the task goes
+	 * to the current pool or runs in the calling thread if there is none.
+	 */
+	private static ForkJoinTask<?> submit(ForkJoinPool executor, Runnable task) {
+		try {
+			return executor.submit(task);
+		} catch (RejectedExecutionException e) {
+			ForkJoinPool current = getPool();
+			if (current != null && current != executor) {
+				return submit(current, task);
+			}
+			ForkJoinTask<?> inline = ForkJoinTask.adapt(task);
+			inline.invoke();
+			return inline;
+		}
+	}
+
+	private static <T> void run(T item, Consumer<T> action) {
+		try {
+			action.accept(item);
+		} catch (RuntimeException e) {
+			EditorLogging.error("Validation of " + item + " failed", e);
+		}
+	}
+
+	private static synchronized ForkJoinPool getPool() {
+		int parallelism = CucumberEditorPreferences.of().getValidationParallelism();
+		if (parallelism <= 1) {
+			return null;
+		}
+		if (pool == null || pool.getParallelism() != parallelism) {
+			if (pool != null) {
+				// queued tasks still complete, callers that still submit to the old
+				// pool are moved to the new one (see submit)
+				pool.shutdown();
+			}
+			pool = new ForkJoinPool(parallelism, p -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+				thread.setName("Cucumber Validation Worker-" + thread.getPoolIndex());
+				thread.setDaemon(true);
+				return thread;
+			}, null, false);
+		}
+		return pool;
+	}
+}
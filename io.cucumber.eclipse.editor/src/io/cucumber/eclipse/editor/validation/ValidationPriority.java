@@ -0,0 +1,61 @@
+package io.cucumber.eclipse.editor.validation;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.text.IDocument;
+
+/**
+ * The priority of validation work, in descending order. Each priority is mapped
+ * to a {@link Job} priority, so waiting work of a higher priority is started
+ * first, and running work of a lower priority is preempted by the active and
+ * visible editors.
+ */
+enum ValidationPriority {
+
+	/**
+	 * the document of the active editor
+	 */
+	ACTIVE_EDITOR(Job.INTERACTIVE),
+	/**
+	 * documents of editors that are visible but not active
+	 */
+	VISIBLE_EDITOR(Job.SHORT),
+	/**
+	 * documents of editors that are open but hidden
+	 */
+	OPEN_BUFFER(Job.LONG),
+	/**
+	 * documents that are only tracked as resources
+	 */
+	BACKGROUND(Job.DECORATE);
+
+	private final int jobPriority;
+
+	ValidationPriority(int jobPriority) {
+		this.jobPriority = jobPriority;
+	}
+
+	int getJobPriority() {
+		return jobPriority;
+	}
+
+	/**
+	 * @param other the priority of running work
+	 * @return <code>true</code> if work of this priority should preempt the other
+	 *         work
+	 */
+	boolean preempts(ValidationPriority other) {
+		return compareTo(VISIBLE_EDITOR) <= 0 && compareTo(other) < 0;
+	}
+
+	/**
+	 * @param document the text buffer document to validate, or <code>null</code>
+	 *                 for a resource
+	 * @return the priority to validate the document with
+	 */
+	static ValidationPriority of(IDocument document) {
+		if (document == null) {
+			return BACKGROUND;
+		}
+		return EditorVisibility.getPriority(document);
+	}
+}
@@ -0,0 +1,99 @@
+package io.cucumber.eclipse.editor.validation;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jface.text.IDocument;
+
+import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
+
+/**
+ * Remembers the content hash and glue version of the last successful
+ * validation of each document.
+ * <p>
+ * The glue version of a project is increased whenever something outside the
+ * feature files changes that might affect the validation result (glue code,
+ * classpath, preferences), a document whose content hash and glue version both
+ * match its stamp would produce the same markers again and can be skipped.
+ * </p>
+ */
+final class ValidationStamps {
+
+	private static final Map<IDocument, Stamp> STAMPS = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private static final ConcurrentMap<IProject, AtomicLong> GLUE_VERSIONS = new ConcurrentHashMap<>();
+
+	private ValidationStamps() {
+	}
+
+	/**
+	 * Computes the current stamp of a document, must be taken before the
+	 * validation starts so glue changes during the validation are not lost
+	 *
+	 * @param document the document
+	 * @return the current stamp of the document
+	 */
+	static Stamp current(GherkinEditorDocument document) {
+		return new Stamp(document.getContentHash(), glueVersion(document.getResource()));
+	}
+
+	/**
+	 * @param document the document to check
+	 * @return <code>true</code> if the document was already validated with the
+	 *         same content and glue version
+	 */
+	static boolean isUpToDate(GherkinEditorDocument document) {
+		return current(document).equals(STAMPS.get(document.getDocument()));
+	}
+
+	/**
+	 * Records a successful validation of a document
+	 *
+	 * @param document the validated document
+	 * @param stamp    the stamp taken before the validation started
+	 */
+	static void validated(GherkinEditorDocument document, Stamp stamp) {
+		STAMPS.put(document.getDocument(), stamp);
+	}
+
+	/**
+	 * Forgets the last validation of a document, so it is validated again
+	 *
+	 * @param document the document
+	 */
+	static void invalidate(IDocument document) {
+		STAMPS.remove(document);
+	}
+
+	/**
+	 * Marks the glue of a project as changed
+	 *
+	 * @param project the project
+	 */
+	static void glueChanged(IProject project) {
+		GLUE_VERSIONS.computeIfAbsent(project, p -> new AtomicLong()).incrementAndGet();
+	}
+
+	/**
+	 * Marks the glue of all projects as changed
+	 */
+	static void glueChanged() {
+		GLUE_VERSIONS.values().forEach(AtomicLong::incrementAndGet);
+	}
+
+	private static long glueVersion(IResource resource) {
+		if (resource == null || resource.getProject() == null) {
+			return 0;
+		}
+		return GLUE_VERSIONS.computeIfAbsent(resource.getProject(), p -> new AtomicLong()).get();
+	}
+
+	record Stamp(long contentHash, long glueVersion) {
+	}
+}
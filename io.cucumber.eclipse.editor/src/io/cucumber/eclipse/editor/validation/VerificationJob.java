@@ -5,7 +5,9 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -13,12 +15,16 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.text.IDocument;
 
 import io.cucumber.eclipse.editor.CucumberServiceRegistry;
 import io.cucumber.eclipse.editor.EditorLogging;
 import io.cucumber.eclipse.editor.Tracing;
 import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
+import io.cucumber.eclipse.editor.document.GherkinEditorDocumentManager;
+import io.cucumber.eclipse.editor.marker.MarkerBatch;
 import io.cucumber.eclipse.editor.marker.MarkerFactory;
+import io.cucumber.eclipse.editor.validation.ValidationStamps.Stamp;
 import io.cucumber.messages.types.ParseError;
 
 /**
@@ -34,6 +40,11 @@ import io.cucumber.messages.types.ParseError;
  * are grouped by their applicable validators to ensure each validator only
  * processes documents it can handle.</li>
  * </ol>
+ * Both stages fan out over the {@link ValidationExecutor}, so documents and
+ * validators are processed concurrently up to the configured parallelism.
+ * Documents that have not changed since their last successful validation and
+ * whose project glue has not changed either are skipped (see
+ * {@link ValidationStamps}).
  * </p>
  * <p>
  * This job is reused for multiple validation runs on the same document. When
@@ -62,27 +73,51 @@ abstract class VerificationJob extends Job {
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
-		Collection<GherkinEditorDocument> editorDocuments = getEditorDocuments();
+		// documents with the same content and glue version as in the last successful
+		// run would produce the same markers again
+		Map<GherkinEditorDocument, Stamp> stamps = new LinkedHashMap<>();
+		int skipped = 0;
+		for (GherkinEditorDocument editorDocument : getEditorDocuments()) {
+			if (ValidationStamps.isUpToDate(editorDocument)) {
+				skipped++;
+			} else {
+				stamps.put(editorDocument, ValidationStamps.current(editorDocument));
+			}
+		}
+		Collection<GherkinEditorDocument> editorDocuments = stamps.keySet();
 		monitor.subTask("Validate " + editorDocuments.size() + " Documents");
+		boolean perf = Tracing.PERF;
 		if (editorDocuments.isEmpty()) {
+			if (perf && skipped > 0) {
+				Tracing.get().trace(Tracing.PERFORMANCE,
+						getName() + ": skipped " + skipped + " unchanged document(s)");
+			}
 			return Status.OK_STATUS;
 		}
 
-		boolean perf = Tracing.PERF;
 		long start = perf ? System.currentTimeMillis() : 0;
 		if (perf) {
 			Tracing.get().trace(Tracing.PERFORMANCE, getName() + ": starting validation of "
-					+ editorDocuments.size() + " document(s)");
+					+ editorDocuments.size() + " document(s), skipped " + skipped + " unchanged document(s)");
 		}
 
-		// Stage 1: Syntax validation
-		List<GherkinEditorDocument> validDocuments = validateSyntax(editorDocuments, monitor);
-		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
+		// all markers of this run are written at once when the batch is closed
+		List<GherkinEditorDocument> validDocuments;
+		boolean completed;
+		try (MarkerBatch batch = MarkerBatch.open()) {
+			// Stage 1: Syntax validation
+			validDocuments = validateSyntax(editorDocuments, monitor);
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+
+			// Stage 2: Glue validation
+			completed = validateGlue(validDocuments, monitor);
 		}
 
-		// Stage 2: Glue validation
-		validateGlue(validDocuments, monitor);
+		if (completed && !monitor.isCanceled()) {
+			stamps.forEach(ValidationStamps::validated);
+		}
 
 		if (perf) {
 			Tracing.get().trace(Tracing.PERFORMANCE, getName() + ": finished in "
@@ -102,27 +137,29 @@ abstract class VerificationJob extends Job {
 	 */
 	private List<GherkinEditorDocument> validateSyntax(Collection<GherkinEditorDocument> editorDocuments,
 			IProgressMonitor monitor) {
-		List<GherkinEditorDocument> validDocuments = new ArrayList<>();
-		
-		for (GherkinEditorDocument editorDocument : editorDocuments) {
-			if (monitor.isCanceled()) {
-				break;
-			}
-
+		List<GherkinEditorDocument> documents = new ArrayList<>(editorDocuments);
+		boolean[] valid = new boolean[documents.size()];
+		List<Integer> indices = IntStream.range(0, documents.size()).boxed().collect(Collectors.toList());
+		ValidationExecutor.forEach(indices, monitor, index -> {
+			GherkinEditorDocument editorDocument = documents.get(index);
 			IResource resource = editorDocument.getResource();
 			if (resource == null) {
-				continue;
+				return;
 			}
 
 			List<ParseError> syntaxErrors = editorDocument.getParseError().collect(Collectors.toList());
 			MarkerFactory.syntaxErrorOnGherkin(resource, syntaxErrors, false);
 
 			// Only pass documents with valid syntax to glue validation
-			if (syntaxErrors.isEmpty()) {
-				validDocuments.add(editorDocument);
+			valid[index] = syntaxErrors.isEmpty();
+		});
+
+		List<GherkinEditorDocument> validDocuments = new ArrayList<>();
+		for (int i = 0; i < valid.length; i++) {
+			if (valid[i]) {
+				validDocuments.add(documents.get(i));
 			}
 		}
-		
 		return validDocuments;
 	}
 
@@ -132,11 +169,13 @@ abstract class VerificationJob extends Job {
 	 * 
 	 * @param validDocuments documents with valid syntax to validate
 	 * @param monitor the progress monitor for cancellation
+	 * @return <code>false</code> if any validator has failed
 	 */
-	private void validateGlue(List<GherkinEditorDocument> validDocuments, IProgressMonitor monitor) {
+	private boolean validateGlue(List<GherkinEditorDocument> validDocuments, IProgressMonitor monitor) {
 		if (validDocuments.isEmpty()) {
-			return;
+			return true;
 		}
+		AtomicBoolean completed = new AtomicBoolean(true);
 
 		// Group documents by their applicable validators
 		Map<IGlueValidator, List<GherkinEditorDocument>> validatorToDocuments = new LinkedHashMap<>();
@@ -157,24 +196,59 @@ abstract class VerificationJob extends Job {
 				}
 			} catch (Exception e) {
 				EditorLogging.error("Error determining validators for resource: " + resource.getFullPath(), e);
+				completed.set(false);
 			}
 		}
 
-		// Validate each group of documents with their respective validator
-		for (Map.Entry<IGlueValidator, List<GherkinEditorDocument>> entry : validatorToDocuments.entrySet()) {
-			if (monitor.isCanceled()) {
-				break;
-			}
-			
+		// Validate each group of documents with their respective validator, the
+		// validators are independent of each other so they can run concurrently
+		IProgressMonitor validatorMonitor = validatorToDocuments.size() > 1 ? ValidationExecutor.concurrent(monitor)
+				: monitor;
+		ValidationExecutor.forEach(validatorToDocuments.entrySet(), monitor, entry -> {
 			IGlueValidator validator = entry.getKey();
 			List<GherkinEditorDocument> documents = entry.getValue();
 			
 			try {
-				validator.validate(documents, monitor);
+				validator.validate(documents, validatorMonitor);
 			} catch (Exception e) {
 				EditorLogging.error("Error during glue validation with " + validator.getClass().getName(), e);
+				completed.set(false);
+			}
+		});
+		return completed.get();
+	}
+
+	/**
+	 * Collects the editor documents of the given text buffer documents and
+	 * resources, a resource that is also open as a text buffer is only validated
+	 * once with the content of the buffer.
+	 * 
+	 * @param documents the text buffer documents
+	 * @param resources the resource documents
+	 * @return the editor documents to validate
+	 */
+	static Collection<GherkinEditorDocument> collectEditorDocuments(Collection<IDocument> documents,
+			Collection<IResource> resources) {
+		Map<IResource, GherkinEditorDocument> collected = new LinkedHashMap<>();
+		for (IDocument doc : documents) {
+			GherkinEditorDocument editorDocument = GherkinEditorDocumentManager.get(doc);
+			if (editorDocument != null) {
+				IResource resource = editorDocument.getResource();
+				if (resource != null) {
+					collected.put(resource, editorDocument);
+				}
+			}
+		}
+		for (IResource resource : resources) {
+			if (collected.containsKey(resource)) {
+				continue;
+			}
+			GherkinEditorDocument editorDocument = GherkinEditorDocumentManager.get(resource);
+			if (editorDocument != null) {
+				collected.put(resource, editorDocument);
 			}
 		}
+		return collected.values();
 	}
 
 	/**
@@ -1,6 +1,7 @@
 package io.cucumber.eclipse.jackson;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.osgi.service.component.annotations.Component;
 
@@ -13,6 +14,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 
@@ -44,4 +46,16 @@ public class JacksonEnvelopeReader implements EnvelopeReader {
 	public Envelope readEnvelope(byte[] buffer, int length) throws IOException {
 		return OBJECT_MAPPER.readerFor(Envelope.class).readValue(buffer, 0, length);
 	}
+
+	@Override
+	public Envelope readEnvelope(ByteBuffer buffer) throws IOException {
+		if (buffer.hasArray()) {
+			int offset = buffer.arrayOffset() + buffer.position();
+			int length = buffer.remaining();
+			buffer.position(buffer.limit());
+			return OBJECT_MAPPER.readerFor(Envelope.class).readValue(buffer.array(), offset, length);
+		}
+		// parses from the (direct) buffer in chunks instead of copying the whole frame
+		return OBJECT_MAPPER.readerFor(Envelope.class).readValue(new ByteBufferBackedInputStream(buffer));
+	}
 }
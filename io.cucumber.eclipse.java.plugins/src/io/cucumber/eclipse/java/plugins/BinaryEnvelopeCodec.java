@@ -0,0 +1,519 @@
+package io.cucumber.eclipse.java.plugins;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.cucumber.messages.types.Envelope;
+
+/**
+ * Compact binary encoding of {@link Envelope}s for the message channel between
+ * a runner and the IDE.
+ * <p>
+ * The encoding is self describing but avoids repeating what was already sent
+ * over the same connection: the first time a message type is written its field
+ * names are sent together with an id that is used afterwards, and short strings
+ * (ids, keywords, uris, ...) are sent once and then only referenced. Fields are
+ * matched by name when decoding, so runner and IDE may use different versions
+ * of the messages library, unknown fields are skipped and missing lists are
+ * decoded as empty.
+ * </p>
+ * <p>
+ * Instances keep the state of one connection and must be used for all frames
+ * of that connection in order, they are not thread safe.
+ * </p>
+ * <p>
+ * Decoding passes the fields of a message type to its constructor in the order
+ * of {@link Class#getDeclaredFields()}, what the JDK does not specify, an
+ * endpoint must therefore only request this codec if {@link #isSupported()}
+ * confirms the order for all message types.
+ * </p>
+ */
+public final class BinaryEnvelopeCodec {
+
+	private static final int NULL = 0;
+	private static final int STRING = 1;
+	private static final int STRING_REF = 2;
+	private static final int LONG = 3;
+	private static final int DOUBLE = 4;
+	private static final int TRUE = 5;
+	private static final int FALSE = 6;
+	private static final int LIST = 7;
+	private static final int OBJECT = 8;
+	private static final int SCHEMA = 9;
+	private static final int ENUM = 10;
+
+	private static final int MAX_INTERNED_LENGTH = 64;
+	private static final int MAX_INTERNED_STRINGS = 1 << 16;
+
+	private static final Map<Class<?>, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+	private static volatile Boolean supported;
+
+	private final Map<Class<?>, Integer> schemaIds = new HashMap<>();
+	private final Map<String, Integer> stringIds = new HashMap<>();
+	private final List<String[]> schemas = new ArrayList<>();
+	private final List<String> strings = new ArrayList<>();
+
+	/**
+	 * Checks once if envelopes can be decoded with the message types available
+	 * locally: every message type reachable from {@link Envelope} is created with
+	 * distinct sentinel values, the fields must hold the values in the order they
+	 * were passed to the constructor, and an envelope made of these messages must
+	 * survive an encode and decode round trip unchanged.
+	 *
+	 * @return <code>true</code> if the codec can be used, otherwise envelopes must
+	 *         be sent as NDJSON
+	 */
+	public static boolean isSupported() {
+		Boolean result = supported;
+		if (result == null) {
+			try {
+				Envelope envelope = (Envelope) new Sentinels().create(Envelope.class);
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				new BinaryEnvelopeCodec().encode(envelope, new DataOutputStream(bytes));
+				Envelope decoded = new BinaryEnvelopeCodec().decode(ByteBuffer.wrap(bytes.toByteArray()));
+				result = envelope.equals(decoded);
+			} catch (IOException | ReflectiveOperationException | RuntimeException e) {
+				result = false;
+			}
+			supported = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the given envelope
+	 *
+	 * @param envelope the envelope to write
+	 * @param output   the output to write to
+	 * @throws IOException if writing fails or the envelope can't be encoded
+	 */
+	public void encode(Envelope envelope, DataOutput output) throws IOException {
+		writeValue(envelope, output);
+	}
+
+	/**
+	 * Reads the next envelope
+	 *
+	 * @param input the input to read from
+	 * @return the decoded envelope
+	 * @throws IOException if reading fails or the data can't be decoded
+	 */
+	public Envelope decode(DataInput input) throws IOException {
+		Object value = readValue(input, Envelope.class, Envelope.class);
+		if (value instanceof Envelope) {
+			return (Envelope) value;
+		}
+		throw new IOException("stream does not contain an envelope");
+	}
+
+	/**
+	 * Reads the envelope contained in the given frame
+	 *
+	 * @param frame the frame to read, its position is advanced
+	 * @return the decoded envelope
+	 * @throws IOException if the data can't be decoded
+	 */
+	public Envelope decode(ByteBuffer frame) throws IOException {
+		return decode(new DataInputStream(new InputStream() {
+
+			@Override
+			public int read() {
+				return frame.hasRemaining() ? frame.get() & 0xFF : -1;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) {
+				if (len == 0) {
+					return 0;
+				}
+				if (!frame.hasRemaining()) {
+					return -1;
+				}
+				int n = Math.min(len, frame.remaining());
+				frame.get(b, off, n);
+				return n;
+			}
+		}));
+	}
+
+	private void writeValue(Object value, DataOutput output) throws IOException {
+		if (value == null) {
+			output.writeByte(NULL);
+		} else if (value instanceof String) {
+			writeString((String) value, output);
+		} else if (value instanceof Long || value instanceof Integer) {
+			output.writeByte(LONG);
+			writeVarLong(((Number) value).longValue(), output);
+		} else if (value instanceof Double || value instanceof Float) {
+			output.writeByte(DOUBLE);
+			output.writeDouble(((Number) value).doubleValue());
+		} else if (value instanceof Boolean) {
+			output.writeByte(((Boolean) value).booleanValue() ? TRUE : FALSE);
+		} else if (value instanceof Enum) {
+			output.writeByte(ENUM);
+			writeString(((Enum<?>) value).name(), output);
+		} else if (value instanceof List) {
+			List<?> list = (List<?>) value;
+			output.writeByte(LIST);
+			writeVarLong(list.size(), output);
+			for (Object element : list) {
+				writeValue(element, output);
+			}
+		} else {
+			writeObject(value, output);
+		}
+	}
+
+	private void writeObject(Object value, DataOutput output) throws IOException {
+		Schema schema = schema(value.getClass());
+		Integer id = schemaIds.get(value.getClass());
+		if (id == null) {
+			id = schemaIds.size();
+			schemaIds.put(value.getClass(), id);
+			output.writeByte(SCHEMA);
+			writeVarLong(id, output);
+			writeVarLong(schema.names.length, output);
+			for (String name : schema.names) {
+				writeString(name, output);
+			}
+		} else {
+			output.writeByte(OBJECT);
+			writeVarLong(id, output);
+		}
+		try {
+			for (Field field : schema.fields) {
+				writeValue(field.get(value), output);
+			}
+		} catch (IllegalAccessException e) {
+			throw new IOException("can't encode " + value.getClass().getName(), e);
+		}
+	}
+
+	private void writeString(String value, DataOutput output) throws IOException {
+		Integer id = stringIds.get(value);
+		if (id != null) {
+			output.writeByte(STRING_REF);
+			writeVarLong(id, output);
+			return;
+		}
+		output.writeByte(STRING);
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(bytes.length, output);
+		output.write(bytes);
+		if (isInterned(value, stringIds.size())) {
+			stringIds.put(value, stringIds.size());
+		}
+	}
+
+	/**
+	 * Reads the next value
+	 *
+	 * @param type        the expected type or <code>null</code> if the value is
+	 *                    not known locally and only needs to be skipped
+	 * @param genericType the generic type of the value, used for list elements
+	 */
+	private Object readValue(DataInput input, Class<?> type, Type genericType) throws IOException {
+		int tag = input.readUnsignedByte();
+		switch (tag) {
+		case NULL:
+			return null;
+		case STRING:
+		case STRING_REF:
+			return readString(tag, input);
+		case LONG:
+			long longValue = readVarLong(input);
+			if (type == Double.class) {
+				return Double.valueOf(longValue);
+			}
+			return Long.valueOf(longValue);
+		case DOUBLE:
+			return Double.valueOf(input.readDouble());
+		case TRUE:
+			return Boolean.TRUE;
+		case FALSE:
+			return Boolean.FALSE;
+		case ENUM:
+			String name = readString(input.readUnsignedByte(), input);
+			if (type != null && type.isEnum()) {
+				return enumValue(type, name);
+			}
+			return name;
+		case LIST:
+			int size = (int) readVarLong(input);
+			Type elementType = elementType(genericType);
+			Class<?> elementClass = type == null ? null : rawType(elementType);
+			List<Object> list = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				list.add(readValue(input, elementClass, elementType));
+			}
+			return list;
+		case SCHEMA:
+			int schemaId = (int) readVarLong(input);
+			String[] names = new String[(int) readVarLong(input)];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = readString(input.readUnsignedByte(), input);
+			}
+			if (schemaId != schemas.size()) {
+				throw new IOException("unexpected schema id " + schemaId);
+			}
+			schemas.add(names);
+			return readObject(input, type, names);
+		case OBJECT:
+			int id = (int) readVarLong(input);
+			if (id < 0 || id >= schemas.size()) {
+				throw new IOException("unknown schema id " + id);
+			}
+			return readObject(input, type, schemas.get(id));
+		default:
+			throw new IOException("unknown tag " + tag);
+		}
+	}
+
+	private Object readObject(DataInput input, Class<?> type, String[] names) throws IOException {
+		if (type == null || type == Object.class) {
+			for (int i = 0; i < names.length; i++) {
+				readValue(input, null, null);
+			}
+			return null;
+		}
+		Schema schema = schema(type);
+		Object[] arguments = new Object[schema.fields.length];
+		for (String name : names) {
+			Integer index = schema.indexByName.get(name);
+			if (index == null) {
+				readValue(input, null, null);
+			} else {
+				Field field = schema.fields[index];
+				arguments[index] = readValue(input, field.getType(), field.getGenericType());
+			}
+		}
+		for (int i = 0; i < arguments.length; i++) {
+			if (arguments[i] == null && schema.fields[i].getType() == List.class) {
+				arguments[i] = Collections.emptyList();
+			}
+		}
+		try {
+			return schema.constructor.newInstance(arguments);
+		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+				| InvocationTargetException e) {
+			throw new IOException("can't decode " + type.getName(), e);
+		}
+	}
+
+	private String readString(int tag, DataInput input) throws IOException {
+		if (tag == STRING_REF) {
+			int id = (int) readVarLong(input);
+			if (id < 0 || id >= strings.size()) {
+				throw new IOException("unknown string reference " + id);
+			}
+			return strings.get(id);
+		}
+		if (tag != STRING) {
+			throw new IOException("string expected but got tag " + tag);
+		}
+		byte[] bytes = new byte[(int) readVarLong(input)];
+		input.readFully(bytes);
+		String value = new String(bytes, StandardCharsets.UTF_8);
+		if (isInterned(value, strings.size())) {
+			strings.add(value);
+		}
+		return value;
+	}
+
+	private static boolean isInterned(String value, int count) {
+		return value.length() <= MAX_INTERNED_LENGTH && count < MAX_INTERNED_STRINGS;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object enumValue(Class<?> type, String name) {
+		try {
+			return Enum.valueOf((Class<? extends Enum>) type, name);
+		} catch (IllegalArgumentException e) {
+			// a constant not known in this version
+			return null;
+		}
+	}
+
+	private static Type elementType(Type listType) {
+		if (listType instanceof ParameterizedType) {
+			return ((ParameterizedType) listType).getActualTypeArguments()[0];
+		}
+		return Object.class;
+	}
+
+	private static Class<?> rawType(Type type) {
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		}
+		if (type instanceof ParameterizedType) {
+			return rawType(((ParameterizedType) type).getRawType());
+		}
+		return Object.class;
+	}
+
+	private static void writeVarLong(long value, DataOutput output) throws IOException {
+		long zigzag = (value << 1) ^ (value >> 63);
+		while ((zigzag & ~0x7FL) != 0) {
+			output.writeByte((int) ((zigzag & 0x7F) | 0x80));
+			zigzag >>>= 7;
+		}
+		output.writeByte((int) zigzag);
+	}
+
+	private static long readVarLong(DataInput input) throws IOException {
+		long zigzag = 0;
+		int shift = 0;
+		int b;
+		do {
+			if (shift > 63) {
+				throw new IOException("malformed number");
+			}
+			b = input.readUnsignedByte();
+			zigzag |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return (zigzag >>> 1) ^ -(zigzag & 1);
+	}
+
+	private static Schema schema(Class<?> type) throws IOException {
+		Schema schema = SCHEMAS.get(type);
+		if (schema == null) {
+			schema = new Schema(type);
+			SCHEMAS.putIfAbsent(type, schema);
+		}
+		return schema;
+	}
+
+	/**
+	 * Creates message instances where all values of the same type differ, and
+	 * checks that each field holds the value passed at its position
+	 */
+	private static final class Sentinels {
+
+		private final Set<Class<?>> creating = new HashSet<>();
+		private long next;
+
+		Object create(Class<?> type) throws IOException, ReflectiveOperationException {
+			if (!creating.add(type)) {
+				// recursive type, can only be ended by null
+				return null;
+			}
+			try {
+				Schema schema = schema(type);
+				Object[] arguments = new Object[schema.fields.length];
+				Map<Class<?>, Integer> occurrences = new HashMap<>();
+				for (int i = 0; i < arguments.length; i++) {
+					Field field = schema.fields[i];
+					int occurrence = occurrences.merge(field.getType(), 1, Integer::sum) - 1;
+					arguments[i] = value(field.getType(), field.getGenericType(), occurrence);
+				}
+				for (int i = 0; i < arguments.length; i++) {
+					for (int j = i + 1; j < arguments.length; j++) {
+						if (schema.fields[i].getType() == schema.fields[j].getType()
+								&& Objects.equals(arguments[i], arguments[j])) {
+							throw new IOException("can't create distinct values for " + type.getName());
+						}
+					}
+				}
+				Object instance = schema.constructor.newInstance(arguments);
+				for (int i = 0; i < arguments.length; i++) {
+					if (!Objects.equals(schema.fields[i].get(instance), arguments[i])) {
+						throw new IOException("constructor of " + type.getName()
+								+ " does not take the fields in declaration order");
+					}
+				}
+				return instance;
+			} finally {
+				creating.remove(type);
+			}
+		}
+
+		private Object value(Class<?> type, Type genericType, int occurrence)
+				throws IOException, ReflectiveOperationException {
+			long id = next++;
+			if (type == String.class) {
+				return "sentinel-" + id;
+			}
+			if (type == Long.class || type == long.class) {
+				return Long.valueOf(id);
+			}
+			if (type == Integer.class || type == int.class) {
+				return Integer.valueOf((int) id);
+			}
+			if (type == Double.class || type == double.class) {
+				return Double.valueOf(id);
+			}
+			if (type == Boolean.class || type == boolean.class) {
+				return occurrence < 2 ? Boolean.valueOf(occurrence == 0) : null;
+			}
+			if (type.isEnum()) {
+				Object[] constants = type.getEnumConstants();
+				return occurrence < constants.length ? constants[occurrence] : null;
+			}
+			if (type == List.class) {
+				Type elementType = elementType(genericType);
+				Object element = value(rawType(elementType), elementType, 0);
+				return element == null ? List.of() : List.of(element);
+			}
+			if (type == Object.class || type.isPrimitive() || type.getName().startsWith("java.")) {
+				return null;
+			}
+			return create(type);
+		}
+	}
+
+	/**
+	 * The local view of a message type: its fields and the constructor taking all
+	 * of them in declaration order, as generated for all message types
+	 */
+	private static final class Schema {
+
+		private final Field[] fields;
+		private final String[] names;
+		private final Map<String, Integer> indexByName = new HashMap<>();
+		private final Constructor<?> constructor;
+
+		Schema(Class<?> type) throws IOException {
+			fields = Arrays.stream(type.getDeclaredFields()).filter(f -> !Modifier.isStatic(f.getModifiers()))
+					.toArray(Field[]::new);
+			names = new String[fields.length];
+			Class<?>[] parameterTypes = new Class<?>[fields.length];
+			for (int i = 0; i < fields.length; i++) {
+				fields[i].setAccessible(true);
+				names[i] = fields[i].getName();
+				parameterTypes[i] = fields[i].getType();
+				indexByName.put(names[i], i);
+			}
+			try {
+				constructor = type.getDeclaredConstructor(parameterTypes);
+				constructor.setAccessible(true);
+			} catch (NoSuchMethodException | RuntimeException e) {
+				throw new IOException("type " + type.getName() + " is not supported", e);
+			}
+		}
+	}
+}
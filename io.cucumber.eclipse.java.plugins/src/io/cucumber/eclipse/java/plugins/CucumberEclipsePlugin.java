@@ -1,9 +1,11 @@
 package io.cucumber.eclipse.java.plugins;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -37,6 +39,33 @@ public class CucumberEclipsePlugin implements ConcurrentEventListener {
 	private Consumer<Envelope> consumer;
 	public static final int HANDLED_MESSAGE = 0x1;
 	public static final int GOOD_BY_MESSAGE = 0x0;
+	/**
+	 * answer of an endpoint that supports pipelining, followed by the initial
+	 * credits and the flags
+	 */
+	public static final int PIPELINED_MESSAGE = 0x2;
+	/**
+	 * returns credits to the sender, followed by the number of credits
+	 */
+	public static final int CREDIT_MESSAGE = 0x3;
+	/**
+	 * acknowledges a synchronous envelope
+	 */
+	public static final int SYNCHRONOUS_MESSAGE = 0x4;
+	/**
+	 * sent instead of a frame length to request pipelining, endpoints that do not
+	 * support it treat it as the end of the stream
+	 */
+	public static final int PIPELINED_HELLO = -0x2;
+	/**
+	 * marks a frame (or the step events in the negotiation) as synchronous
+	 */
+	public static final int FLAG_SYNCHRONOUS = 0x1;
+	/**
+	 * set by the endpoint in the negotiation to request envelopes encoded with the
+	 * {@link BinaryEnvelopeCodec} instead of NDJSON
+	 */
+	public static final int FLAG_BINARY = 0x2;
 
 	public CucumberEclipsePlugin(String port) throws IOException {
 		this(new SocketConsumer(port));
@@ -55,19 +84,48 @@ public class CucumberEclipsePlugin implements ConcurrentEventListener {
 		consumer.accept(envelope);
 	}
 
+	/**
+	 * Transfers the envelopes to a {@link MessageEndpoint}.
+	 * <p>
+	 * On connect a {@link #PIPELINED_HELLO} is sent and the endpoint must answer
+	 * with {@link #PIPELINED_MESSAGE}, the envelopes are then streamed without
+	 * waiting for each one to be handled: the endpoint grants a window of credits
+	 * and returns them in batches, only envelopes the endpoint asked to be
+	 * synchronous (a {@code TestStepStarted} while debugging) wait for their
+	 * acknowledgement. An endpoint that does not answer the hello fails the
+	 * creation of the plugin, so the run reports it instead of losing the
+	 * envelopes.
+	 * </p>
+	 * <p>
+	 * A pipelining endpoint might also ask for {@link #FLAG_BINARY}, the envelopes
+	 * are then encoded with a {@link BinaryEnvelopeCodec} that lives as long as
+	 * the connection.
+	 * </p>
+	 */
 	private static final class SocketConsumer implements Consumer<Envelope> {
 
+		private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+		/**
+		 * a buffer that has grown larger than this is dropped after the message was
+		 * sent instead of being kept for the rest of the run
+		 */
+		private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
 		private final Socket socket;
 		private final DataOutputStream output;
-		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024 * 1024 * 10);
+		private final DataInputStream input;
+		private ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
 		private AtomicInteger written = new AtomicInteger();
-		private InputStream input;
+		private boolean synchronousSteps;
+		private int credits;
+		private BinaryEnvelopeCodec codec;
 
 		public SocketConsumer(String port) throws NumberFormatException, UnknownHostException, IOException {
 			try {
 				socket = new Socket((String) null, Integer.parseInt(port));
-				output = new DataOutputStream(socket.getOutputStream());
-				input = socket.getInputStream();
+				output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+				input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				negotiate();
 				Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
 
 					@Override
@@ -75,6 +133,7 @@ public class CucumberEclipsePlugin implements ConcurrentEventListener {
 						try {
 							if (!socket.isClosed()) {
 								output.writeInt(0);
+								output.flush();
 								socket.close();
 							}
 						} catch (IOException e) {
@@ -87,6 +146,24 @@ public class CucumberEclipsePlugin implements ConcurrentEventListener {
 			}
 		}
 
+		private void negotiate() throws IOException {
+			output.writeInt(PIPELINED_HELLO);
+			output.flush();
+			int mode = input.read();
+			if (mode != PIPELINED_MESSAGE) {
+				// the endpoint does not understand us and has closed the connection
+				socket.close();
+				throw new IOException("the endpoint on port " + socket.getPort()
+						+ " does not support pipelining (answered " + mode + "), no envelopes can be sent");
+			}
+			credits = input.readInt();
+			int flags = input.read();
+			synchronousSteps = (flags & FLAG_SYNCHRONOUS) != 0;
+			if ((flags & FLAG_BINARY) != 0) {
+				codec = new BinaryEnvelopeCodec();
+			}
+		}
+
 		@Override
 		public void accept(Envelope env) {
 			synchronized (socket) {
@@ -95,27 +172,86 @@ public class CucumberEclipsePlugin implements ConcurrentEventListener {
 				}
 				try {
 					buffer.reset();
-					try (MessageToNdjsonWriter writer = new MessageToNdjsonWriter(buffer, SERIALIZER)) {
-						writer.write(env);
-					}
-					output.writeInt(buffer.size());
-					buffer.writeTo(output);
-					output.flush();
-					int read = input.read() & 0xFF;
-					written.incrementAndGet();
-					if (env.getTestRunFinished().isPresent() || read == GOOD_BY_MESSAGE) {
-						finish();
+					if (codec != null) {
+						encodeBinary(env);
+					} else {
+						try (MessageToNdjsonWriter writer = new MessageToNdjsonWriter(buffer, SERIALIZER)) {
+							writer.write(env);
+						}
 					}
+					sendPipelined(env);
 				} catch (IOException e) {
 				}
+				if (buffer.size() > MAX_RETAINED_BUFFER_SIZE) {
+					buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+				}
+			}
+
+		}
+
+		private void encodeBinary(Envelope env) throws IOException {
+			try {
+				codec.encode(env, new DataOutputStream(buffer));
+			} catch (IOException | RuntimeException e) {
+				// the codec state is now out of sync with the endpoint, nothing sent
+				// afterwards could be decoded
+				socket.close();
+				throw new IOException("can't encode envelope", e);
+			}
+		}
+
+		private void sendPipelined(Envelope env) throws IOException {
+			while (credits <= 0) {
+				// window is exhausted, wait for the endpoint to catch up
+				output.flush();
+				readAcknowledge();
+			}
+			boolean synchronous = synchronousSteps && env.getTestStepStarted().isPresent();
+			output.writeInt(buffer.size());
+			output.writeByte(synchronous ? FLAG_SYNCHRONOUS : 0);
+			buffer.writeTo(output);
+			credits--;
+			written.incrementAndGet();
+			if (synchronous) {
+				// the endpoint can only acknowledge what it has received
+				output.flush();
+				while (!readAcknowledge()) {
+					// wait until the endpoint has handled this envelope
+				}
+			}
+			if (env.getTestRunFinished().isPresent()) {
+				finish();
 			}
+		}
 
+		/**
+		 * Reads one acknowledge from the endpoint
+		 * 
+		 * @return <code>true</code> if it was the acknowledge of a synchronous
+		 *         envelope
+		 */
+		private boolean readAcknowledge() throws IOException {
+			int type = input.read();
+			if (type == CREDIT_MESSAGE) {
+				credits += input.readInt();
+				return false;
+			}
+			if (type == SYNCHRONOUS_MESSAGE) {
+				return true;
+			}
+			socket.close();
+			throw new IOException("endpoint has closed the connection");
 		}
 
 		private void finish() throws IOException {
 			output.writeInt(GOOD_BY_MESSAGE);
 			output.flush();
-			input.read();
+			int type;
+			while ((type = input.read()) != GOOD_BY_MESSAGE && type != -1) {
+				if (type == CREDIT_MESSAGE) {
+					input.readInt();
+				}
+			}
 			socket.close();
 		}
 
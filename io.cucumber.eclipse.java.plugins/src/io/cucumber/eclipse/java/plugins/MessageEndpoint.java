@@ -1,10 +1,14 @@
 package io.cucumber.eclipse.java.plugins;
 
-import java.io.DataInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.Collection;
 
 import io.cucumber.messages.types.Envelope;
@@ -17,60 +21,74 @@ import io.cucumber.messages.types.Envelope;
  */
 public abstract class MessageEndpoint {
 
-	private ServerSocket serverSocket;
+	/**
+	 * number of envelopes a pipelining sender might send without an
+	 * acknowledge
+	 */
+	private static final int WINDOW = 256;
+
+	private ServerSocketChannel serverChannel;
+
+	private volatile boolean synchronousSteps;
+
+	private volatile boolean binaryEncoding;
 
 	public MessageEndpoint() throws IOException {
-		serverSocket = new ServerSocket(0);
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(null);
 	}
 
-	private void closeSocket(ServerSocket serverSocket) {
-		try {
-			serverSocket.close();
-		} catch (IOException e) {
-		}
+	protected abstract void handleMessage(Envelope envelope) throws InterruptedException;
+
+	/**
+	 * Controls if the sender must wait for {@code TestStepStarted} envelopes to be
+	 * handled before it continues, this is required to suspend on breakpoints and
+	 * must be set before the endpoint is started. All other envelopes are
+	 * streamed without waiting if the sender supports pipelining.
+	 * 
+	 * @param synchronousSteps <code>true</code> if step events must be handled
+	 *                         synchronously
+	 */
+	public void setSynchronousSteps(boolean synchronousSteps) {
+		this.synchronousSteps = synchronousSteps;
 	}
 
-	protected abstract void handleMessage(Envelope envelope) throws InterruptedException;
+	/**
+	 * Controls if the sender should encode envelopes with the
+	 * {@link BinaryEnvelopeCodec} instead of NDJSON, this is only used if the
+	 * sender supports pipelining and the codec can decode the local message types
+	 * (see {@link BinaryEnvelopeCodec#isSupported()}), it must be set before the
+	 * endpoint is started.
+	 * 
+	 * @param binaryEncoding <code>true</code> if binary encoding should be
+	 *                       requested
+	 */
+	public void setBinaryEncoding(boolean binaryEncoding) {
+		this.binaryEncoding = binaryEncoding;
+	}
 
 	public void start() {
 		Thread thread = new Thread(new Runnable() {
 
 			@Override
 			public void run() {
-				try {
-					Socket socket = serverSocket.accept();
-					try (DataInputStream inputStream = new DataInputStream(socket.getInputStream());
-							OutputStream outputStream = socket.getOutputStream()) {
-						int framelength;
-						byte[] buffer = new byte[1024 * 1024 * 10];
-						while ((framelength = inputStream.readInt()) > 0) {
-							if (buffer.length < framelength) {
-								buffer = new byte[framelength];
-							}
-							inputStream.readFully(buffer, 0, framelength);
-							Envelope envelope = readEnvelope(buffer, framelength);
-							try {
-								if (envelope != null) {
-									handleMessage(envelope);
-								}
-							} catch (InterruptedException e) {
-								break;
-							}
-							outputStream.write(CucumberEclipsePlugin.HANDLED_MESSAGE);
-							outputStream.flush();
-							if (envelope != null && envelope.getTestRunFinished().isPresent()) {
-								break;
-							}
-						}
-						outputStream.write(CucumberEclipsePlugin.GOOD_BY_MESSAGE);
-						outputStream.flush();
+				try (SocketChannel channel = serverChannel.accept();
+						ReceiveBuffer input = new ReceiveBuffer(channel);
+						DataOutputStream outputStream = new DataOutputStream(
+								new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+					int framelength = input.readInt();
+					if (framelength == CucumberEclipsePlugin.PIPELINED_HELLO) {
+						readPipelined(input, outputStream);
+					} else {
+						readSynchronous(framelength, input, outputStream);
 					}
-					socket.close();
+					outputStream.write(CucumberEclipsePlugin.GOOD_BY_MESSAGE);
+					outputStream.flush();
 				} catch (Exception e) {
 					onError(e);
 				} finally {
 					try {
-						serverSocket.close();
+						serverChannel.close();
 					} catch (IOException e) {
 					}
 				}
@@ -81,23 +99,120 @@ public abstract class MessageEndpoint {
 		thread.start();
 	}
 
+	/**
+	 * Protocol used by senders that do not support pipelining, each envelope is
+	 * acknowledged after it was handled
+	 */
+	private void readSynchronous(int framelength, ReceiveBuffer input, OutputStream outputStream)
+			throws IOException {
+		while (framelength > 0) {
+			Envelope envelope = readEnvelope(input.readFrame(framelength));
+			try {
+				if (envelope != null) {
+					handleMessage(envelope);
+				}
+			} catch (InterruptedException e) {
+				break;
+			}
+			outputStream.write(CucumberEclipsePlugin.HANDLED_MESSAGE);
+			outputStream.flush();
+			if (envelope != null && envelope.getTestRunFinished().isPresent()) {
+				break;
+			}
+			framelength = input.readInt();
+		}
+	}
+
+	/**
+	 * Protocol used by senders that support pipelining, credits are returned in
+	 * batches once half of the window is consumed or no more data is pending, only
+	 * synchronous frames are acknowledged immediately
+	 */
+	private void readPipelined(ReceiveBuffer input, DataOutputStream outputStream) throws IOException {
+		outputStream.write(CucumberEclipsePlugin.PIPELINED_MESSAGE);
+		outputStream.writeInt(WINDOW);
+		int flags = synchronousSteps ? CucumberEclipsePlugin.FLAG_SYNCHRONOUS : 0;
+		BinaryEnvelopeCodec codec = null;
+		if (binaryEncoding && BinaryEnvelopeCodec.isSupported()) {
+			flags |= CucumberEclipsePlugin.FLAG_BINARY;
+			codec = new BinaryEnvelopeCodec();
+		}
+		outputStream.write(flags);
+		outputStream.flush();
+		int handled = 0;
+		int framelength;
+		while ((framelength = input.readInt()) > 0) {
+			boolean synchronous = (input.readByte() & CucumberEclipsePlugin.FLAG_SYNCHRONOUS) != 0;
+			ByteBuffer frame = input.readFrame(framelength);
+			Envelope envelope;
+			if (codec != null) {
+				envelope = codec.decode(frame);
+			} else {
+				envelope = readEnvelope(frame);
+			}
+			try {
+				if (envelope != null) {
+					handleMessage(envelope);
+				}
+			} catch (InterruptedException e) {
+				break;
+			}
+			handled++;
+			if (synchronous || handled >= WINDOW / 2 || !input.hasPending()) {
+				outputStream.write(CucumberEclipsePlugin.CREDIT_MESSAGE);
+				outputStream.writeInt(handled);
+				handled = 0;
+				if (synchronous) {
+					outputStream.write(CucumberEclipsePlugin.SYNCHRONOUS_MESSAGE);
+				}
+				outputStream.flush();
+			}
+			if (envelope != null && envelope.getTestRunFinished().isPresent()) {
+				break;
+			}
+		}
+	}
+
 	protected abstract void onError(Exception e);
 
 	protected abstract Envelope readEnvelope(byte[] buffer, int length) throws IOException;
 
+	/**
+	 * Reads an envelope from a received frame, the default implementation copies
+	 * the frame and delegates to {@link #readEnvelope(byte[], int)}, subclasses
+	 * should override this to decode the frame directly.
+	 * 
+	 * @param frame the frame, only valid for the duration of the call
+	 * @return the envelope or <code>null</code> if it can't be read
+	 * @throws IOException if the envelope can't be decoded
+	 */
+	protected Envelope readEnvelope(ByteBuffer frame) throws IOException {
+		byte[] buffer = new byte[frame.remaining()];
+		frame.get(buffer);
+		return readEnvelope(buffer, buffer.length);
+	}
+
 	public void addArguments(Collection<String> args) {
 		args.add("-p");
-		args.add(CucumberEclipsePlugin.class.getName() + ":" + String.valueOf(serverSocket.getLocalPort()));
+		args.add(CucumberEclipsePlugin.class.getName() + ":" + String.valueOf(getLocalPort()));
 	}
 
 	public boolean isTerminated() {
-		return serverSocket.isClosed();
+		return !serverChannel.isOpen();
 	}
 
 	public void terminate() {
 		try {
-			serverSocket.close();
+			serverChannel.close();
+		} catch (IOException e) {
+		}
+	}
+
+	private int getLocalPort() {
+		try {
+			return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
 		} catch (IOException e) {
+			return -1;
 		}
 	}
 }
@@ -0,0 +1,141 @@
+package io.cucumber.eclipse.java.plugins;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads frames from a channel into a direct {@link ByteBuffer} that is only as
+ * large as the frames require.
+ * <p>
+ * Each receiver starts with a small buffer taken from a shared pool, if a frame
+ * does not fit the buffer grows geometrically. Once no large frame was seen for
+ * a while the buffer is shrunk to the small one again, so a single huge message
+ * does not pin its memory for the rest of the launch. Frames are handed out as
+ * slices of the buffer and are only valid until the next read.
+ * </p>
+ */
+final class ReceiveBuffer implements AutoCloseable {
+
+	private static final int INITIAL_CAPACITY = 64 * 1024;
+
+	private static final int MAX_POOLED = 16;
+
+	private static final long SHRINK_AFTER = TimeUnit.SECONDS.toNanos(10);
+
+	private static final Queue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+
+	private final ReadableByteChannel channel;
+
+	/**
+	 * in read mode, the bytes between position and limit are not consumed yet
+	 */
+	private ByteBuffer buffer;
+
+	private long lastLargeFrame;
+
+	ReceiveBuffer(ReadableByteChannel channel) {
+		this.channel = channel;
+		buffer = acquire();
+	}
+
+	int readInt() throws IOException {
+		require(Integer.BYTES);
+		return buffer.getInt();
+	}
+
+	int readByte() throws IOException {
+		require(1);
+		return buffer.get() & 0xFF;
+	}
+
+	/**
+	 * Reads a frame of the given length
+	 *
+	 * @param length the length of the frame
+	 * @return a read only view of the frame, only valid until the next read
+	 * @throws IOException if the channel is closed before the frame is complete
+	 */
+	ByteBuffer readFrame(int length) throws IOException {
+		if (length > INITIAL_CAPACITY) {
+			lastLargeFrame = System.nanoTime();
+		}
+		require(length);
+		ByteBuffer frame = buffer.slice();
+		frame.limit(length);
+		buffer.position(buffer.position() + length);
+		return frame.asReadOnlyBuffer();
+	}
+
+	/**
+	 * @return <code>true</code> if there are already received bytes that are not
+	 *         consumed yet
+	 */
+	boolean hasPending() {
+		return buffer.hasRemaining();
+	}
+
+	@Override
+	public void close() {
+		release(buffer);
+		buffer = null;
+	}
+
+	private void require(int bytes) throws IOException {
+		if (buffer.remaining() >= bytes) {
+			return;
+		}
+		if (buffer.capacity() < bytes) {
+			int capacity = buffer.capacity();
+			while (capacity < bytes) {
+				capacity = capacity > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : capacity * 2;
+			}
+			replace(ByteBuffer.allocateDirect(capacity));
+		} else if (buffer.capacity() > INITIAL_CAPACITY && bytes <= INITIAL_CAPACITY
+				&& buffer.remaining() <= INITIAL_CAPACITY && System.nanoTime() - lastLargeFrame > SHRINK_AFTER) {
+			replace(acquire());
+		} else {
+			buffer.compact();
+			buffer.flip();
+		}
+		while (buffer.remaining() < bytes) {
+			int position = buffer.position();
+			buffer.position(buffer.limit());
+			buffer.limit(buffer.capacity());
+			int read = channel.read(buffer);
+			buffer.limit(buffer.position());
+			buffer.position(position);
+			if (read < 0) {
+				throw new EOFException();
+			}
+		}
+	}
+
+	private void replace(ByteBuffer target) {
+		target.clear();
+		target.put(buffer);
+		target.flip();
+		release(buffer);
+		buffer = target;
+	}
+
+	private static ByteBuffer acquire() {
+		ByteBuffer pooled = POOL.poll();
+		if (pooled == null) {
+			pooled = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+		}
+		pooled.clear();
+		pooled.flip();
+		return pooled;
+	}
+
+	private static void release(ByteBuffer buffer) {
+		if (buffer != null && buffer.capacity() == INITIAL_CAPACITY && POOL.size() < MAX_POOLED) {
+			POOL.offer(buffer);
+		}
+	}
+}
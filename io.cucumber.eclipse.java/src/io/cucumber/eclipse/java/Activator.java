@@ -8,6 +8,7 @@ import org.osgi.util.tracker.ServiceTracker;
 import io.cucumber.eclipse.editor.EnvelopeReader;
 import io.cucumber.eclipse.editor.validation.DocumentValidator;
 import io.cucumber.eclipse.java.cache.JavaGlueModelCache;
+import io.cucumber.eclipse.java.runtime.ClassLoaderPool;
 import io.cucumber.eclipse.java.validation.JavaGlueStore;
 
 /**
@@ -67,6 +68,7 @@ public class Activator extends AbstractUIPlugin {
 			getPreferenceStore().removePropertyChangeListener(propertyChangeListener);
 			propertyChangeListener = null;
 		}
+		ClassLoaderPool.dispose();
 		plugin = null;
 		super.stop(context);
 	}
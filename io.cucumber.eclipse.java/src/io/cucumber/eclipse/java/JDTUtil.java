@@ -108,7 +108,20 @@ public class JDTUtil {
 	}
 
 	public static URLClassLoader createClassloader(IJavaProject javaProject, ClassLoader parent) throws CoreException {
-		String[] classPathEntries = JavaRuntime.computeDefaultRuntimeClassPath(javaProject);
+		return createClassloader(javaProject, JavaRuntime.computeDefaultRuntimeClassPath(javaProject), parent);
+	}
+
+	/**
+	 * Creates a classloader for an already resolved runtime classpath, e.g. one
+	 * obtained from {@link JavaRuntime#computeDefaultRuntimeClassPath(IJavaProject)}
+	 * 
+	 * @param javaProject      the project the classpath belongs to
+	 * @param classPathEntries the resolved classpath entries
+	 * @param parent           the parent classloader
+	 * @return a new classloader, the caller is responsible for closing it
+	 */
+	public static URLClassLoader createClassloader(IJavaProject javaProject, String[] classPathEntries,
+			ClassLoader parent) {
 		Set<URL> urlList = new LinkedHashSet<>();
 		for (String entry : classPathEntries) {
 			try {
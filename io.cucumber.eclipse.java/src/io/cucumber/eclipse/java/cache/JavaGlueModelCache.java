@@ -13,7 +13,8 @@ import io.cucumber.eclipse.java.plugins.CucumberCodeLocation;
 /**
  * Caches results of JDT model queries used while resolving Cucumber glue code, so repeated
  * content-assist invocations don't repeat a query whose result hasn't changed. Implementations
- * invalidate an entry once the underlying source has been modified.
+ * invalidate an entry once the underlying source has been modified, and may evict entries at any
+ * time to stay within their memory budget.
  */
 public interface JavaGlueModelCache {
 
@@ -50,8 +51,8 @@ public interface JavaGlueModelCache {
 	 * @param compUnit the compilation unit {@code annotation} is declared in
 	 * @param annotation the source element to resolve a line number for
 	 * @return the 1-based line number {@code annotation} starts at, or {@code -1} if it can't be
-	 *         resolved. The {@link org.eclipse.jface.text.Document} used to compute this is cached
-	 *         until {@code compUnit}'s underlying source changes.
+	 *         resolved. The line offsets of {@code compUnit} used to compute this are cached until
+	 *         its underlying source changes.
 	 */
 	int getLineNumber(ICompilationUnit compUnit, ISourceReference annotation) throws JavaModelException;
 
@@ -66,4 +67,33 @@ public interface JavaGlueModelCache {
 	 */
 	String getJavadoc(IMethod method);
 
+	/**
+	 * @return the current usage and effectiveness of the cache, summed over all kinds of cached
+	 *         queries
+	 */
+	Statistics getStatistics();
+
+	/**
+	 * A snapshot of the usage of the cache
+	 *
+	 * @param entries   the number of cached entries
+	 * @param weight    the estimated memory of all entries in bytes
+	 * @param maxWeight the memory budget in bytes
+	 * @param hits      the number of lookups answered from the cache
+	 * @param misses    the number of lookups that had to query the Java model
+	 * @param evictions the number of entries dropped because of the budget or because their
+	 *                  element was removed
+	 */
+	record Statistics(int entries, long weight, long maxWeight, long hits, long misses, long evictions) {
+
+		/**
+		 * @param other the statistics to add
+		 * @return the sum of both statistics
+		 */
+		public Statistics plus(Statistics other) {
+			return new Statistics(entries + other.entries, weight + other.weight, maxWeight + other.maxWeight,
+					hits + other.hits, misses + other.misses, evictions + other.evictions);
+		}
+	}
+
 }
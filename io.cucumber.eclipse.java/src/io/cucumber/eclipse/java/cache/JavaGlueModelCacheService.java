@@ -1,42 +1,62 @@
 package io.cucumber.eclipse.java.cache;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.function.Predicate;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.ui.text.javadoc.JavadocContentAccess2;
 import org.eclipse.jface.internal.text.html.HTMLPrinter;
 import org.eclipse.jface.resource.ColorRegistry;
 import org.eclipse.jface.resource.JFaceResources;
-import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.Document;
 import org.eclipse.swt.graphics.RGB;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 
 import io.cucumber.eclipse.editor.Tracing;
 import io.cucumber.eclipse.java.JDTUtil;
 import io.cucumber.eclipse.java.plugins.CucumberCodeLocation;
 
+/**
+ * {@link JavaGlueModelCache} that keeps its entries in {@link WeightedLruCache}s, each
+ * bounded by a share of {@link #MEMORY_BUDGET}. Entries of elements that are removed from the
+ * Java model (deleted types, closed or deleted projects) are evicted right away.
+ */
 @SuppressWarnings("restriction")
 @Component(service = JavaGlueModelCache.class)
 public class JavaGlueModelCacheService implements JavaGlueModelCache {
 
-	/** {@link #getDocument(ICompilationUnit)} misses at or above this cost get their own trace line. */
+	/** {@link #getLineTable(ICompilationUnit)} misses at or above this cost get their own trace line. */
 	private static final long SLOW_MISS_THRESHOLD_MS = 200;
 
-	private final Map<IType, CachedMethods> cache = new ConcurrentHashMap<>();
-	private final Map<IMethod, String[]> parameterNamesCache = new ConcurrentHashMap<>();
-	private final Map<ICompilationUnit, CachedDocument> documentCache = new ConcurrentHashMap<>();
-	private final Map<IMethod, CachedJavadoc> javadocCache = new ConcurrentHashMap<>();
+	/** The estimated memory in bytes all entries together may use. */
+	private static final long MEMORY_BUDGET = 32L * 1024 * 1024;
+
+	private final WeightedLruCache<IType, CachedMethods> cache = new WeightedLruCache<>(MEMORY_BUDGET / 8,
+			cached -> 16 + 48L * cached.methods.length);
+	private final WeightedLruCache<IMethod, String[]> parameterNamesCache = new WeightedLruCache<>(
+			MEMORY_BUDGET / 8, JavaGlueModelCacheService::weigh);
+	private final WeightedLruCache<ICompilationUnit, LineTable> lineTableCache = new WeightedLruCache<>(
+			MEMORY_BUDGET / 4, table -> 24 + 4L * table.lineOffsets.length);
+	private final WeightedLruCache<IMethod, CachedJavadoc> javadocCache = new WeightedLruCache<>(
+			MEMORY_BUDGET / 2, cached -> 16 + (cached.javadoc == null ? 0 : 2L * cached.javadoc.length()));
+
+	private final IElementChangedListener removalListener = this::elementChanged;
 
 	private static final class CachedMethods {
 		final long modStamp;
@@ -48,13 +68,45 @@ public class JavaGlueModelCacheService implements JavaGlueModelCache {
 		}
 	}
 
-	private static final class CachedDocument {
+	/**
+	 * The start offsets of all lines of a compilation unit, which is all that is needed to map a
+	 * source offset to a line, instead of a full {@link org.eclipse.jface.text.Document} copy of
+	 * its content.
+	 */
+	private static final class LineTable {
 		final long modStamp;
-		final Document document;
+		final int length;
+		final int[] lineOffsets;
 
-		CachedDocument(long modStamp, Document document) {
+		LineTable(long modStamp, String content) {
 			this.modStamp = modStamp;
-			this.document = document;
+			this.length = content.length();
+			int[] offsets = new int[16];
+			int lines = 1;
+			for (int i = 0; i < length; i++) {
+				char c = content.charAt(i);
+				if (c == '\r' && i + 1 < length && content.charAt(i + 1) == '\n') {
+					i++;
+				} else if (c != '\r' && c != '\n') {
+					continue;
+				}
+				if (lines == offsets.length) {
+					offsets = Arrays.copyOf(offsets, lines * 2);
+				}
+				offsets[lines++] = i + 1;
+			}
+			this.lineOffsets = Arrays.copyOf(offsets, lines);
+		}
+
+		/**
+		 * @return the 0-based line of the offset, or {@code -1} if it is outside of the content
+		 */
+		int getLineOfOffset(int offset) {
+			if (offset < 0 || offset > length) {
+				return -1;
+			}
+			int index = Arrays.binarySearch(lineOffsets, offset);
+			return index >= 0 ? index : -index - 2;
 		}
 	}
 
@@ -68,14 +120,24 @@ public class JavaGlueModelCacheService implements JavaGlueModelCache {
 		}
 	}
 
+	@Activate
+	void activate() {
+		JavaCore.addElementChangedListener(removalListener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	@Deactivate
+	void deactivate() {
+		JavaCore.removeElementChangedListener(removalListener);
+		if (Tracing.PERF_STEPS) {
+			Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "JavaGlueModelCache: " + getStatistics());
+		}
+	}
+
 	@Override
 	public IMethod[] getMethods(IType type) {
 		IResource resource = type.getResource();
 		long modStamp = resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
-		return cache.compute(type, (t, existing) -> {
-			if (existing != null && existing.modStamp == modStamp) {
-				return existing;
-			}
+		return cache.get(type, existing -> existing.modStamp == modStamp, t -> {
 			long start = Tracing.PERF_STEPS ? System.nanoTime() : 0;
 			IMethod[] methods;
 			try {
@@ -94,20 +156,35 @@ public class JavaGlueModelCacheService implements JavaGlueModelCache {
 
 	@Override
 	public String[] getParameterNames(IMethod method) throws JavaModelException {
-		String[] cached = parameterNamesCache.get(method);
-		if (cached != null) {
-			return cached;
-		}
-		long start = Tracing.PERF_STEPS ? System.nanoTime() : 0;
-		String[] resolved = JDTUtil.resolveMethodParameterNames(method);
-		parameterNamesCache.put(method, resolved);
-		if (Tracing.PERF_STEPS) {
-			Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "JavaGlueModelCache: cached parameter name(s) for '"
-					+ method.getElementName() + "' in " + ((System.nanoTime() - start) / 1_000_000) + "ms");
+		JavaModelException[] failure = new JavaModelException[1];
+		String[] resolved = parameterNamesCache.get(method, existing -> true, m -> {
+			long start = Tracing.PERF_STEPS ? System.nanoTime() : 0;
+			try {
+				String[] names = JDTUtil.resolveMethodParameterNames(m);
+				if (Tracing.PERF_STEPS) {
+					Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "JavaGlueModelCache: cached parameter name(s) for '"
+							+ m.getElementName() + "' in " + ((System.nanoTime() - start) / 1_000_000) + "ms");
+				}
+				return names;
+			} catch (JavaModelException e) {
+				failure[0] = e;
+				return null;
+			}
+		});
+		if (failure[0] != null) {
+			throw failure[0];
 		}
 		return resolved;
 	}
 
+	private static long weigh(String[] names) {
+		long weight = 16 + 8L * names.length;
+		for (String name : names) {
+			weight += 40 + name.length();
+		}
+		return weight;
+	}
+
 	@Override
 	public IMethod[] resolveTypeMethod(IMethod[] typeMethods, CucumberCodeLocation codeLocation)
 			throws JavaModelException {
@@ -162,53 +239,43 @@ public class JavaGlueModelCacheService implements JavaGlueModelCache {
 
 	@Override
 	public int getLineNumber(ICompilationUnit compUnit, ISourceReference annotation) throws JavaModelException {
-		Document document = getDocument(compUnit);
-		try {
-			return document.getLineOfOffset(annotation.getSourceRange().getOffset()) + 1;
-		} catch (BadLocationException e) {
-			return -1;
-		}
+		int line = getLineTable(compUnit).getLineOfOffset(annotation.getSourceRange().getOffset());
+		return line >= 0 ? line + 1 : -1;
 	}
 
-	private Document getDocument(ICompilationUnit compUnit) {
+	private LineTable getLineTable(ICompilationUnit compUnit) {
 		IResource resource = compUnit.getResource();
 		long modStamp = resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
-		return documentCache.compute(compUnit, (cu, existing) -> {
-			if (existing != null && existing.modStamp == modStamp) {
-				return existing;
-			}
+		return lineTableCache.get(compUnit, existing -> existing.modStamp == modStamp, cu -> {
 			long start = Tracing.PERF_STEPS ? System.nanoTime() : 0;
-			Document document;
+			LineTable table;
 			try {
-				document = new Document(cu.getBuffer().getContents());
+				table = new LineTable(modStamp, cu.getBuffer().getContents());
 			} catch (JavaModelException e) {
-				document = new Document("");
+				table = new LineTable(modStamp, "");
 			}
 			if (Tracing.PERF_STEPS) {
 				long elapsed = (System.nanoTime() - start) / 1_000_000;
 				if (elapsed >= SLOW_MISS_THRESHOLD_MS) {
 					Tracing.get().trace(Tracing.PERFORMANCE_STEPS,
-							"JavaGlueModelCache: SLOW MISS for '" + cu.getElementName() + "' - built Document in "
+							"JavaGlueModelCache: SLOW MISS for '" + cu.getElementName() + "' - built line table in "
 									+ elapsed + "ms (modStamp=" + modStamp
 									+ ") - check for concurrent reconciler/build/DSL-support activity");
 				} else {
 					Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "JavaGlueModelCache: MISS for '"
-							+ cu.getElementName() + "' - built Document in " + elapsed + "ms (modStamp=" + modStamp
+							+ cu.getElementName() + "' - built line table in " + elapsed + "ms (modStamp=" + modStamp
 							+ ")");
 				}
 			}
-			return new CachedDocument(modStamp, document);
-		}).document;
+			return table;
+		});
 	}
 
 	@Override
 	public String getJavadoc(IMethod method) {
 		IResource resource = method.getResource();
 		long modStamp = resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
-		return javadocCache.compute(method, (m, existing) -> {
-			if (existing != null && existing.modStamp == modStamp) {
-				return existing;
-			}
+		return javadocCache.get(method, existing -> existing.modStamp == modStamp, m -> {
 			long start = Tracing.PERF_STEPS ? System.nanoTime() : 0;
 			String javadoc = renderJavadoc(m);
 			if (Tracing.PERF_STEPS) {
@@ -220,6 +287,50 @@ public class JavaGlueModelCacheService implements JavaGlueModelCache {
 		}).javadoc;
 	}
 
+	@Override
+	public Statistics getStatistics() {
+		return cache.getStatistics().plus(parameterNamesCache.getStatistics())
+				.plus(lineTableCache.getStatistics()).plus(javadocCache.getStatistics());
+	}
+
+	/**
+	 * Evicts the entries of elements that were removed from the Java model together with the entries
+	 * of their children, a closed project or a package fragment root removed from the classpath is
+	 * treated as removed as well
+	 */
+	private void elementChanged(ElementChangedEvent event) {
+		List<IJavaElement> removed = new ArrayList<>();
+		collectRemoved(event.getDelta(), removed);
+		if (removed.isEmpty()) {
+			return;
+		}
+		Predicate<IJavaElement> filter = element -> {
+			for (IJavaElement e = element; e != null; e = e.getParent()) {
+				if (removed.contains(e)) {
+					return true;
+				}
+			}
+			return false;
+		};
+		int evicted = cache.removeIf(filter) + parameterNamesCache.removeIf(filter) + lineTableCache.removeIf(filter)
+				+ javadocCache.removeIf(filter);
+		if (Tracing.PERF_STEPS && evicted > 0) {
+			Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "JavaGlueModelCache: evicted " + evicted
+					+ " entries of " + removed.size() + " removed element(s) - " + getStatistics());
+		}
+	}
+
+	private static void collectRemoved(IJavaElementDelta delta, List<IJavaElement> removed) {
+		if (delta.getKind() == IJavaElementDelta.REMOVED
+				|| (delta.getFlags() & (IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+			removed.add(delta.getElement());
+			return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			collectRemoved(child, removed);
+		}
+	}
+
 	private static String renderJavadoc(IMethod method) {
 		try {
 			String content = JavadocContentAccess2.getHTMLContent(method, true);
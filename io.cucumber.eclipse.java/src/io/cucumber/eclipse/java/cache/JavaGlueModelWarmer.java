@@ -0,0 +1,184 @@
+package io.cucumber.eclipse.java.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.ui.PlatformUI;
+
+import io.cucumber.eclipse.editor.Tracing;
+import io.cucumber.eclipse.java.Activator;
+import io.cucumber.eclipse.java.plugins.CucumberCodeLocation;
+import io.cucumber.eclipse.java.preferences.CucumberJavaPreferences;
+
+/**
+ * Prefetches the {@link JavaGlueModelCache} entries of the step definitions of
+ * a project, so the first hover, Javadoc popup or open declaration after a glue
+ * change does not have to query the Java model.
+ * <p>
+ * A warmer is scheduled after each successful glue validation and resolves the
+ * type, methods, parameter names, line number and Javadoc of every step
+ * definition of the project. It runs with a low priority, stops once the
+ * configured budget (see {@link CucumberJavaPreferences#getGluePrefetchBudget()})
+ * is used up. As soon as the user presses a key or a mouse button the warmer
+ * is cancelled and rescheduled, entries that were prefetched before are cache
+ * hits, so it continues where it stopped once the user is idle again.
+ * </p>
+ */
+public final class JavaGlueModelWarmer extends Job {
+
+	private static final long SCHEDULE_DELAY = 1000;
+
+	private static final Map<IJavaProject, JavaGlueModelWarmer> WARMERS = new ConcurrentHashMap<>();
+
+	private static final Listener USER_ACTIVITY = event -> postponeAll();
+
+	private static Display display;
+
+	private final IJavaProject javaProject;
+
+	private volatile Collection<CucumberCodeLocation> codeLocations;
+
+	private JavaGlueModelWarmer(IJavaProject javaProject) {
+		super("Prefetching step definitions of " + javaProject.getElementName());
+		this.javaProject = javaProject;
+		setSystem(true);
+		setPriority(DECORATE);
+	}
+
+	/**
+	 * Schedules prefetching the given step definitions, a pending prefetch of the
+	 * same project is replaced
+	 *
+	 * @param javaProject   the project the step definitions belong to
+	 * @param codeLocations the code locations of the step definitions
+	 */
+	public static void schedule(IJavaProject javaProject, Collection<CucumberCodeLocation> codeLocations) {
+		if (codeLocations.isEmpty() || CucumberJavaPreferences.of().getGluePrefetchBudget() <= 0) {
+			return;
+		}
+		listenForUserActivity();
+		JavaGlueModelWarmer warmer = WARMERS.computeIfAbsent(javaProject, JavaGlueModelWarmer::new);
+		warmer.cancel();
+		warmer.codeLocations = codeLocations;
+		warmer.schedule(SCHEDULE_DELAY);
+	}
+
+	/**
+	 * Cancels all warmers and stops listening for user activity
+	 */
+	public static void shutdown() {
+		WARMERS.values().forEach(Job::cancel);
+		WARMERS.clear();
+		synchronized (JavaGlueModelWarmer.class) {
+			Display current = display;
+			display = null;
+			if (current != null && !current.isDisposed()) {
+				current.asyncExec(() -> {
+					current.removeFilter(SWT.KeyDown, USER_ACTIVITY);
+					current.removeFilter(SWT.MouseDown, USER_ACTIVITY);
+				});
+			}
+		}
+	}
+
+	private static synchronized void listenForUserActivity() {
+		if (display != null || !PlatformUI.isWorkbenchRunning()) {
+			return;
+		}
+		Display current = PlatformUI.getWorkbench().getDisplay();
+		display = current;
+		current.asyncExec(() -> {
+			current.addFilter(SWT.KeyDown, USER_ACTIVITY);
+			current.addFilter(SWT.MouseDown, USER_ACTIVITY);
+		});
+	}
+
+	private static void postponeAll() {
+		for (JavaGlueModelWarmer warmer : WARMERS.values()) {
+			if (warmer.getState() != NONE) {
+				// continue once the user is idle again
+				warmer.cancel();
+				warmer.schedule(SCHEDULE_DELAY);
+			}
+		}
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		Collection<CucumberCodeLocation> locations = codeLocations;
+		JavaGlueModelCache modelCache = Activator.getJavaGlueModelCache();
+		if (locations == null || modelCache == null || !javaProject.exists()) {
+			return Status.OK_STATUS;
+		}
+		long budget = CucumberJavaPreferences.of().getGluePrefetchBudget();
+		long start = System.currentTimeMillis();
+		Map<String, List<CucumberCodeLocation>> locationsByType = new LinkedHashMap<>();
+		for (CucumberCodeLocation location : locations) {
+			if (location != null && !location.getTypeName().isBlank()) {
+				locationsByType.computeIfAbsent(location.getTypeName(), t -> new ArrayList<>()).add(location);
+			}
+		}
+		int warmed = 0;
+		String stopReason = "complete";
+		try {
+			for (Map.Entry<String, List<CucumberCodeLocation>> entry : locationsByType.entrySet()) {
+				if (monitor.isCanceled()) {
+					stopReason = "cancelled";
+					break;
+				}
+				if (System.currentTimeMillis() - start > budget) {
+					stopReason = "budget exceeded";
+					break;
+				}
+				IType type = javaProject.findType(entry.getKey(), (IProgressMonitor) null);
+				if (type == null) {
+					continue;
+				}
+				IMethod[] typeMethods = modelCache.getMethods(type);
+				for (CucumberCodeLocation location : entry.getValue()) {
+					if (monitor.isCanceled()) {
+						break;
+					}
+					IMethod[] methods = modelCache.resolveTypeMethod(typeMethods, location);
+					if (methods != null && methods.length == 1) {
+						IMethod method = methods[0];
+						if (method.getCompilationUnit() != null) {
+							modelCache.getLineNumber(method.getCompilationUnit(), method);
+						}
+						modelCache.getJavadoc(method);
+						warmed++;
+					}
+				}
+			}
+		} catch (JavaModelException | RuntimeException e) {
+			// the glue might have changed meanwhile, the next validation schedules
+			// the warmer again
+			stopReason = "failed: " + e;
+		}
+		if (!monitor.isCanceled() && codeLocations == locations) {
+			codeLocations = null;
+		}
+		if (Tracing.PERF_STEPS) {
+			Tracing.get().trace(Tracing.PERFORMANCE_STEPS,
+					"JavaGlueModelWarmer: prefetched " + warmed + "/" + locations.size() + " step definition(s) of '"
+							+ javaProject.getElementName() + "' in " + (System.currentTimeMillis() - start) + "ms ("
+							+ stopReason + ")");
+		}
+		return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+	}
+}
@@ -0,0 +1,123 @@
+package io.cucumber.eclipse.java.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A least recently used cache bounded by the estimated memory of its entries.
+ * <p>
+ * Values are loaded outside of the cache lock, so a slow load does not block
+ * lookups of other keys, two threads missing the same key at the same time
+ * might both load it, the last one wins.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class WeightedLruCache<K, V> {
+
+	/**
+	 * rough memory of a key, its map entry and the value wrapper in bytes
+	 */
+	static final long ENTRY_OVERHEAD = 96;
+
+	private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+	private final ToLongFunction<V> weigher;
+
+	private final long maxWeight;
+
+	private long weight;
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	/**
+	 * @param maxWeight the memory budget in bytes
+	 * @param weigher   estimates the memory of a value in bytes
+	 */
+	WeightedLruCache(long maxWeight, ToLongFunction<V> weigher) {
+		this.maxWeight = maxWeight;
+		this.weigher = weigher;
+	}
+
+	/**
+	 * Returns the cached value of a key, if there is none or it is no longer
+	 * valid a new value is loaded
+	 *
+	 * @param key    the key
+	 * @param valid  checks if a cached value is still up to date
+	 * @param loader loads the value of a key
+	 * @return the cached or loaded value
+	 */
+	V get(K key, Predicate<V> valid, Function<K, V> loader) {
+		synchronized (this) {
+			V cached = entries.get(key);
+			if (cached != null && valid.test(cached)) {
+				hits++;
+				return cached;
+			}
+			misses++;
+		}
+		V loaded = loader.apply(key);
+		if (loaded != null) {
+			put(key, loaded);
+		}
+		return loaded;
+	}
+
+	private synchronized void put(K key, V value) {
+		V previous = entries.put(key, value);
+		if (previous != null) {
+			weight -= weigh(previous);
+		}
+		weight += weigh(value);
+		Iterator<V> iterator = entries.values().iterator();
+		while (weight > maxWeight && iterator.hasNext()) {
+			V eldest = iterator.next();
+			if (eldest == value) {
+				// never evict the value that was just loaded
+				break;
+			}
+			iterator.remove();
+			weight -= weigh(eldest);
+			evictions++;
+		}
+	}
+
+	/**
+	 * Removes all entries whose key matches the given filter
+	 *
+	 * @param filter the keys to remove
+	 * @return the number of removed entries
+	 */
+	synchronized int removeIf(Predicate<? super K> filter) {
+		int removed = 0;
+		Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<K, V> entry = iterator.next();
+			if (filter.test(entry.getKey())) {
+				iterator.remove();
+				weight -= weigh(entry.getValue());
+				evictions++;
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	synchronized JavaGlueModelCache.Statistics getStatistics() {
+		return new JavaGlueModelCache.Statistics(entries.size(), weight, maxWeight, hits, misses, evictions);
+	}
+
+	private long weigh(V value) {
+		return ENTRY_OVERHEAD + weigher.applyAsLong(value);
+	}
+}
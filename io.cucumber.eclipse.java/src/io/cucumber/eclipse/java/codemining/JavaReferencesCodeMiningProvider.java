@@ -6,7 +6,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
@@ -37,6 +36,9 @@ import org.eclipse.ui.dialogs.ElementListSelectionDialog;
 
 import io.cucumber.eclipse.editor.EditorLogging;
 import io.cucumber.eclipse.editor.SWTUtil;
+import io.cucumber.eclipse.editor.codemining.CodeMiningModel;
+import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
+import io.cucumber.eclipse.editor.document.GherkinEditorDocumentManager;
 import io.cucumber.eclipse.java.Activator;
 import io.cucumber.eclipse.java.JDTUtil;
 import io.cucumber.eclipse.java.cache.JavaGlueModelCache;
@@ -71,8 +73,12 @@ public class JavaReferencesCodeMiningProvider implements ICodeMiningProvider {
 						JavaGlueStore glueStore = Activator.getJavaGlueStore();
 						if (glueStore != null) {
 							Collection<MatchedStep<?>> steps = glueStore.getMatchedSteps(document);
-							if (!steps.isEmpty()) {
-								return computeCodeMinings(document, javaProject, steps);
+							GherkinEditorDocument editorDocument = GherkinEditorDocumentManager.get(document);
+							if (!steps.isEmpty() && editorDocument != null) {
+								// the matched steps are replaced by every validation of the document
+								return CodeMiningModel.of(editorDocument).getCodeMinings(this,
+										new IdentityKey(steps, javaProject), () -> computeHooks(steps),
+										hooks -> createCodeMining(document, javaProject, hooks));
 							}
 						}
 					}
@@ -85,32 +91,56 @@ public class JavaReferencesCodeMiningProvider implements ICodeMiningProvider {
 		});
 	}
 
-	private List<? extends ICodeMining> computeCodeMinings(IDocument document, IJavaProject javaProject,
-			Collection<MatchedStep<?>> steps) {
-		List<ICodeMining> list = new ArrayList<>();
+	private static List<LineHooks> computeHooks(Collection<MatchedStep<?>> steps) {
+		List<LineHooks> list = new ArrayList<>();
 		Map<Integer, List<MatchedHookStep>> stepByLine = steps.stream().filter(MatchedHookStep.class::isInstance)
 				.map(MatchedHookStep.class::cast).collect(Collectors.groupingBy(step -> step.getLocation().getLine()));
 		for (Entry<Integer, List<MatchedHookStep>> entry : stepByLine.entrySet()) {
 			int lineNumber = entry.getKey() - 1;
 			Map<HookType, List<MatchedHookStep>> hooksByType = entry.getValue().stream()
 					.collect(Collectors.groupingBy(hookStep -> hookStep.getTestStep().getHookType()));
-			hooksByType.entrySet().stream().sorted((e1, e2) -> e1.getKey().ordinal() - e2.getKey().ordinal()).map(e -> {
-				try {
-					return new HooksCodeMining(lineNumber, document, JavaReferencesCodeMiningProvider.this, e.getKey(),
-							e.getValue(), javaProject);
-				} catch (BadLocationException ble) {
-					return null;
-				}
-			}).filter(Objects::nonNull).forEach(list::add);
+			hooksByType.entrySet().stream().sorted((e1, e2) -> e1.getKey().ordinal() - e2.getKey().ordinal())
+					.map(e -> new LineHooks(lineNumber, e.getKey(), e.getValue())).forEach(list::add);
 		}
 		return list;
 	}
 
+	private ICodeMining createCodeMining(IDocument document, IJavaProject javaProject, LineHooks hooks) {
+		try {
+			return new HooksCodeMining(hooks.lineNumber(), document, this, hooks.hookType(), hooks.steps(),
+					javaProject);
+		} catch (BadLocationException e) {
+			return null;
+		}
+	}
+
 	@Override
 	public void dispose() {
 
 	}
 
+	/**
+	 * Identifies the matched steps a list of code minings was computed from
+	 */
+	private record IdentityKey(Collection<MatchedStep<?>> steps, IJavaProject javaProject) {
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof IdentityKey other && steps == other.steps && javaProject.equals(other.javaProject);
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(steps);
+		}
+	}
+
+	/**
+	 * The hooks of one type that run before the given (0-based) line
+	 */
+	private record LineHooks(int lineNumber, HookType hookType, List<MatchedHookStep> steps) {
+	}
+
 	private static final class HooksCodeMining extends LineHeaderCodeMining {
 
 		private HookType hookType;
@@ -19,6 +19,7 @@ public interface CucumberFeatureLaunchConstants {
 	public static final String ATTR_IS_USAGE = "is usage formatter";
 	public static final String ATTR_IS_JUNIT = "is junit formatter";
 	public static final String ATTR_IS_RERUN = "is rerun formatter";
+	public static final String ATTR_IS_BINARY_MESSAGES = "is binary message encoding";
 
 	// TODO check if we actually should use this...
 //	public static final String ATTR_INTERNAL_LAUNCHER = "internal_launcher";
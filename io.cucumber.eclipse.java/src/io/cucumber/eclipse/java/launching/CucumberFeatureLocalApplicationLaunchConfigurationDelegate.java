@@ -84,6 +84,7 @@ public class CucumberFeatureLocalApplicationLaunchConfigurationDelegate extends
 		boolean isHtml = false;
 		boolean isRerun = false;
 		boolean isUsage = false;
+		boolean isBinaryMessages = false;
 
 		featurePath = substituteVar(config.getAttribute(CucumberFeatureLaunchConstants.ATTR_FEATURE_PATH, featurePath));
 		gluePath = config.getAttribute(CucumberFeatureLaunchConstants.ATTR_GLUE_PATH, gluePath);
@@ -95,6 +96,8 @@ public class CucumberFeatureLocalApplicationLaunchConfigurationDelegate extends
 		isHtml = config.getAttribute(CucumberFeatureLaunchConstants.ATTR_IS_HTML, isHtml);
 		isRerun = config.getAttribute(CucumberFeatureLaunchConstants.ATTR_IS_RERUN, isRerun);
 		isUsage = config.getAttribute(CucumberFeatureLaunchConstants.ATTR_IS_USAGE, isUsage);
+		isBinaryMessages = config.getAttribute(CucumberFeatureLaunchConstants.ATTR_IS_BINARY_MESSAGES,
+				isBinaryMessages);
 
 		if (Tracing.DEBUG_LAUNCHING_ENABLED) {
 			Tracing.get().trace(Tracing.DEBUG_LAUNCHING, "Launching feature: " + featurePath);
@@ -168,6 +171,9 @@ public class CucumberFeatureLocalApplicationLaunchConfigurationDelegate extends
 			args.addAll(Arrays.asList(DebugPlugin.parseArguments(getProgramArguments(config))));
 			String[] finalArgs = args.toArray(new String[0]);
 			runConfig.setProgramArguments(finalArgs);
+			// the debugger suspends while handling step events
+			endpoint.setSynchronousSteps(launchMode == Mode.DEBUG);
+			endpoint.setBinaryEncoding(isBinaryMessages);
 			endpoint.start();
 			launch.addProcess(endpoint);
 
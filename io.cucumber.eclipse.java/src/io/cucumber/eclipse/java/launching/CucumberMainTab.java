@@ -37,6 +37,7 @@ public class CucumberMainTab extends AbstractJavaMainTab implements ILaunchConfi
 	private Button usageCheckbox;
 	private Button junitCheckbox;
 	private Button rerunCheckbox;
+	private Button binaryMessagesCheckbox;
 //	private Button buttonInternal;
 //	private Button buttonExternal;
 
@@ -87,6 +88,7 @@ public class CucumberMainTab extends AbstractJavaMainTab implements ILaunchConfi
 		createFeaturePathEditor(comp);
 		createGluePathEditor(comp);
 		createFormatterOptions(comp);
+		createMessageOptions(comp);
 		setControl(comp);
 	}
 
@@ -139,6 +141,22 @@ public class CucumberMainTab extends AbstractJavaMainTab implements ILaunchConfi
 
 	}
 
+	private void createMessageOptions(Composite comp) {
+		Font font = comp.getFont();
+		Group group = new Group(comp, SWT.NONE);
+		group.setText("IDE Communication:");
+		GridData gd = new GridData(GridData.FILL_HORIZONTAL);
+		group.setLayoutData(gd);
+		GridLayout layout = new GridLayout();
+		layout.numColumns = 1;
+		group.setLayout(layout);
+		group.setFont(font);
+
+		binaryMessagesCheckbox = new Button(group, SWT.CHECK);
+		binaryMessagesCheckbox.addSelectionListener(listener);
+		binaryMessagesCheckbox.setText("binary message encoding (faster for large suites)");
+	}
+
 	private void createGluePathEditor(Composite comp) {
 		Font font = comp.getFont();
 		Group group = new Group(comp, SWT.NONE);
@@ -223,6 +241,8 @@ public class CucumberMainTab extends AbstractJavaMainTab implements ILaunchConfi
 		config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_USAGE, usageCheckbox.getSelection());
 		config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_JUNIT, junitCheckbox.getSelection());
 		config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_RERUN, rerunCheckbox.getSelection());
+		config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_BINARY_MESSAGES,
+				binaryMessagesCheckbox.getSelection());
 //		config.setAttribute(CucumberFeatureLaunchConstants.ATTR_INTERNAL_LAUNCHER, buttonInternal.getSelection());
 		mapResources(config);
 
@@ -253,6 +273,7 @@ public class CucumberMainTab extends AbstractJavaMainTab implements ILaunchConfi
 			config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_USAGE, true);
 			config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_JUNIT, true);
 			config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_RERUN, true);
+			config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_BINARY_MESSAGES, false);
 		}
 
 	}
@@ -287,6 +308,8 @@ public class CucumberMainTab extends AbstractJavaMainTab implements ILaunchConfi
 				CucumberFeatureLaunchUtils.updateFromConfig(config, CucumberFeatureLaunchConstants.ATTR_IS_USAGE));
 		rerunCheckbox.setSelection(
 				CucumberFeatureLaunchUtils.updateFromConfig(config, CucumberFeatureLaunchConstants.ATTR_IS_RERUN));
+		binaryMessagesCheckbox.setSelection(CucumberFeatureLaunchUtils.updateFromConfig(config,
+				CucumberFeatureLaunchConstants.ATTR_IS_BINARY_MESSAGES));
 
 	}
 
@@ -318,6 +341,7 @@ public class CucumberMainTab extends AbstractJavaMainTab implements ILaunchConfi
 		config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_RERUN, false);
 		config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_JSON, false);
 		config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_JUNIT, false);
+		config.setAttribute(CucumberFeatureLaunchConstants.ATTR_IS_BINARY_MESSAGES, false);
 //		config.setAttribute(CucumberFeatureLaunchConstants.ATTR_INTERNAL_LAUNCHER, true);
 	}
 
@@ -137,7 +137,7 @@ public class CucumberRuntimeLauncher implements ILauncher {
 	public static void runFeaturesEmbedded(IJavaProject javaProject, List<Feature> features,
 			Collection<FeatureWithLines> featureFilter, Mode mode, CucumberConsole console, IProgressMonitor monitor,
 			Collection<Expression> tagFilters) throws CoreException {
-		try (CucumberRuntime cucumberRuntime = CucumberRuntime.create(javaProject)) {
+		try (CucumberRuntime cucumberRuntime = CucumberRuntime.createIsolated(javaProject)) {
 			CucumberEclipsePlugin plugin = new CucumberEclipsePlugin(new Consumer<Envelope>() {
 
 				private Map<String, TestStepPerfInfo> map = new HashMap<>();
@@ -1,6 +1,7 @@
 package io.cucumber.eclipse.java.launching;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -183,6 +184,14 @@ public class MessageEndpointProcess extends MessageEndpoint
 		return reader.readEnvelope(buffer, length);
 	}
 
+	@Override
+	protected Envelope readEnvelope(ByteBuffer frame) throws IOException {
+		if (reader == null) {
+			return null;
+		}
+		return reader.readEnvelope(frame);
+	}
+
 	@Override
 	protected void onError(Exception e) {
 		EditorLogging.error("Message Endpoint recived an error", e);
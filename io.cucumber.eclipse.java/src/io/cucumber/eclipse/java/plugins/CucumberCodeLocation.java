@@ -35,6 +35,13 @@ public final class CucumberCodeLocation {
 		}
 	}
 
+	/**
+	 * @return the location string this code location was parsed from
+	 */
+	public String getLocation() {
+		return location;
+	}
+
 	public String getTypeName() {
 		return type;
 	}
@@ -1,6 +1,7 @@
 package io.cucumber.eclipse.java.plugins;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,8 @@ import io.cucumber.plugin.Plugin;
 import io.cucumber.plugin.event.EventPublisher;
 import io.cucumber.plugin.event.HookTestStep;
 import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseStarted;
 import io.cucumber.plugin.event.TestStep;
 import io.cucumber.plugin.event.TestStepFinished;
 
@@ -25,11 +28,27 @@ public class CucumberMatchedStepsPlugin implements Plugin, ConcurrentEventListen
 
 	private Map<URI, Collection<MatchedStep<?>>> matchedStepsByFeature = new ConcurrentHashMap<>();
 
+	private Map<List<String>, List<HookTestStep>> hooksByTags = new ConcurrentHashMap<>();
+
 	@Override
 	public void setEventPublisher(EventPublisher publisher) {
+		publisher.registerHandlerFor(TestCaseStarted.class, this::handleTestCaseStarted);
 		publisher.registerHandlerFor(TestStepFinished.class, this::handleTestStepFinished);
 	}
 
+	private void handleTestCaseStarted(TestCaseStarted event) {
+		TestCase testCase = event.getTestCase();
+		hooksByTags.computeIfAbsent(List.copyOf(testCase.getTags()), tags -> {
+			List<HookTestStep> hooks = new ArrayList<>();
+			for (TestStep testStep : testCase.getTestSteps()) {
+				if (testStep instanceof HookTestStep hookTestStep) {
+					hooks.add(hookTestStep);
+				}
+			}
+			return List.copyOf(hooks);
+		});
+	}
+
 	private void handleTestStepFinished(TestStepFinished event) {
 		URI featureUri = event.getTestCase().getUri();
 		TestStep testStep = event.getTestStep();
@@ -50,4 +69,12 @@ public class CucumberMatchedStepsPlugin implements Plugin, ConcurrentEventListen
 		return matchedStepsByFeature.getOrDefault(featureUri, List.of());
 	}
 
+	/**
+	 * @return the hooks that apply to a test case, keyed by the tags of the test
+	 *         cases they where recorded for
+	 */
+	public Map<List<String>, List<HookTestStep>> getHooksByTags() {
+		return hooksByTags;
+	}
+
 }
@@ -1,5 +1,6 @@
 package io.cucumber.eclipse.java.plugins;
 
+import io.cucumber.plugin.event.Location;
 import io.cucumber.plugin.event.PickleStepTestStep;
 
 /**
@@ -13,4 +14,15 @@ public final class MatchedPickleStep extends MatchedStep<PickleStepTestStep> {
 	public MatchedPickleStep(PickleStepTestStep pickleStep) {
 		super(pickleStep, pickleStep.getStep().getLocation(), new CucumberCodeLocation(pickleStep.getCodeLocation()));
 	}
+
+	/**
+	 * Creates a matched step that reuses the match of a previous run for a step
+	 * with the same text at a (possibly) different location
+	 * 
+	 * @param pickleStep the previously matched step
+	 * @param location   the location of the step this match applies to
+	 */
+	public MatchedPickleStep(PickleStepTestStep pickleStep, Location location) {
+		super(pickleStep, location, new CucumberCodeLocation(pickleStep.getCodeLocation()));
+	}
 }
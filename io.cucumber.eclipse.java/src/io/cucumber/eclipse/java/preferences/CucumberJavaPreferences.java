@@ -48,6 +48,9 @@ public final record CucumberJavaPreferences(IPreferenceStore store, IEclipsePref
 	static final String PREF_ACTIVE_FILTERS_LIST = Activator.PLUGIN_ID + ".active_filters";
 	static final String PREF_INACTIVE_FILTERS_LIST = Activator.PLUGIN_ID + ".inactive_filters";
 	static final String PREF_SHOW_HOOK_ANNOTATIONS = Activator.PLUGIN_ID + ".show_hooks";
+	static final String PREF_GLUE_PREFETCH_BUDGET = Activator.PLUGIN_ID + ".glue_prefetch_budget";
+	public static final int DEFAULT_GLUE_PREFETCH_BUDGET = 2000;
+	public static final int MAX_GLUE_PREFETCH_BUDGET = 60000;
 
 	/**
 	 * Creates a preferences instance using workspace settings only.
@@ -141,4 +144,33 @@ public final record CucumberJavaPreferences(IPreferenceStore store, IEclipsePref
 	protected static void setShowHooks(IPreferenceStore store, boolean showHooks) {
 		store.setValue(CucumberJavaPreferences.PREF_SHOW_HOOK_ANNOTATIONS, showHooks);
 	}
+
+	/**
+	 * Gets the time in milliseconds that may be spent to prefetch the Java model
+	 * of the step definitions after a glue validation.
+	 * <p>
+	 * This is a workspace wide setting, project-specific settings are not
+	 * considered.
+	 * </p>
+	 * 
+	 * @return the prefetch budget in milliseconds, <code>0</code> if prefetching
+	 *         is disabled
+	 */
+	public int getGluePrefetchBudget() {
+		if (!store.contains(PREF_GLUE_PREFETCH_BUDGET)) {
+			return DEFAULT_GLUE_PREFETCH_BUDGET;
+		}
+		return Math.max(0, Math.min(store.getInt(PREF_GLUE_PREFETCH_BUDGET), MAX_GLUE_PREFETCH_BUDGET));
+	}
+
+	/**
+	 * Sets the workspace preference for the glue prefetch budget.
+	 * 
+	 * @param store  the preference store to update
+	 * @param budget the prefetch budget in milliseconds, <code>0</code> disables
+	 *               prefetching
+	 */
+	protected static void setGluePrefetchBudget(IPreferenceStore store, int budget) {
+		store.setValue(PREF_GLUE_PREFETCH_BUDGET, budget);
+	}
 }
@@ -9,6 +9,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
@@ -28,6 +29,7 @@ public class CucumberJavaPreferencesPage extends PreferencePage implements IWork
 	public static final String PAGE_ID = "cucumber.eclipse.editor.steps.jdt.CucumberJavaPreferencesPage"; //$NON-NLS-1$
 
 	private Button showHookAnnotations;
+	private Spinner gluePrefetchBudget;
 	private GlueCodePackageTable glueCodePackageTable;
 
 	private CucumberJavaPreferences javaPreferences;
@@ -84,6 +86,12 @@ public class CucumberJavaPreferencesPage extends PreferencePage implements IWork
 
 		showHookAnnotations = createHookButton(container, javaPreferences.showHooks());
 
+		Composite prefetch = SWTFactory.createComposite(container, container.getFont(), 2, 1,
+				GridData.FILL_HORIZONTAL, 0, 0);
+		SWTFactory.createLabel(prefetch, "Prefetch step definitions after validation for at most (ms):", 1);
+		gluePrefetchBudget = new Spinner(prefetch, SWT.BORDER);
+		gluePrefetchBudget.setValues(javaPreferences.getGluePrefetchBudget(), 0,
+				CucumberJavaPreferences.MAX_GLUE_PREFETCH_BUDGET, 0, 500, 1000);
 	}
 
 	public static Button createHookButton(Composite container, boolean initialValue) {
@@ -101,6 +109,7 @@ public class CucumberJavaPreferencesPage extends PreferencePage implements IWork
 		getPreferenceStore().setValue(CucumberJavaPreferences.PREF_INACTIVE_FILTERS_LIST, filterStrings.inactive());
 
 		CucumberJavaPreferences.setShowHooks(getPreferenceStore(), showHookAnnotations.getSelection());
+		CucumberJavaPreferences.setGluePrefetchBudget(getPreferenceStore(), gluePrefetchBudget.getSelection());
 		
 		boolean result = super.performOk();
 		if (result) {
@@ -114,6 +123,7 @@ public class CucumberJavaPreferencesPage extends PreferencePage implements IWork
 		glueCodePackageTable.performDefaults();
 		showHookAnnotations.setSelection(
 				getPreferenceStore().getDefaultBoolean(CucumberJavaPreferences.PREF_SHOW_HOOK_ANNOTATIONS));
+		gluePrefetchBudget.setSelection(CucumberJavaPreferences.DEFAULT_GLUE_PREFETCH_BUDGET);
 		super.performDefaults();
 	}
 
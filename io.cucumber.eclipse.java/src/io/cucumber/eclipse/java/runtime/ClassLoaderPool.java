@@ -0,0 +1,583 @@
+package io.cucumber.eclipse.java.runtime;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.launching.JavaRuntime;
+
+import io.cucumber.eclipse.editor.EditorLogging;
+import io.cucumber.eclipse.editor.Tracing;
+import io.cucumber.eclipse.java.JDTUtil;
+
+/**
+ * Keeps one classloader per java project alive between {@link CucumberRuntime}
+ * runs, so glue classes are only loaded again when something they depend on has
+ * changed.
+ * <p>
+ * A pooled classloader is keyed by a fingerprint of the resolved runtime
+ * classpath plus the output stamps of the project and all projects it requires.
+ * Output stamps are bumped whenever a class file changes in the output folders
+ * of one of these projects, and an entry is dropped as soon as JDT reports a
+ * resolved classpath change, so a stale classloader is never handed out again.
+ * Classloaders that are still in use when they become stale are closed once the
+ * last user releases them.
+ * </p>
+ * <p>
+ * Besides the output stamp of a project a stamp per package is maintained, so
+ * caches that only depend on the glue can ignore changes of other classes (see
+ * {@link #glueFingerprint(IJavaProject, Collection)}).
+ * </p>
+ */
+public final class ClassLoaderPool {
+
+	private static final Map<IJavaProject, PooledClassLoader> POOL = new ConcurrentHashMap<>();
+
+	private static final Map<String, Long> OUTPUT_STAMPS = new ConcurrentHashMap<>();
+
+	/**
+	 * the stamps of the packages (as paths relative to the output folder) with
+	 * changed class files of each project
+	 */
+	private static final Map<String, Map<String, Long>> PACKAGE_STAMPS = new ConcurrentHashMap<>();
+
+	/**
+	 * marks a change that could not be attributed to a package
+	 */
+	private static final String ANY_PACKAGE = "*";
+
+	/**
+	 * the full paths of the output folders of each project, dropped when the
+	 * classpath of the project changes
+	 */
+	private static final Map<String, Set<IPath>> OUTPUT_LOCATIONS = new ConcurrentHashMap<>();
+
+	/**
+	 * the cached persistent glue fingerprints per project and glue filter, cleared
+	 * whenever a class file or a classpath changes
+	 */
+	private static final Map<IJavaProject, Map<List<String>, Long>> PERSISTENT_FINGERPRINTS = new ConcurrentHashMap<>();
+
+	/**
+	 * bumped together with clearing the persistent fingerprints, so a fingerprint
+	 * computed concurrently to a change is not cached
+	 */
+	private static final AtomicLong CLASSES_GENERATION = new AtomicLong();
+
+	private static final AtomicLong HITS = new AtomicLong();
+
+	private static final AtomicLong MISSES = new AtomicLong();
+
+	private static IElementChangedListener elementListener;
+
+	private static IResourceChangeListener resourceListener;
+
+	private ClassLoaderPool() {
+	}
+
+	/**
+	 * Acquires a classloader for the given project, the caller must call
+	 * {@link PooledClassLoader#release()} once the classloader is no longer used
+	 *
+	 * @param javaProject the project to get a classloader for
+	 * @return a pooled classloader that is valid for the current classpath state
+	 * @throws CoreException if the runtime classpath can't be computed
+	 */
+	static PooledClassLoader acquire(IJavaProject javaProject) throws CoreException {
+		listenForChanges();
+		String[] classPathEntries = JavaRuntime.computeDefaultRuntimeClassPath(javaProject);
+		long fingerprint = fingerprint(javaProject, classPathEntries);
+		synchronized (POOL) {
+			PooledClassLoader pooled = POOL.get(javaProject);
+			if (pooled != null && pooled.fingerprint == fingerprint && !pooled.stale) {
+				pooled.references.incrementAndGet();
+				long hits = HITS.incrementAndGet();
+				if (Tracing.PERF_STEPS) {
+					Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "ClassLoaderPool: HIT for '"
+							+ javaProject.getElementName() + "' (hits=" + hits + ", misses=" + MISSES.get() + ")");
+				}
+				return pooled;
+			}
+			if (pooled != null) {
+				pooled.invalidate();
+			}
+			PooledClassLoader created = new PooledClassLoader(javaProject, fingerprint,
+					JDTUtil.createClassloader(javaProject, classPathEntries, JDTUtil.class.getClassLoader()));
+			created.references.incrementAndGet();
+			POOL.put(javaProject, created);
+			long misses = MISSES.incrementAndGet();
+			if (Tracing.PERF_STEPS) {
+				Tracing.get().trace(Tracing.PERFORMANCE_STEPS,
+						"ClassLoaderPool: MISS for '" + javaProject.getElementName() + "' ("
+								+ (pooled == null ? "not pooled" : "fingerprint changed") + ", hits=" + HITS.get()
+								+ ", misses=" + misses + ")");
+			}
+			return created;
+		}
+	}
+
+	/**
+	 * Computes the fingerprint a classloader for the given project would currently
+	 * be pooled with, this allows other caches to detect that classes visible to
+	 * the project might have changed without creating a classloader.
+	 * 
+	 * @param javaProject the project to compute the fingerprint for
+	 * @return the current fingerprint
+	 * @throws CoreException if the runtime classpath can't be computed
+	 */
+	public static long fingerprint(IJavaProject javaProject) throws CoreException {
+		listenForChanges();
+		return fingerprint(javaProject, JavaRuntime.computeDefaultRuntimeClassPath(javaProject));
+	}
+
+	/**
+	 * Computes a fingerprint of the resolved runtime classpath of the given project
+	 * only. Unlike {@link #fingerprint(IJavaProject)} it does not reflect changes
+	 * of class files and therefore stays stable across restarts, what makes it
+	 * suitable to key data that is persisted and verified later on.
+	 *
+	 * @param javaProject the project to compute the fingerprint for
+	 * @return the fingerprint of the classpath
+	 * @throws CoreException if the runtime classpath can't be computed
+	 */
+	public static long classpathFingerprint(IJavaProject javaProject) throws CoreException {
+		return classpathFingerprint(JavaRuntime.computeDefaultRuntimeClassPath(javaProject));
+	}
+
+	/**
+	 * Computes a fingerprint of the resolved runtime classpath of the given project
+	 * plus the stamps of the glue packages in the project and all projects it
+	 * requires. Unlike {@link #fingerprint(IJavaProject)} it only changes if class
+	 * files inside the glue packages change, so caches of the step definitions
+	 * survive changes of other classes.
+	 *
+	 * @param javaProject the project to compute the fingerprint for
+	 * @param glueFilter  the glue paths of the project, if empty all packages are
+	 *                    considered glue
+	 * @return the fingerprint of the glue
+	 * @throws CoreException if the runtime classpath can't be computed
+	 */
+	public static long glueFingerprint(IJavaProject javaProject, Collection<String> glueFilter)
+			throws CoreException {
+		listenForChanges();
+		long hash = classpathFingerprint(JavaRuntime.computeDefaultRuntimeClassPath(javaProject));
+		List<String> gluePackages = gluePackages(glueFilter);
+		Set<String> projects = new HashSet<>();
+		collectProjects(javaProject, projects);
+		SortedMap<String, Long> stamps = new TreeMap<>();
+		for (String project : projects) {
+			for (Map.Entry<String, Long> entry : PACKAGE_STAMPS.getOrDefault(project, Map.of()).entrySet()) {
+				if (isGluePackage(entry.getKey(), gluePackages)) {
+					stamps.put(project + "/" + entry.getKey(), entry.getValue());
+				}
+			}
+		}
+		return mix(hash, stamps);
+	}
+
+	/**
+	 * Computes a fingerprint of the resolved runtime classpath of the given project
+	 * plus the modification stamps of the class files in the glue packages of the
+	 * project and all projects it requires. Unlike
+	 * {@link #glueFingerprint(IJavaProject, Collection)} it stays stable across
+	 * restarts and reflects changes made while the IDE was not running, what makes
+	 * it suitable to key persisted data. As it walks the glue packages of the
+	 * output folders the result is cached until a class file or the classpath of
+	 * any project changes.
+	 *
+	 * @param javaProject the project to compute the fingerprint for
+	 * @param glueFilter  the glue paths of the project, if empty all packages are
+	 *                    considered glue
+	 * @return the fingerprint of the glue classes
+	 * @throws CoreException if the runtime classpath or the output folders can't
+	 *                       be read
+	 */
+	public static long persistentGlueFingerprint(IJavaProject javaProject, Collection<String> glueFilter)
+			throws CoreException {
+		listenForChanges();
+		List<String> key = List.copyOf(glueFilter);
+		Long cached = PERSISTENT_FINGERPRINTS.getOrDefault(javaProject, Map.of()).get(key);
+		if (cached != null) {
+			return cached;
+		}
+		long generation = CLASSES_GENERATION.get();
+		long fingerprint = computePersistentGlueFingerprint(javaProject, glueFilter);
+		synchronized (PERSISTENT_FINGERPRINTS) {
+			// a change while walking the folders might not be part of the result
+			if (generation == CLASSES_GENERATION.get()) {
+				PERSISTENT_FINGERPRINTS.computeIfAbsent(javaProject, p -> new ConcurrentHashMap<>()).put(key,
+						fingerprint);
+			}
+		}
+		return fingerprint;
+	}
+
+	private static long computePersistentGlueFingerprint(IJavaProject javaProject, Collection<String> glueFilter)
+			throws CoreException {
+		long hash = classpathFingerprint(JavaRuntime.computeDefaultRuntimeClassPath(javaProject));
+		List<String> gluePackages = gluePackages(glueFilter);
+		Set<String> projects = new HashSet<>();
+		collectProjects(javaProject, projects);
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		SortedMap<String, Long> stamps = new TreeMap<>();
+		for (String project : projects) {
+			for (IPath outputLocation : getOutputLocations(root.getProject(project))) {
+				for (String gluePackage : gluePackages) {
+					IResource folder = root.findMember(outputLocation.append(gluePackage));
+					if (folder == null) {
+						continue;
+					}
+					folder.accept(resource -> {
+						if (resource instanceof IFile && "class".equals(resource.getFileExtension())) {
+							stamps.put(resource.getFullPath().toPortableString(), resource.getModificationStamp());
+						}
+						return true;
+					}, IResource.DEPTH_INFINITE, IResource.NONE);
+				}
+			}
+		}
+		return mix(hash, stamps);
+	}
+
+	/**
+	 * Drops the pooled classloader of the given project, it will be closed as soon
+	 * as it is no longer in use
+	 *
+	 * @param javaProject the project to invalidate
+	 */
+	public static void invalidate(IJavaProject javaProject) {
+		synchronized (POOL) {
+			PooledClassLoader pooled = POOL.remove(javaProject);
+			if (pooled != null) {
+				pooled.invalidate();
+				if (Tracing.PERF_STEPS) {
+					Tracing.get().trace(Tracing.PERFORMANCE_STEPS,
+							"ClassLoaderPool: invalidated '" + javaProject.getElementName() + "'");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all listeners and closes all pooled classloaders, should be called
+	 * when the bundle is stopped.
+	 */
+	public static synchronized void dispose() {
+		if (elementListener != null) {
+			JavaCore.removeElementChangedListener(elementListener);
+			elementListener = null;
+		}
+		if (resourceListener != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(resourceListener);
+			resourceListener = null;
+		}
+		synchronized (POOL) {
+			POOL.values().forEach(PooledClassLoader::invalidate);
+			POOL.clear();
+		}
+		OUTPUT_STAMPS.clear();
+		PACKAGE_STAMPS.clear();
+		OUTPUT_LOCATIONS.clear();
+		classesChanged();
+	}
+
+	private static void classesChanged() {
+		synchronized (PERSISTENT_FINGERPRINTS) {
+			CLASSES_GENERATION.incrementAndGet();
+			PERSISTENT_FINGERPRINTS.clear();
+		}
+	}
+
+	private static synchronized void listenForChanges() {
+		if (elementListener == null) {
+			elementListener = ClassLoaderPool::elementChanged;
+			JavaCore.addElementChangedListener(elementListener, ElementChangedEvent.POST_CHANGE);
+		}
+		if (resourceListener == null) {
+			resourceListener = ClassLoaderPool::resourceChanged;
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(resourceListener,
+					IResourceChangeEvent.POST_CHANGE);
+		}
+	}
+
+	private static long fingerprint(IJavaProject javaProject, String[] classPathEntries) {
+		long hash = classpathFingerprint(classPathEntries);
+		Set<String> projects = new HashSet<>();
+		collectProjects(javaProject, projects);
+		SortedMap<String, Long> stamps = new TreeMap<>();
+		for (String project : projects) {
+			stamps.put(project, OUTPUT_STAMPS.getOrDefault(project, 0L));
+		}
+		return mix(hash, stamps);
+	}
+
+	/**
+	 * Mixes the stamps into the hash in the order of their keys, so the result
+	 * does not depend on the iteration order of the source and different stamps
+	 * do not cancel each other out
+	 */
+	private static long mix(long hash, SortedMap<String, Long> stamps) {
+		for (Map.Entry<String, Long> entry : stamps.entrySet()) {
+			hash = 31 * hash + entry.getKey().hashCode();
+			hash = 31 * hash + entry.getValue().longValue();
+		}
+		return hash;
+	}
+
+	private static long classpathFingerprint(String[] classPathEntries) {
+		long hash = 1;
+		for (String entry : classPathEntries) {
+			hash = 31 * hash + entry.hashCode();
+		}
+		return hash;
+	}
+
+	/**
+	 * Converts glue paths like <code>com.example.steps</code> or
+	 * <code>classpath:com/example/steps</code> into package paths
+	 */
+	private static List<String> gluePackages(Collection<String> glueFilter) {
+		List<String> packages = new ArrayList<>();
+		for (String glue : glueFilter) {
+			String path = glue.trim();
+			if (path.startsWith("classpath:")) {
+				path = path.substring("classpath:".length());
+			}
+			while (path.endsWith("*") || path.endsWith("/") || path.endsWith(".")) {
+				path = path.substring(0, path.length() - 1);
+			}
+			while (path.startsWith("/")) {
+				path = path.substring(1);
+			}
+			packages.add(path.replace('.', '/'));
+		}
+		if (packages.isEmpty()) {
+			// cucumber scans the whole classpath then
+			packages.add("");
+		}
+		return packages;
+	}
+
+	private static boolean isGluePackage(String packagePath, List<String> gluePackages) {
+		if (ANY_PACKAGE.equals(packagePath)) {
+			return true;
+		}
+		for (String gluePackage : gluePackages) {
+			if (gluePackage.isEmpty() || packagePath.equals(gluePackage)
+					|| packagePath.startsWith(gluePackage + "/")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void collectProjects(IJavaProject javaProject, Set<String> projects) {
+		if (javaProject == null || !projects.add(javaProject.getElementName())) {
+			return;
+		}
+		try {
+			for (String required : javaProject.getRequiredProjectNames()) {
+				collectProjects(JDTUtil.getJavaProject(required), projects);
+			}
+		} catch (JavaModelException e) {
+			// can't resolve the required projects then...
+		}
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		visitJavaDelta(event.getDelta());
+	}
+
+	private static void visitJavaDelta(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		switch (element.getElementType()) {
+		case IJavaElement.JAVA_MODEL:
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				visitJavaDelta(child);
+			}
+			break;
+		case IJavaElement.JAVA_PROJECT:
+			int flags = delta.getFlags();
+			if (delta.getKind() == IJavaElementDelta.REMOVED || (flags & (IJavaElementDelta.F_CLOSED
+					| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLASSPATH_CHANGED)) != 0) {
+				OUTPUT_LOCATIONS.remove(element.getElementName());
+				classesChanged();
+				invalidate((IJavaProject) element);
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private static void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+			IProject project = (IProject) projectDelta.getResource();
+			Set<String> packages = changedPackages(project, projectDelta);
+			if (!packages.isEmpty()) {
+				classesChanged();
+				OUTPUT_STAMPS.merge(project.getName(), 1L, Long::sum);
+				Map<String, Long> stamps = PACKAGE_STAMPS.computeIfAbsent(project.getName(),
+						p -> new ConcurrentHashMap<>());
+				for (String packagePath : packages) {
+					stamps.merge(packagePath, 1L, Long::sum);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the packages of the class files in the output folders of the
+	 * project that were added, removed or changed, the walk only descends into
+	 * the output folders
+	 *
+	 * @return the changed packages as paths relative to their output folder
+	 */
+	private static Set<String> changedPackages(IProject project, IResourceDelta projectDelta) {
+		Set<IPath> outputLocations = getOutputLocations(project);
+		if (outputLocations.isEmpty()) {
+			return Set.of();
+		}
+		Set<String> packages = new HashSet<>();
+		try {
+			projectDelta.accept(delta -> {
+				IResource resource = delta.getResource();
+				IPath path = resource.getFullPath();
+				Optional<IPath> output = outputLocations.stream().filter(o -> o.isPrefixOf(path)).findFirst();
+				if (output.isEmpty()) {
+					// only visit the parents of output folders
+					return outputLocations.stream().anyMatch(o -> path.isPrefixOf(o));
+				}
+				if (resource instanceof IFile && "class".equals(resource.getFileExtension())) {
+					if (delta.getKind() != IResourceDelta.CHANGED
+							|| (delta.getFlags() & IResourceDelta.CONTENT) != 0) {
+						packages.add(path.makeRelativeTo(output.get()).removeLastSegments(1).toString());
+					}
+					return false;
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			return Set.of(ANY_PACKAGE);
+		}
+		return packages;
+	}
+
+	private static Set<IPath> getOutputLocations(IProject project) {
+		if (!project.isAccessible()) {
+			OUTPUT_LOCATIONS.remove(project.getName());
+			return Set.of();
+		}
+		Set<IPath> outputLocations = OUTPUT_LOCATIONS.computeIfAbsent(project.getName(), name -> {
+			IJavaProject javaProject = JavaCore.create(project);
+			Set<IPath> locations = new HashSet<>();
+			try {
+				if (!project.hasNature(JavaCore.NATURE_ID)) {
+					return Set.of();
+				}
+				locations.add(javaProject.getOutputLocation());
+				for (IClasspathEntry entry : javaProject.getRawClasspath()) {
+					if (entry.getEntryKind() == IClasspathEntry.CPE_SOURCE && entry.getOutputLocation() != null) {
+						locations.add(entry.getOutputLocation());
+					}
+				}
+			} catch (CoreException e) {
+				// not a valid java project (yet), check again with the next change
+				return null;
+			}
+			return Set.copyOf(locations);
+		});
+		return outputLocations == null ? Set.of() : outputLocations;
+	}
+
+	/**
+	 * A reference counted classloader handed out by the pool
+	 */
+	static final class PooledClassLoader {
+
+		private final IJavaProject javaProject;
+		private final long fingerprint;
+		private final URLClassLoader classLoader;
+		private final AtomicInteger references = new AtomicInteger();
+		private final AtomicBoolean closed = new AtomicBoolean();
+		private volatile boolean stale;
+
+		private PooledClassLoader(IJavaProject javaProject, long fingerprint, URLClassLoader classLoader) {
+			this.javaProject = javaProject;
+			this.fingerprint = fingerprint;
+			this.classLoader = classLoader;
+		}
+
+		URLClassLoader getClassLoader() {
+			return classLoader;
+		}
+
+		long getFingerprint() {
+			return fingerprint;
+		}
+
+		/**
+		 * Releases one reference, closes the classloader if it was invalidated in the
+		 * meantime and this was the last user
+		 */
+		void release() {
+			if (references.decrementAndGet() <= 0 && stale) {
+				close();
+			}
+		}
+
+		private void invalidate() {
+			stale = true;
+			if (references.get() <= 0) {
+				close();
+			}
+		}
+
+		private void close() {
+			if (!closed.compareAndSet(false, true)) {
+				// release and invalidate might both see the last reference
+				return;
+			}
+			try {
+				classLoader.close();
+			} catch (IOException e) {
+				EditorLogging.error("can't close classloader for project " + javaProject.getElementName(), e);
+			}
+		}
+	}
+
+}
@@ -1,19 +1,19 @@
 package io.cucumber.eclipse.java.runtime;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.PrintStream;
 import java.net.URI;
 import java.net.URLClassLoader;
-import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.WeakHashMap;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -25,6 +25,7 @@ import org.eclipse.jdt.core.IJavaProject;
 import io.cucumber.core.eventbus.UuidGenerator;
 import io.cucumber.core.feature.FeatureParser;
 import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.FeatureParserException;
 import io.cucumber.core.gherkin.messages.GherkinMessagesFeatureParser;
 import io.cucumber.core.options.RuntimeOptions;
 import io.cucumber.core.options.RuntimeOptionsBuilder;
@@ -49,6 +50,16 @@ public final class CucumberRuntime implements AutoCloseable {
 
 	private static final FeatureParser FEATURE_PARSER = new FeatureParser(UUID::randomUUID);
 
+	private static final GherkinMessagesFeatureParser GHERKIN_PARSER = new GherkinMessagesFeatureParser();
+
+	/**
+	 * Features parsed from editor documents, a {@link GherkinEditorDocument} is a
+	 * snapshot of one version of a document so its feature never changes and is
+	 * dropped together with the snapshot
+	 */
+	private static final Map<GherkinEditorDocument, ParsedFeature> PARSED_FEATURES = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
 	private List<Feature> features = new ArrayList<>();
 
 	private List<Plugin> plugins = new ArrayList<>();
@@ -57,13 +68,20 @@ public final class CucumberRuntime implements AutoCloseable {
 
 	private URLClassLoader classLoader;
 
+	private ClassLoaderPool.PooledClassLoader pooledClassLoader;
+
 	private RuntimeOptionsBuilder runtimeOptions;
 
 	private UuidGenerator uuidGenerator;
 
-	private CucumberRuntime(IJavaProject javaProject) throws CoreException {
+	private CucumberRuntime(IJavaProject javaProject, boolean pooled) throws CoreException {
 		this.javaProject = javaProject;
-		this.classLoader = JDTUtil.createClassloader(javaProject);
+		if (pooled) {
+			this.pooledClassLoader = ClassLoaderPool.acquire(javaProject);
+			this.classLoader = pooledClassLoader.getClassLoader();
+		} else {
+			this.classLoader = JDTUtil.createClassloader(javaProject);
+		}
 		runtimeOptions = new RuntimeOptionsBuilder()//
 				.addDefaultGlueIfAbsent()//
 				.setThreads(java.lang.Runtime.getRuntime().availableProcessors())//
@@ -83,6 +101,10 @@ public final class CucumberRuntime implements AutoCloseable {
 
 	@Override
 	public void close() {
+		if (pooledClassLoader != null) {
+			pooledClassLoader.release();
+			return;
+		}
 		try {
 			classLoader.close();
 		} catch (IOException e) {
@@ -153,42 +175,93 @@ public final class CucumberRuntime implements AutoCloseable {
 		return null;
 	}
 
+	/**
+	 * Adds the feature of the given document, the feature is parsed from the
+	 * source of the document snapshot and reused as long as the snapshot is alive,
+	 * so validating an unchanged document again does not parse it again.
+	 * 
+	 * @param document the document to add
+	 * @return the feature or an empty optional if the document contains no feature
+	 * @throws FeatureParserException if the document can't be parsed
+	 */
 	public Optional<Feature> addFeature(GherkinEditorDocument document) {
 		IResource resource = document.getResource();
 		URI uri = Objects.requireNonNullElseGet(resource.getLocationURI(), () -> resource.getRawLocationURI());
-		// TODO can we get any information about an error here??
-		// TODO it would be good if the featureparser would be capable of loading
-		// directly a GherkingDocument
-		Optional<Feature> feature = loadFeature(new Resource() {
-
-			@Override
-			public URI getUri() {
-				return uri;
-			}
+		Optional<Feature> feature = parseFeature(document, uri);
+		feature.ifPresent(features::add);
+		return feature;
+	}
 
-			@Override
-			public InputStream getInputStream() throws IOException {
-				return new ByteArrayInputStream(document.getDocument().get().getBytes(StandardCharsets.UTF_8));
+	private static Optional<Feature> parseFeature(GherkinEditorDocument document, URI uri) {
+		ParsedFeature parsed = PARSED_FEATURES.get(document);
+		if (parsed != null && parsed.uri().equals(uri)) {
+			if (Tracing.PERF_STEPS) {
+				Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "CucumberRuntime: reusing parsed feature " + uri);
 			}
-		});
-		feature.ifPresent(features::add);
+			return parsed.feature();
+		}
+		// TODO cucumber-core offers no public way to create the feature from the
+		// already parsed GherkinDocument, but at least the source of the snapshot can
+		// be passed to the gherkin parser directly
+		String source = document.getSource().orElseGet(() -> document.getDocument().get());
+		Optional<Feature> feature = GHERKIN_PARSER.parse(uri, source, UUID::randomUUID);
+		PARSED_FEATURES.put(document, new ParsedFeature(uri, feature));
 		return feature;
 	}
 
+	/**
+	 * Creates a runtime that shares the classloader of the project with other
+	 * runtimes through the {@link ClassLoaderPool}, this is the right choice for
+	 * dry-runs where glue code is only inspected but never executed.
+	 * 
+	 * @param javaProject the project to create the runtime for
+	 * @return the runtime
+	 * @throws CoreException if the classpath can't be resolved
+	 */
 	public static CucumberRuntime create(IJavaProject javaProject) throws CoreException {
-		// TODO can we cache the classloader here to optimize performance? As long as
-		// the classpath does not change there won't be any new classes be loaded...
-		CucumberRuntime rt = new CucumberRuntime(javaProject);
+		return create(javaProject, true);
+	}
+
+	/**
+	 * Creates a runtime with a private classloader that is closed together with the
+	 * runtime, this is the right choice when glue code is actually executed and
+	 * must not leak static state into other runs.
+	 * 
+	 * @param javaProject the project to create the runtime for
+	 * @return the runtime
+	 * @throws CoreException if the classpath can't be resolved
+	 */
+	public static CucumberRuntime createIsolated(IJavaProject javaProject) throws CoreException {
+		return create(javaProject, false);
+	}
+
+	private static CucumberRuntime create(IJavaProject javaProject, boolean pooled) throws CoreException {
+		CucumberRuntime rt = new CucumberRuntime(javaProject, pooled);
 		if (Tracing.PERF_STEPS) {
 			Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "CucumberRuntime created for '"
 					+ javaProject.getElementName() + "' with "
-					+ rt.classLoader.getURLs().length + " classpath URL(s)");
+					+ rt.classLoader.getURLs().length + " classpath URL(s)" + (pooled ? " (pooled)" : ""));
 		}
 		return rt;
 	}
 
+	/**
+	 * @return the {@link ClassLoaderPool#fingerprint(IJavaProject) fingerprint} of
+	 *         the classloader used by this runtime or an empty optional if the
+	 *         runtime uses an isolated classloader
+	 */
+	public OptionalLong getClassLoaderFingerprint() {
+		if (pooledClassLoader == null) {
+			return OptionalLong.empty();
+		}
+		return OptionalLong.of(pooledClassLoader.getFingerprint());
+	}
+
 	public void setGenerator(UuidGenerator uuidGenerator) {
 		this.uuidGenerator = uuidGenerator;
 	}
 
+	private record ParsedFeature(URI uri, Optional<Feature> feature) {
+	}
+
 }
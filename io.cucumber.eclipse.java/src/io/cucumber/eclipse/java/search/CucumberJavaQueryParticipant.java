@@ -1,9 +1,11 @@
 package io.cucumber.eclipse.java.search;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
@@ -38,6 +40,7 @@ import io.cucumber.eclipse.java.preferences.CucumberJavaPreferences;
 import io.cucumber.eclipse.java.validation.GlueSteps;
 import io.cucumber.eclipse.java.validation.JavaGlueJob;
 import io.cucumber.eclipse.java.validation.JavaGlueStore;
+import io.cucumber.eclipse.java.validation.StepUsageIndex;
 
 /**
  * Search participant that finds feature file references to Cucumber step definitions.
@@ -48,7 +51,9 @@ import io.cucumber.eclipse.java.validation.JavaGlueStore;
  * <ol>
  * <li>Identifies all relevant Java projects in the search scope</li>
  * <li>Collects all feature files from those projects</li>
- * <li>Uses the existing glue validation infrastructure to access matched steps</li>
+ * <li>Looks up the usages of the method in the {@link StepUsageIndex}</li>
+ * <li>Uses the existing glue validation infrastructure to access matched steps
+ * of feature files that are not yet part of the index</li>
  * <li>Reports matches back to the search as references in feature files</li>
  * </ol>
  * </p>
@@ -121,13 +126,24 @@ public class CucumberJavaQueryParticipant implements IQueryParticipant {
 					continue;
 				}
 				
-				// Step 3: Create editor documents for all feature files
+				// Step 3: Report the usages known to the index, every validation keeps it up to date
+				StepUsageIndex usageIndex = StepUsageIndex.get(javaProject);
+				OptionalLong glueFingerprint = StepUsageIndex.glueFingerprint(javaProject);
+				if (glueFingerprint.isPresent()) {
+					searchInUsageIndex(requestor, usageIndex, glueFingerprint.getAsLong(), javaProject, method,
+							featureFiles, monitor);
+				}
+				
+				// Step 4: Create editor documents for the feature files the index doesn't know yet
 				Collection<GherkinEditorDocument> documents = new HashSet<>();
 				
 				for (IFile featureFile : featureFiles) {
 					if (monitor.isCanceled()) {
 						return;
 					}
+					if (glueFingerprint.isPresent() && usageIndex.contains(featureFile, glueFingerprint.getAsLong())) {
+						continue;
+					}
 					
 					GherkinEditorDocument editorDoc = GherkinEditorDocumentManager.get(featureFile, false);
 					if (editorDoc != null) {
@@ -140,11 +156,11 @@ public class CucumberJavaQueryParticipant implements IQueryParticipant {
 					continue;
 				}
 				
-				// Step 4: Try to match using glue store (fast path for already-validated documents)
+				// Step 5: Try to match using glue store (fast path for already-validated documents)
 				Collection<GherkinEditorDocument> unmatchedDocuments = 
 						searchInGlueStore(requestor, glueStore, javaProject, method, documents, monitor);
 				
-				// Step 5: For documents not found in glue store, search by running Cucumber
+				// Step 6: For documents not found in glue store, search by running Cucumber
 				if (!unmatchedDocuments.isEmpty()) {
 					searchInFeatureFiles(requestor, javaProject, method, unmatchedDocuments, monitor);
 				}
@@ -156,6 +172,47 @@ public class CucumberJavaQueryParticipant implements IQueryParticipant {
 		}
 	}
 
+	/**
+	 * Searches for references using the step usage index (fastest path).
+	 * <p>
+	 * Only the code locations with the same method name as the target method are
+	 * resolved, so the cost does not depend on the number of feature files.
+	 * </p>
+	 * 
+	 * @param requestor the search requestor to report matches to
+	 * @param usageIndex the step usage index of the project
+	 * @param glueFingerprint the current fingerprint of the glue, only usages recorded for it are reported
+	 * @param javaProject the Java project being searched
+	 * @param method the target step definition method
+	 * @param featureFiles the feature files in the search scope
+	 * @param monitor progress monitor
+	 */
+	private void searchInUsageIndex(ISearchRequestor requestor, StepUsageIndex usageIndex, long glueFingerprint,
+			IJavaProject javaProject, IMethod method, Set<IFile> featureFiles, IProgressMonitor monitor) {
+		
+		for (CucumberCodeLocation codeLocation : usageIndex.getCodeLocations()) {
+			if (monitor.isCanceled()) {
+				break;
+			}
+			if (!method.getElementName().equals(codeLocation.getMethodName())) {
+				continue;
+			}
+			try {
+				IMethod[] resolvedMethods = resolveMethod(javaProject, codeLocation, monitor);
+				if (resolvedMethods == null || !Arrays.asList(resolvedMethods).contains(method)) {
+					continue;
+				}
+				for (StepUsageIndex.Usage usage : usageIndex.getUsages(codeLocation, glueFingerprint)) {
+					if (featureFiles.contains(usage.file())) {
+						requestor.reportMatch(new CucumberStepMatch(usage.file(), usage.line()));
+					}
+				}
+			} catch (Exception e) {
+				// Ignore resolution errors and continue
+			}
+		}
+	}
+
 	/**
 	 * Searches for references using the existing glue store (fast path).
 	 * <p>
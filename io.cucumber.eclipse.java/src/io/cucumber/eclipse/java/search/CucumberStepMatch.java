@@ -38,6 +38,18 @@ public class CucumberStepMatch extends Match {
 		this.matchedStep = matchedStep;
 	}
 	
+	/**
+	 * Creates a new match for a Cucumber step in a feature file that was found in
+	 * the {@link io.cucumber.eclipse.java.validation.StepUsageIndex}, without the
+	 * matched step information.
+	 * 
+	 * @param featureFile the feature file containing the step
+	 * @param lineNumber the line number of the step (1-based)
+	 */
+	public CucumberStepMatch(IResource featureFile, int lineNumber) {
+		this(featureFile, lineNumber, null);
+	}
+	
 	/**
 	 * Calculates the offset in the document for the given line number.
 	 */
@@ -88,6 +100,10 @@ public class CucumberStepMatch extends Match {
 		return lineNumber;
 	}
 	
+	/**
+	 * @return the matched step or <code>null</code> if the match was found in the
+	 *         step usage index
+	 */
 	public MatchedStep<?> getMatchedStep() {
 		return matchedStep;
 	}
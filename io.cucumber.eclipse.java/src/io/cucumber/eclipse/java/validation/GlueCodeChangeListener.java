@@ -84,6 +84,8 @@ class GlueCodeChangeListener implements IElementChangedListener {
 			}
 			
 			for (IProject project : affectedProjects) {
+				GlueIndex.invalidate(project);
+				StepUsageIndex.invalidate(project);
 				DocumentValidator.revalidateDocuments(project);
 			}
 		} else {
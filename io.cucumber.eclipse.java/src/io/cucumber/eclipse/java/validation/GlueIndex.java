@@ -0,0 +1,499 @@
+package io.cucumber.eclipse.java.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IJavaProject;
+
+import io.cucumber.cucumberexpressions.Expression;
+import io.cucumber.cucumberexpressions.ExpressionFactory;
+import io.cucumber.cucumberexpressions.ParameterTypeRegistry;
+import io.cucumber.eclipse.editor.Tracing;
+import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
+import io.cucumber.eclipse.editor.document.GherkinPickles;
+import io.cucumber.eclipse.editor.steps.ExpressionDefinition;
+import io.cucumber.eclipse.java.plugins.CucumberStepDefinition;
+import io.cucumber.eclipse.java.plugins.MatchedHookStep;
+import io.cucumber.eclipse.java.plugins.MatchedPickleStep;
+import io.cucumber.eclipse.java.plugins.MatchedStep;
+import io.cucumber.eclipse.java.runtime.ClassLoaderPool;
+import io.cucumber.messages.types.Location;
+import io.cucumber.messages.types.Pickle;
+import io.cucumber.messages.types.PickleTag;
+import io.cucumber.messages.types.Step;
+import io.cucumber.messages.types.StepKeywordType;
+import io.cucumber.plugin.event.DataTableArgument;
+import io.cucumber.plugin.event.DocStringArgument;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.StepArgument;
+
+/**
+ * Per project index of the glue discovered by previous dry-runs.
+ * <p>
+ * Each dry-run records the step definitions of the project together with the
+ * outcome of matching every step text it has seen and the hooks that applied to
+ * every tag combination. As long as neither the glue classes of the project
+ * (see {@link ClassLoaderPool#glueFingerprint(IJavaProject, Collection)}) nor
+ * the glue filter have changed, a document whose steps and tag combinations are
+ * all known to the index can be validated from it directly, without booting a
+ * Cucumber runtime. Everything else still goes through the dry-run, which then
+ * extends the index.
+ * </p>
+ * <p>
+ * A step text that was not seen by a run yet is matched against the expressions
+ * of the step definitions using the built-in parameter types. This is only done
+ * if the text matches exactly one step definition and no step definition with a
+ * custom parameter type might match it, as custom parameter types are only
+ * known inside the runtime. Undefined and ambiguous steps still require a
+ * dry-run, as the index can't produce the snippets or errors cucumber reports
+ * for them.
+ * </p>
+ * <p>
+ * The index is persisted by the {@link GlueIndexStorage}, after a restart the
+ * stored index is used as a <em>provisional</em> index: it serves documents
+ * right away but is verified by a dry-run in the background, as classes might
+ * have changed while the IDE was not running.
+ * </p>
+ */
+final class GlueIndex {
+
+	private static final Map<IJavaProject, GlueIndex> INDEX = new ConcurrentHashMap<>();
+
+	/**
+	 * projects whose stored index was already looked up in this session
+	 */
+	private static final Set<IJavaProject> LOADED = ConcurrentHashMap.newKeySet();
+
+	private final IJavaProject javaProject;
+	private final long fingerprint;
+	private final boolean provisional;
+	private final AtomicBoolean verificationScheduled = new AtomicBoolean();
+	private final List<String> glueFilter;
+	private volatile StepDefinitionSnapshot snapshot;
+	private final Map<String, PickleStepTestStep> matchedByText = new ConcurrentHashMap<>();
+	private final Map<String, Collection<String>> missingByText = new ConcurrentHashMap<>();
+	private final Map<List<String>, List<HookTestStep>> hooks = new ConcurrentHashMap<>();
+	private final Map<Locale, List<CompiledStep>> compiledSteps = new ConcurrentHashMap<>();
+
+	private GlueIndex(IJavaProject javaProject, long fingerprint, List<String> glueFilter,
+			StepDefinitionSnapshot snapshot, boolean provisional) {
+		this.javaProject = javaProject;
+		this.fingerprint = fingerprint;
+		this.glueFilter = glueFilter;
+		this.snapshot = snapshot;
+		this.provisional = provisional;
+	}
+
+	/**
+	 * Creates a provisional index from stored data
+	 *
+	 * @param javaProject the project the index belongs to
+	 * @param fingerprint the current glue fingerprint of the project
+	 * @param glueFilter  the glue filter the data was recorded with
+	 * @param steps       the stored step definitions
+	 * @return the index to restore the stored matches into
+	 */
+	static GlueIndex restore(IJavaProject javaProject, long fingerprint, List<String> glueFilter,
+			Collection<CucumberStepDefinition> steps) {
+		return new GlueIndex(javaProject, fingerprint, List.copyOf(glueFilter),
+				StepDefinitionSnapshot.of(StepDefinitionSnapshot.nextVersion(), steps), true);
+	}
+
+	/**
+	 * Result of validating a document from the index
+	 */
+	record Match(Collection<MatchedStep<?>> matchedSteps, Map<Integer, Collection<String>> snippets) {
+	}
+
+	/**
+	 * Looks up the index of the given project
+	 *
+	 * @param javaProject the project
+	 * @param glueFilter  the current glue filter of the project
+	 * @return the index if one exists and is still valid for the current state of
+	 *         the project
+	 */
+	static Optional<GlueIndex> get(IJavaProject javaProject, List<String> glueFilter) {
+		GlueIndex index = INDEX.get(javaProject);
+		if (index == null && LOADED.add(javaProject)) {
+			index = GlueIndexStorage.load(javaProject, glueFilter)
+					.map(stored -> INDEX.computeIfAbsent(javaProject, p -> stored)).orElse(null);
+		}
+		if (index == null) {
+			return Optional.empty();
+		}
+		try {
+			if (index.glueFilter.equals(glueFilter)
+					&& index.fingerprint == ClassLoaderPool.glueFingerprint(javaProject, glueFilter)) {
+				return Optional.of(index);
+			}
+		} catch (CoreException e) {
+			// can't check then...
+		}
+		INDEX.remove(javaProject, index);
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns the index to record the results of a dry-run into, if the existing
+	 * index was built for the same fingerprint and step definitions it is
+	 * extended, otherwise a new one replaces it.
+	 *
+	 * @param javaProject the project the dry-run was performed for
+	 * @param fingerprint the glue fingerprint captured before the run started
+	 * @param glueFilter  the glue filter used for the run
+	 * @param steps       the step definitions discovered by the run
+	 * @param version     the snapshot version reserved when the run started
+	 * @return the index to record into
+	 */
+	static GlueIndex update(IJavaProject javaProject, long fingerprint, List<String> glueFilter,
+			Collection<CucumberStepDefinition> steps, long version) {
+		return INDEX.compute(javaProject, (p, existing) -> {
+			if (existing != null && !existing.provisional && existing.fingerprint == fingerprint
+					&& existing.glueFilter.equals(glueFilter) && sameSteps(existing.snapshot.steps(), steps)) {
+				return existing;
+			}
+			return new GlueIndex(javaProject, fingerprint, List.copyOf(glueFilter),
+					StepDefinitionSnapshot.of(version, steps), false);
+		});
+	}
+
+	private static boolean sameSteps(Collection<CucumberStepDefinition> existing,
+			Collection<CucumberStepDefinition> steps) {
+		if (existing.size() != steps.size()) {
+			return false;
+		}
+		return stepKeys(existing).equals(stepKeys(steps));
+	}
+
+	private static Map<List<String>, Integer> stepKeys(Collection<CucumberStepDefinition> steps) {
+		Map<List<String>, Integer> keys = new HashMap<>();
+		for (CucumberStepDefinition step : steps) {
+			keys.merge(List.of(step.getStepDefinition().getLocation(), step.getStepDefinition().getPattern()), 1,
+					Integer::sum);
+		}
+		return keys;
+	}
+
+	/**
+	 * Drops the index of all java projects that belong to the given project, e.g.
+	 * because its glue code was changed
+	 *
+	 * @param project the project to invalidate
+	 */
+	static void invalidate(IProject project) {
+		if (INDEX.keySet().removeIf(javaProject -> project.equals(javaProject.getProject()))
+				&& Tracing.PERF_STEPS) {
+			Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "GlueIndex: invalidated '" + project.getName() + "'");
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if this index was restored from storage and is not
+	 *         verified by a dry-run yet
+	 */
+	boolean isProvisional() {
+		return provisional;
+	}
+
+	/**
+	 * Claims the verification of a provisional index, so it is only verified once
+	 *
+	 * @return <code>true</code> if the caller should verify the index
+	 */
+	boolean claimVerification() {
+		return provisional && verificationScheduled.compareAndSet(false, true);
+	}
+
+	List<String> glueFilter() {
+		return glueFilter;
+	}
+
+	Map<String, PickleStepTestStep> matchedByText() {
+		return matchedByText;
+	}
+
+	Map<String, Collection<String>> missingByText() {
+		return missingByText;
+	}
+
+	Map<List<String>, List<HookTestStep>> hooks() {
+		return hooks;
+	}
+
+	/**
+	 * @return the step definitions of the project, the same steps are returned as
+	 *         long as the index stays valid
+	 */
+	StepDefinitionSnapshot snapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Returns the snapshot of the step definitions for a validation that found
+	 * the index valid, the snapshot is raised to the version of the validation
+	 * but keeps the same steps
+	 *
+	 * @param version the snapshot version reserved when the validation started
+	 * @return the snapshot
+	 */
+	synchronized StepDefinitionSnapshot snapshot(long version) {
+		snapshot = snapshot.withVersion(version);
+		return snapshot;
+	}
+
+	/**
+	 * Records the results of a dry-run for the given document
+	 *
+	 * @param document     the document that was part of the run
+	 * @param matchedSteps the matched steps of the document
+	 * @param snippets     the snippets for missing steps by line
+	 * @param hooksByTags  the hooks recorded during the run
+	 */
+	void record(GherkinEditorDocument document, Collection<MatchedStep<?>> matchedSteps,
+			Map<Integer, Collection<String>> snippets, Map<List<String>, List<HookTestStep>> hooksByTags) {
+		hooks.putAll(hooksByTags);
+		for (MatchedStep<?> matchedStep : matchedSteps) {
+			if (matchedStep instanceof MatchedPickleStep pickleStep) {
+				PickleStepTestStep testStep = pickleStep.getTestStep();
+				matchedByText.putIfAbsent(matchedKey(testStep.getStepText(), argumentKind(testStep)), testStep);
+			}
+		}
+		GlueIndexStorage.scheduleSave(javaProject, this);
+		if (snippets.isEmpty()) {
+			return;
+		}
+		forEachPickle(document, (tags, location, pickleSteps) -> {
+			for (PickleStep pickleStep : pickleSteps) {
+				Step step = pickleStep.step();
+				Collection<String> snippet = snippets.get(step.getLocation().getLine().intValue());
+				// only steps without placeholders are unique for a line
+				if (snippet != null && pickleStep.text().equals(step.getText())) {
+					missingByText.putIfAbsent(missingKey(document, pickleStep), List.copyOf(snippet));
+				}
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * Validates the document from the index
+	 *
+	 * @param document the document to validate
+	 * @return the result or an empty optional if the document contains steps or
+	 *         tag combinations that can't be validated from the index
+	 */
+	Optional<Match> match(GherkinEditorDocument document) {
+		Collection<MatchedStep<?>> matched = new ArrayList<>();
+		Map<Integer, Collection<String>> snippets = new HashMap<>();
+		boolean complete = forEachPickle(document, (tags, location, pickleSteps) -> {
+			List<HookTestStep> testCaseHooks = hooks.get(tags);
+			if (testCaseHooks == null) {
+				return false;
+			}
+			io.cucumber.plugin.event.Location testCaseLocation = toLocation(location);
+			for (HookTestStep hook : testCaseHooks) {
+				matched.add(new MatchedHookStep(hook, testCaseLocation));
+			}
+			for (PickleStep pickleStep : pickleSteps) {
+				Step step = pickleStep.step();
+				PickleStepTestStep testStep = matchedByText.get(matchedKey(pickleStep.text(), argumentKind(step)));
+				if (testStep != null) {
+					matched.add(new MatchedPickleStep(
+							bind(document, pickleStep, testStep.getCodeLocation(), testStep.getPattern()),
+							toLocation(step.getLocation())));
+					continue;
+				}
+				Collection<String> snippet = missingByText.get(missingKey(document, pickleStep));
+				if (snippet == null) {
+					PickleStepTestStep expressionMatch = matchExpressions(document, pickleStep);
+					if (expressionMatch == null) {
+						return false;
+					}
+					matched.add(new MatchedPickleStep(expressionMatch, toLocation(step.getLocation())));
+					continue;
+				}
+				snippets.computeIfAbsent(step.getLocation().getLine().intValue(), l -> new LinkedHashSet<>())
+						.addAll(snippet);
+			}
+			return true;
+		});
+		if (!complete) {
+			return Optional.empty();
+		}
+		return Optional.of(new Match(matched, snippets));
+	}
+
+	/**
+	 * Matches a step text that was not seen by a run yet against the step
+	 * definitions
+	 *
+	 * @return the matched step or <code>null</code> if the text does not match
+	 *         exactly one step definition or a custom parameter type is in play
+	 */
+	private PickleStepTestStep matchExpressions(GherkinEditorDocument document, PickleStep pickleStep) {
+		Locale locale = document.getLocale();
+		String text = pickleStep.text();
+		CucumberStepDefinition match = null;
+		for (CompiledStep compiled : compiledSteps.computeIfAbsent(locale, this::compile)) {
+			try {
+				if (compiled.expression() == null) {
+					if (new ExpressionDefinition(compiled.definition().getStepDefinition().getPattern())
+							.matchIgnoreTypes(text, locale)) {
+						// only the runtime knows if the custom parameter types match
+						return null;
+					}
+				} else if (compiled.expression().match(text) != null) {
+					if (match != null) {
+						// ambiguous
+						return null;
+					}
+					match = compiled.definition();
+				}
+			} catch (RuntimeException e) {
+				return null;
+			}
+		}
+		if (match == null) {
+			return null;
+		}
+		return bind(document, pickleStep, match.getStepDefinition().getLocation(),
+				match.getStepDefinition().getPattern());
+	}
+
+	/**
+	 * Binds a match to a step of the given document, the recorded test steps
+	 * belong to the document and line they were first seen in
+	 */
+	private static PickleStepTestStep bind(GherkinEditorDocument document, PickleStep pickleStep, String codeLocation,
+			String pattern) {
+		Step step = pickleStep.step();
+		IResource resource = document.getResource();
+		return new GlueIndexStorage.StoredPickleStep(codeLocation, pattern,
+				new GlueIndexStorage.StoredStep(step.getKeyword(), pickleStep.text(),
+						step.getLocation().getLine().intValue()),
+				resource == null ? null : resource.getLocationURI());
+	}
+
+	private List<CompiledStep> compile(Locale locale) {
+		ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(locale));
+		List<CompiledStep> compiled = new ArrayList<>();
+		for (CucumberStepDefinition definition : snapshot.steps()) {
+			Expression expression;
+			try {
+				expression = factory.createExpression(definition.getStepDefinition().getPattern());
+			} catch (RuntimeException e) {
+				// uses a custom parameter type
+				expression = null;
+			}
+			compiled.add(new CompiledStep(definition, expression));
+		}
+		return List.copyOf(compiled);
+	}
+
+	/**
+	 * A step definition compiled with the built-in parameter types, the expression
+	 * is <code>null</code> if the step definition uses custom parameter types
+	 */
+	private record CompiledStep(CucumberStepDefinition definition, Expression expression) {
+	}
+
+	private static io.cucumber.plugin.event.Location toLocation(Location location) {
+		return new io.cucumber.plugin.event.Location(location.getLine().intValue(),
+				location.getColumn().orElse(0L).intValue());
+	}
+
+	private static String matchedKey(String text, String argumentKind) {
+		return argumentKind + ":" + text;
+	}
+
+	private static String missingKey(GherkinEditorDocument document, PickleStep pickleStep) {
+		return document.getDialect().getLanguage() + ":" + pickleStep.keyword() + ":"
+				+ matchedKey(pickleStep.text(), argumentKind(pickleStep.step()));
+	}
+
+	private static String argumentKind(PickleStepTestStep testStep) {
+		StepArgument argument = testStep.getStepArgument();
+		if (argument instanceof DataTableArgument) {
+			return "table";
+		}
+		if (argument instanceof DocStringArgument) {
+			return "docstring";
+		}
+		return "";
+	}
+
+	private static String argumentKind(Step step) {
+		if (step.getDataTable().isPresent()) {
+			return "table";
+		}
+		if (step.getDocString().isPresent()) {
+			return "docstring";
+		}
+		return "";
+	}
+
+	/**
+	 * A step as it would be part of a pickle, that is with outline placeholders
+	 * replaced and the keyword that cucumber uses for snippets
+	 */
+	private record PickleStep(Step step, String text, String keyword) {
+	}
+
+	@FunctionalInterface
+	private interface PickleVisitor {
+		/**
+		 * @return <code>false</code> to stop visiting
+		 */
+		boolean visit(List<String> tags, Location location, List<PickleStep> steps);
+	}
+
+	/**
+	 * Visits the pickles the gherkin compiler creates for the document, the same
+	 * pickles cucumber creates test cases for in a dry-run.
+	 */
+	private static boolean forEachPickle(GherkinEditorDocument document, PickleVisitor visitor) {
+		GherkinPickles pickles = document.getPickles();
+		for (Pickle pickle : pickles.getPickles()) {
+			Optional<Location> location = pickles.getLocation(pickle);
+			if (location.isEmpty()) {
+				return false;
+			}
+			List<PickleStep> steps = new ArrayList<>(pickle.getSteps().size());
+			String lastKeyword = null;
+			for (io.cucumber.messages.types.PickleStep pickleStep : pickle.getSteps()) {
+				Optional<Step> step = pickles.getStep(pickleStep);
+				if (step.isEmpty()) {
+					return false;
+				}
+				// cucumber uses the last keyword that is not a conjunction for snippets
+				String keyword = step.get().getKeyword().trim();
+				boolean conjunction = step.get().getKeywordType().map(StepKeywordType.CONJUNCTION::equals)
+						.orElse(false);
+				if (!conjunction || lastKeyword == null) {
+					lastKeyword = keyword;
+				}
+				steps.add(new PickleStep(step.get(), pickleStep.getText(), lastKeyword));
+			}
+			List<String> tags = pickle.getTags().stream().map(PickleTag::getName).toList();
+			if (!visitor.visit(tags, location.get(), steps)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
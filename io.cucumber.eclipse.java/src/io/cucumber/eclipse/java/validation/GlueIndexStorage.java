@@ -0,0 +1,441 @@
+package io.cucumber.eclipse.java.validation;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IJavaProject;
+
+import io.cucumber.eclipse.editor.EditorLogging;
+import io.cucumber.eclipse.editor.StorageHelper;
+import io.cucumber.eclipse.editor.Tracing;
+import io.cucumber.eclipse.java.plugins.CucumberCodeLocation;
+import io.cucumber.eclipse.java.plugins.CucumberStepDefinition;
+import io.cucumber.eclipse.java.runtime.ClassLoaderPool;
+import io.cucumber.plugin.event.Argument;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.HookType;
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Step;
+import io.cucumber.plugin.event.StepArgument;
+import io.cucumber.plugin.event.StepDefinition;
+
+/**
+ * Persists the {@link GlueIndex} of a project into the <code>.cucumber</code>
+ * build folder (see {@link StorageHelper}), so after a restart documents can be
+ * served from disk instead of waiting for a dry-run.
+ * <p>
+ * The stored data is keyed by the
+ * {@link ClassLoaderPool#classpathFingerprint(IJavaProject) classpath
+ * fingerprint} and the glue filter, as class files might have changed while the
+ * IDE was not running a restored index is only ever used provisionally until a
+ * dry-run verified it. Saving is deferred, so a series of validations only
+ * writes the index once.
+ * </p>
+ */
+final class GlueIndexStorage {
+
+	private static final String BUILD_FILE = "cucumber.glueIndex";
+
+	private static final int FORMAT_VERSION = 2;
+
+	private static final long SAVE_DELAY = 10_000;
+
+	private static final Map<IJavaProject, SaveJob> SAVE_JOBS = new ConcurrentHashMap<>();
+
+	private GlueIndexStorage() {
+	}
+
+	/**
+	 * Loads the stored index of the given project
+	 *
+	 * @param javaProject the project
+	 * @param glueFilter  the current glue filter of the project
+	 * @return a provisional index if one was stored for the current classpath and
+	 *         glue filter
+	 */
+	static Optional<GlueIndex> load(IJavaProject javaProject, List<String> glueFilter) {
+		long start = Tracing.PERF_STEPS ? System.currentTimeMillis() : 0;
+		try {
+			IFolder outputFolder = StorageHelper.getOutputFolder(javaProject.getProject());
+			if (!outputFolder.exists()) {
+				return Optional.empty();
+			}
+			IFile buildFile = outputFolder.getFile(BUILD_FILE);
+			if (!buildFile.exists()) {
+				return Optional.empty();
+			}
+			try (InputStream stream = buildFile.getContents(true)) {
+				Optional<GlueIndex> index = read(javaProject, glueFilter,
+						new DataInputStream(new BufferedInputStream(stream)));
+				if (Tracing.PERF_STEPS) {
+					Tracing.get().trace(Tracing.PERFORMANCE_STEPS,
+							"GlueIndexStorage: " + (index.isPresent() ? "restored" : "discarded") + " index of '"
+									+ javaProject.getElementName() + "' in " + (System.currentTimeMillis() - start)
+									+ "ms");
+				}
+				return index;
+			}
+		} catch (IOException | CoreException | RuntimeException e) {
+			EditorLogging.error("loading the glue index of " + javaProject.getElementName()
+					+ " failed, it will be rebuilt on the next validation", e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Schedules saving the index of the given project, if a save is already
+	 * pending it is postponed
+	 *
+	 * @param javaProject the project
+	 * @param index       the index to save
+	 */
+	static void scheduleSave(IJavaProject javaProject, GlueIndex index) {
+		if (index.isProvisional()) {
+			// nothing new to store
+			return;
+		}
+		SaveJob job = SAVE_JOBS.computeIfAbsent(javaProject, SaveJob::new);
+		job.index = index;
+		job.schedule(SAVE_DELAY);
+	}
+
+	private static Optional<GlueIndex> read(IJavaProject javaProject, List<String> glueFilter, DataInputStream in)
+			throws IOException, CoreException {
+		if (in.readInt() != FORMAT_VERSION || in.readLong() != ClassLoaderPool.classpathFingerprint(javaProject)) {
+			return Optional.empty();
+		}
+		List<String> storedFilter = readStrings(in);
+		if (!storedFilter.equals(glueFilter)) {
+			return Optional.empty();
+		}
+		int stepCount = in.readInt();
+		List<CucumberStepDefinition> steps = new ArrayList<>(stepCount);
+		for (int i = 0; i < stepCount; i++) {
+			String location = readString(in);
+			String pattern = readString(in);
+			steps.add(new CucumberStepDefinition(new StepDefinition(location, pattern),
+					new CucumberCodeLocation(location)));
+		}
+		GlueIndex index = GlueIndex.restore(javaProject, ClassLoaderPool.glueFingerprint(javaProject, glueFilter),
+				glueFilter, steps);
+		int matchedCount = in.readInt();
+		for (int i = 0; i < matchedCount; i++) {
+			String key = readString(in);
+			String codeLocation = readString(in);
+			String pattern = readString(in);
+			String text = readString(in);
+			String keyword = readString(in);
+			int line = in.readInt();
+			String uri = readNullable(in);
+			index.matchedByText().put(key, new StoredPickleStep(codeLocation, pattern,
+					new StoredStep(keyword, text, line), uri == null ? null : URI.create(uri)));
+		}
+		int missingCount = in.readInt();
+		for (int i = 0; i < missingCount; i++) {
+			String key = readString(in);
+			index.missingByText().put(key, readStrings(in));
+		}
+		int hooksCount = in.readInt();
+		for (int i = 0; i < hooksCount; i++) {
+			List<String> tags = readStrings(in);
+			int count = in.readInt();
+			List<HookTestStep> hooks = new ArrayList<>(count);
+			for (int j = 0; j < count; j++) {
+				String codeLocation = readString(in);
+				HookType type = HookType.valueOf(readString(in));
+				hooks.add(new StoredHookStep(codeLocation, type));
+			}
+			index.hooks().put(tags, List.copyOf(hooks));
+		}
+		return Optional.of(index);
+	}
+
+	private static void write(IJavaProject javaProject, GlueIndex index, DataOutputStream out)
+			throws IOException, CoreException {
+		out.writeInt(FORMAT_VERSION);
+		out.writeLong(ClassLoaderPool.classpathFingerprint(javaProject));
+		writeStrings(out, index.glueFilter());
+		List<CucumberStepDefinition> steps = index.snapshot().steps();
+		out.writeInt(steps.size());
+		for (CucumberStepDefinition step : steps) {
+			writeString(out, step.getStepDefinition().getLocation());
+			writeString(out, step.getStepDefinition().getPattern());
+		}
+		// the maps might grow concurrently, so copy them to write consistent counts
+		List<Map.Entry<String, PickleStepTestStep>> matched = List.copyOf(index.matchedByText().entrySet());
+		out.writeInt(matched.size());
+		for (Map.Entry<String, PickleStepTestStep> entry : matched) {
+			PickleStepTestStep testStep = entry.getValue();
+			writeString(out, entry.getKey());
+			writeString(out, testStep.getCodeLocation());
+			writeString(out, testStep.getPattern());
+			writeString(out, testStep.getStepText());
+			writeString(out, testStep.getStep().getKeyword());
+			out.writeInt(testStep.getStepLine());
+			writeNullable(out, testStep.getUri() == null ? null : testStep.getUri().toString());
+		}
+		List<Map.Entry<String, Collection<String>>> missing = List.copyOf(index.missingByText().entrySet());
+		out.writeInt(missing.size());
+		for (Map.Entry<String, Collection<String>> entry : missing) {
+			writeString(out, entry.getKey());
+			writeStrings(out, entry.getValue());
+		}
+		List<Map.Entry<List<String>, List<HookTestStep>>> hooks = List.copyOf(index.hooks().entrySet());
+		out.writeInt(hooks.size());
+		for (Map.Entry<List<String>, List<HookTestStep>> entry : hooks) {
+			writeStrings(out, entry.getKey());
+			out.writeInt(entry.getValue().size());
+			for (HookTestStep hook : entry.getValue()) {
+				writeString(out, hook.getCodeLocation());
+				writeString(out, hook.getHookType().name());
+			}
+		}
+	}
+
+	/**
+	 * Reads a string written by {@link #writeString(DataOutputStream, String)}
+	 */
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes the string as length prefixed UTF-8, unlike
+	 * {@link DataOutputStream#writeUTF(String)} this is not limited to 64 KB, e.g.
+	 * for long doc strings or tables in a step text
+	 */
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static List<String> readStrings(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		List<String> strings = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			strings.add(readString(in));
+		}
+		return List.copyOf(strings);
+	}
+
+	private static void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+		out.writeInt(strings.size());
+		for (String string : strings) {
+			writeString(out, string);
+		}
+	}
+
+	private static String readNullable(DataInputStream in) throws IOException {
+		return in.readBoolean() ? readString(in) : null;
+	}
+
+	private static void writeNullable(DataOutputStream out, String string) throws IOException {
+		out.writeBoolean(string != null);
+		if (string != null) {
+			writeString(out, string);
+		}
+	}
+
+	private static final class SaveJob extends Job {
+
+		private final IJavaProject javaProject;
+
+		private volatile GlueIndex index;
+
+		SaveJob(IJavaProject javaProject) {
+			super("Saving glue index of " + javaProject.getElementName());
+			this.javaProject = javaProject;
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			GlueIndex current = index;
+			IProject project = javaProject.getProject();
+			if (current == null || !project.isAccessible()) {
+				return Status.OK_STATUS;
+			}
+			long start = Tracing.PERF_STEPS ? System.currentTimeMillis() : 0;
+			try {
+				StorageHelper.saveIntoBuildDirectory(BUILD_FILE, project, monitor, stream -> {
+					DataOutputStream out = new DataOutputStream(stream);
+					try {
+						write(javaProject, current, out);
+					} catch (CoreException e) {
+						throw new IOException(e);
+					}
+					out.flush();
+				});
+				if (Tracing.PERF_STEPS) {
+					Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "GlueIndexStorage: saved index of '"
+							+ javaProject.getElementName() + "' in " + (System.currentTimeMillis() - start) + "ms");
+				}
+			} catch (CoreException | RuntimeException e) {
+				EditorLogging.error("saving the glue index of " + javaProject.getElementName() + " failed", e);
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	/**
+	 * A step restored from storage or matched by the index
+	 */
+	static final class StoredStep implements Step {
+
+		private final String keyword;
+		private final String text;
+		private final int line;
+
+		StoredStep(String keyword, String text, int line) {
+			this.keyword = keyword;
+			this.text = text;
+			this.line = line;
+		}
+
+		@Override
+		public StepArgument getArgument() {
+			return null;
+		}
+
+		@Override
+		public String getKeyword() {
+			return keyword;
+		}
+
+		@Override
+		public String getText() {
+			return text;
+		}
+
+		@Override
+		public int getLine() {
+			return line;
+		}
+
+		@Override
+		public Location getLocation() {
+			return new Location(line, 0);
+		}
+	}
+
+	/**
+	 * A matched step restored from storage or matched by the index, the arguments
+	 * of the match are not kept as they are not used to validate a document
+	 */
+	static final class StoredPickleStep implements PickleStepTestStep {
+
+		private final UUID id = UUID.randomUUID();
+		private final String codeLocation;
+		private final String pattern;
+		private final StoredStep step;
+		private final URI uri;
+
+		StoredPickleStep(String codeLocation, String pattern, StoredStep step, URI uri) {
+			this.codeLocation = codeLocation;
+			this.pattern = pattern;
+			this.step = step;
+			this.uri = uri;
+		}
+
+		@Override
+		public String getCodeLocation() {
+			return codeLocation;
+		}
+
+		@Override
+		public UUID getId() {
+			return id;
+		}
+
+		@Override
+		public String getPattern() {
+			return pattern;
+		}
+
+		@Override
+		public Step getStep() {
+			return step;
+		}
+
+		@Override
+		public List<Argument> getDefinitionArgument() {
+			return List.of();
+		}
+
+		@Override
+		public StepArgument getStepArgument() {
+			return null;
+		}
+
+		@Override
+		public int getStepLine() {
+			return step.getLine();
+		}
+
+		@Override
+		public URI getUri() {
+			return uri;
+		}
+
+		@Override
+		public String getStepText() {
+			return step.getText();
+		}
+	}
+
+	/**
+	 * A hook restored from storage
+	 */
+	private static final class StoredHookStep implements HookTestStep {
+
+		private final UUID id = UUID.randomUUID();
+		private final String codeLocation;
+		private final HookType hookType;
+
+		StoredHookStep(String codeLocation, HookType hookType) {
+			this.codeLocation = codeLocation;
+			this.hookType = hookType;
+		}
+
+		@Override
+		public String getCodeLocation() {
+			return codeLocation;
+		}
+
+		@Override
+		public UUID getId() {
+			return id;
+		}
+
+		@Override
+		public HookType getHookType() {
+			return hookType;
+		}
+	}
+
+}
@@ -8,9 +8,16 @@ import io.cucumber.eclipse.java.plugins.MatchedStep;
 /**
  * Container for glue validation results.
  * 
- * @param availableSteps all step definitions found in the project
+ * @param snapshot     the step definitions of the project, shared by all
+ *                     documents validated against the same glue
  * @param matchedSteps steps that were successfully matched to step definitions
  */
-public record GlueSteps(Collection<CucumberStepDefinition> availableSteps,
-		Collection<MatchedStep<?>> matchedSteps) {
-}
\ No newline at end of file
+public record GlueSteps(StepDefinitionSnapshot snapshot, Collection<MatchedStep<?>> matchedSteps) {
+
+	/**
+	 * @return all step definitions found in the project
+	 */
+	public Collection<CucumberStepDefinition> availableSteps() {
+		return snapshot.steps();
+	}
+}
@@ -4,17 +4,20 @@ import static io.cucumber.eclipse.editor.Tracing.PERFORMANCE_STEPS;
 
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jface.text.IDocument;
 
@@ -30,6 +33,7 @@ import io.cucumber.eclipse.editor.EditorLogging;
 import io.cucumber.eclipse.editor.Tracing;
 import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
 import io.cucumber.eclipse.editor.marker.MarkerFactory;
+import io.cucumber.eclipse.editor.validation.DocumentValidator;
 import io.cucumber.eclipse.java.Activator;
 import io.cucumber.eclipse.java.plugins.CucumberMatchedStepsPlugin;
 import io.cucumber.eclipse.java.plugins.CucumberMissingStepsPlugin;
@@ -37,6 +41,7 @@ import io.cucumber.eclipse.java.plugins.CucumberStepDefinition;
 import io.cucumber.eclipse.java.plugins.CucumberStepParserPlugin;
 import io.cucumber.eclipse.java.plugins.MatchedStep;
 import io.cucumber.eclipse.java.preferences.CucumberJavaPreferences;
+import io.cucumber.eclipse.java.runtime.ClassLoaderPool;
 import io.cucumber.eclipse.java.runtime.CucumberRuntime;
 import io.cucumber.plugin.Plugin;
 
@@ -64,11 +69,25 @@ public final class JavaGlueJob {
 	 * @param validationPlugins  set of validation plugin class names to use for all
 	 *                           documents
 	 * @param monitor            the progress monitor for cancellation
-	 * @return Map of documents to GlueSteps containing matched and available steps
+	 * @return Map of documents to GlueSteps containing matched steps and the shared
+	 *         snapshot of the available steps
+	 * @see StepUsageIndex
 	 */
 	public static Map<GherkinEditorDocument, GlueSteps> validateGlue(Collection<GherkinEditorDocument> editorDocuments,
 			IJavaProject javaProject, CucumberJavaPreferences projectPreferences, Set<String> validationPlugins,
 			IProgressMonitor monitor) {
+		// captured before the run, so glue changed during the run makes the usages stale
+		OptionalLong glueFingerprint = StepUsageIndex.glueFingerprint(javaProject);
+		Map<GherkinEditorDocument, GlueSteps> results = validateGlue(editorDocuments, javaProject,
+				projectPreferences, validationPlugins, monitor, true);
+		StepUsageIndex.record(javaProject, glueFingerprint, results);
+		return results;
+	}
+
+	private static Map<GherkinEditorDocument, GlueSteps> validateGlue(
+			Collection<GherkinEditorDocument> editorDocuments, IJavaProject javaProject,
+			CucumberJavaPreferences projectPreferences, Set<String> validationPlugins, IProgressMonitor monitor,
+			boolean useIndex) {
 
 		Map<GherkinEditorDocument, GlueSteps> resultsByDocument = new HashMap<>();
 
@@ -79,12 +98,27 @@ public final class JavaGlueJob {
 		boolean perf = Tracing.PERF_STEPS;
 		long start = perf ? System.currentTimeMillis() : 0;
 		long startPhase = 0;
+		// reserved before the glue is read, so a slower run over older glue can't
+		// replace the snapshot of a run that started later
+		long version = StepDefinitionSnapshot.nextVersion();
+
+		// --- Phase 0: Serve documents that are fully known to the glue index ---
+		if (useIndex) {
+			editorDocuments = validateFromIndex(editorDocuments, javaProject, projectPreferences, validationPlugins,
+					version, resultsByDocument);
+		}
+		if (editorDocuments.isEmpty()) {
+			return resultsByDocument;
+		}
 
 		try {
 			// --- Phase 1: Create classloader and Cucumber runtime ---
 			if (perf) {
 				startPhase = System.currentTimeMillis();
 			}
+			// captured before the classes are loaded, so changes during the run
+			// invalidate the index
+			long glueFingerprint = ClassLoaderPool.glueFingerprint(javaProject, projectPreferences.glueFilter());
 			CucumberRuntime rt = CucumberRuntime.create(javaProject);
 			if (perf) {
 				Tracing.get().trace(PERFORMANCE_STEPS, "[" + javaProject.getElementName() + "] Classloader created in "
@@ -164,6 +198,15 @@ public final class JavaGlueJob {
 
 					// --- Phase 4: Process per-document results ---
 					Collection<CucumberStepDefinition> steps = stepParserPlugin.getStepList();
+					// only runs with a pooled classloader see the same classes as the index
+					GlueIndex index = rt.getClassLoaderFingerprint().isPresent()
+							? GlueIndex.update(javaProject, glueFingerprint, projectPreferences.glueFilter(), steps,
+									version)
+							: null;
+					// all documents of the run share the same snapshot, and as long as the index
+					// stays valid so do all later runs
+					StepDefinitionSnapshot snapshot = index != null ? index.snapshot(version)
+							: StepDefinitionSnapshot.of(version, steps);
 
 					for (Map.Entry<URI, GherkinEditorDocument> entry : documentsByUri.entrySet()) {
 						if (monitor.isCanceled()) {
@@ -194,7 +237,10 @@ public final class JavaGlueJob {
 									+ " steps matched, " + snippets.size() + " missing");
 						}
 
-						resultsByDocument.put(document, new GlueSteps(List.copyOf(steps), List.copyOf(matchedSteps)));
+						resultsByDocument.put(document, new GlueSteps(snapshot, List.copyOf(matchedSteps)));
+						if (index != null) {
+							index.record(document, matchedSteps, snippets, matchedStepsPlugin.getHooksByTags());
+						}
 					}
 
 					if (perf) {
@@ -213,6 +259,73 @@ public final class JavaGlueJob {
 		return resultsByDocument;
 	}
 
+	/**
+	 * Validates all documents that are fully known to the {@link GlueIndex} of the
+	 * project and puts their results into the given map.
+	 * 
+	 * @return the documents that still require a dry-run
+	 */
+	private static Collection<GherkinEditorDocument> validateFromIndex(
+			Collection<GherkinEditorDocument> editorDocuments, IJavaProject javaProject,
+			CucumberJavaPreferences projectPreferences, Set<String> validationPlugins, long version,
+			Map<GherkinEditorDocument, GlueSteps> resultsByDocument) {
+		if (!validationPlugins.isEmpty()) {
+			// validation plugins must see each document in a real run
+			return editorDocuments;
+		}
+		Optional<GlueIndex> index = GlueIndex.get(javaProject, projectPreferences.glueFilter());
+		if (index.isEmpty()) {
+			return editorDocuments;
+		}
+		long start = Tracing.PERF_STEPS ? System.currentTimeMillis() : 0;
+		List<GherkinEditorDocument> remaining = new ArrayList<>();
+		for (GherkinEditorDocument document : editorDocuments) {
+			if (document.getFeature().isEmpty() || document.getParseError().findAny().isPresent()) {
+				remaining.add(document);
+				continue;
+			}
+			Optional<GlueIndex.Match> match = index.get().match(document);
+			if (match.isEmpty()) {
+				remaining.add(document);
+				continue;
+			}
+			IResource resource = document.getResource();
+			MarkerFactory.validationErrorOnStepDefinition(resource, Map.of(), false);
+			MarkerFactory.missingSteps(resource, match.get().snippets(), Activator.PLUGIN_ID, false);
+			resultsByDocument.put(document,
+					new GlueSteps(index.get().snapshot(version), List.copyOf(match.get().matchedSteps())));
+		}
+		if (Tracing.PERF_STEPS) {
+			Tracing.get().trace(PERFORMANCE_STEPS,
+					"[" + javaProject.getElementName() + "] Glue index" + (index.get().isProvisional() ? " (stored)" : "")
+							+ " served " + resultsByDocument.size() + "/" + editorDocuments.size() + " doc(s) in "
+							+ (System.currentTimeMillis() - start) + "ms");
+		}
+		if (!resultsByDocument.isEmpty() && index.get().claimVerification()) {
+			verifyInBackground(List.copyOf(resultsByDocument.keySet()), javaProject, projectPreferences);
+		}
+		return remaining;
+	}
+
+	/**
+	 * Verifies a glue index that was restored from storage by a dry-run of the
+	 * documents it has served, what replaces the stored index with a verified one.
+	 * All documents of the project are revalidated afterwards to pick up the
+	 * verified results.
+	 */
+	private static void verifyInBackground(Collection<GherkinEditorDocument> documents, IJavaProject javaProject,
+			CucumberJavaPreferences projectPreferences) {
+		Job job = Job.create("Verifying stored glue of " + javaProject.getElementName(), monitor -> {
+			validateGlue(documents, javaProject, projectPreferences, Set.of(), monitor, false);
+			if (!monitor.isCanceled()) {
+				DocumentValidator.revalidateDocuments(javaProject.getProject());
+			}
+		});
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule();
+	}
+
 	private static void handleGlueValidationError(Throwable e, Collection<GherkinEditorDocument> documents) {
 		if (e instanceof CucumberExpressionException ee) {
 			handleExpressionException(documents, ee);
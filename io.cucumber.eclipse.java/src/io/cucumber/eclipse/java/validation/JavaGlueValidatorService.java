@@ -28,7 +28,9 @@ import io.cucumber.eclipse.editor.document.IGherkinDocumentListener;
 import io.cucumber.eclipse.editor.marker.MarkerFactory;
 import io.cucumber.eclipse.editor.validation.DocumentValidator;
 import io.cucumber.eclipse.editor.validation.IGlueValidator;
+import io.cucumber.eclipse.editor.validation.ValidationExecutor;
 import io.cucumber.eclipse.java.JDTUtil;
+import io.cucumber.eclipse.java.cache.JavaGlueModelWarmer;
 import io.cucumber.eclipse.java.plugins.CucumberStepDefinition;
 import io.cucumber.eclipse.java.plugins.MatchedStep;
 import io.cucumber.eclipse.java.preferences.CucumberJavaPreferences;
@@ -51,7 +53,16 @@ public class JavaGlueValidatorService implements IGlueValidator, JavaGlueStore,
 
 	private final Map<IEclipsePreferences, IPreferenceChangeListener> preferenceChangeListeners = new HashMap<>();
 
-	private final Map<IDocument, GlueSteps> glueMap = new ConcurrentHashMap<>();
+	/**
+	 * the latest step definitions of each project, shared by all its documents
+	 */
+	private final Map<IJavaProject, StepDefinitionSnapshot> snapshots = new ConcurrentHashMap<>();
+
+	/**
+	 * per document only the project and the matched steps are kept, the step
+	 * definitions are looked up in the snapshot of the project
+	 */
+	private final Map<IDocument, DocumentGlue> glueMap = new ConcurrentHashMap<>();
 
 	private GlueCodeChangeListener glueCodeChangeListener;
 
@@ -101,50 +112,54 @@ public class JavaGlueValidatorService implements IGlueValidator, JavaGlueStore,
 					+ editorDocuments.size() + " doc(s) across " + documentsByProject.size() + " project(s)");
 		}
 		
-		// Process each Java project's documents with shared runtime setup
+		// Group the documents of each Java project by their validation plugins, every
+		// group needs its own runtime but groups are independent of each other
+		List<ValidationGroup> groups = new ArrayList<>();
 		for (Map.Entry<IJavaProject, List<GherkinEditorDocument>> entry : documentsByProject.entrySet()) {
-			if (monitor.isCanceled()) {
-				break;
-			}
-			
 			IJavaProject javaProject = entry.getKey();
-			List<GherkinEditorDocument> documents = entry.getValue();
 			
 			// Get project preferences once for all documents in this project
 			CucumberJavaPreferences projectPreferences = CucumberJavaPreferences.of(javaProject.getProject());
 			
-			// Group documents by their validation plugins
 			Map<Set<String>, List<GherkinEditorDocument>> documentsByPlugins = new HashMap<>();
-			
-			for (GherkinEditorDocument document : documents) {
+			for (GherkinEditorDocument document : entry.getValue()) {
 				Set<String> plugins = JavaGlueJob.extractValidationPlugins(document, projectPreferences);
 				documentsByPlugins.computeIfAbsent(plugins, k -> new ArrayList<>()).add(document);
 			}
+			documentsByPlugins.forEach((plugins, documents) -> groups
+					.add(new ValidationGroup(javaProject, projectPreferences, plugins, documents)));
+		}
+
+		// Process the groups concurrently, documents within a group are validated
+		// together with a shared runtime
+		IProgressMonitor groupMonitor = groups.size() > 1 ? ValidationExecutor.concurrent(monitor) : monitor;
+		ValidationExecutor.forEach(groups, monitor, group -> {
+			Map<GherkinEditorDocument, GlueSteps> results = JavaGlueJob.validateGlue(group.documents(),
+					group.javaProject(), group.preferences(), group.plugins(), groupMonitor);
 			
-			// Process each group with the same validation plugins together
-			for (Map.Entry<Set<String>, List<GherkinEditorDocument>> pluginEntry : documentsByPlugins.entrySet()) {
-				if (monitor.isCanceled()) {
-					break;
-				}
-				
-				Set<String> plugins = pluginEntry.getKey();
-				List<GherkinEditorDocument> docsForPlugins = pluginEntry.getValue();
-				
-				// Validate all documents in this group together
-				Map<GherkinEditorDocument, GlueSteps> results = JavaGlueJob.validateGlue(
-						docsForPlugins, javaProject, projectPreferences, plugins, monitor);
-				
-				// Store results in glue map
-				for (Map.Entry<GherkinEditorDocument, GlueSteps> result : results.entrySet()) {
-					GherkinEditorDocument document = result.getKey();
-					GlueSteps glueSteps = result.getValue();
-					if (glueSteps != null) {
-						glueMap.put(document.getDocument(), glueSteps);
-						EditorReconciler.reconcileFeatureEditor(document.getDocument());
+			// Store results in glue map
+			StepDefinitionSnapshot previous = snapshots.get(group.javaProject());
+			StepDefinitionSnapshot latest = null;
+			for (Map.Entry<GherkinEditorDocument, GlueSteps> result : results.entrySet()) {
+				GherkinEditorDocument document = result.getKey();
+				GlueSteps glueSteps = result.getValue();
+				if (glueSteps != null) {
+					StepDefinitionSnapshot snapshot = glueSteps.snapshot();
+					if (snapshots.merge(group.javaProject(), snapshot,
+							(current, update) -> update.isNewerThan(current) ? update : current) == snapshot) {
+						latest = snapshot;
 					}
+					glueMap.put(document.getDocument(),
+							new DocumentGlue(group.javaProject(), glueSteps.matchedSteps()));
+					EditorReconciler.reconcileFeatureEditor(document.getDocument());
 				}
 			}
-		}
+			if (latest != null && (previous == null || latest.steps() != previous.steps())) {
+				// resolve the Java model of the new step definitions before the user asks for it
+				JavaGlueModelWarmer.schedule(group.javaProject(),
+						latest.steps().stream().map(CucumberStepDefinition::getCodeLocation).toList());
+			}
+		});
 
 		if (perf) {
 			Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "Glue validation complete: "
@@ -152,6 +167,17 @@ public class JavaGlueValidatorService implements IGlueValidator, JavaGlueStore,
 		}
 	}
 
+	private record ValidationGroup(IJavaProject javaProject, CucumberJavaPreferences preferences,
+			Set<String> plugins, List<GherkinEditorDocument> documents) {
+	}
+
+	/**
+	 * The glue state of a single document, the step definitions are shared by the
+	 * snapshot of the project
+	 */
+	private record DocumentGlue(IJavaProject javaProject, Collection<MatchedStep<?>> matchedSteps) {
+	}
+
 	private synchronized void listenForChanges(IResource resource) {
 		CucumberJavaBackendProperties properties = CucumberJavaBackendProperties.of(resource);
 		IEclipsePreferences projectNode = properties.node();
@@ -169,20 +195,26 @@ public class JavaGlueValidatorService implements IGlueValidator, JavaGlueStore,
 
 	@Override
 	public Collection<CucumberStepDefinition> getAvailableSteps(IDocument document) {
-		GlueSteps glueSteps = glueMap.get(document);
-		if (glueSteps == null) {
+		DocumentGlue glue = glueMap.get(document);
+		if (glue == null) {
+			return List.of();
+		}
+		// the latest snapshot of the project is at least as recent as the one the
+		// document was validated with
+		StepDefinitionSnapshot snapshot = snapshots.get(glue.javaProject());
+		if (snapshot == null) {
 			return List.of();
 		}
-		return glueSteps.availableSteps();
+		return snapshot.steps();
 	}
 
 	@Override
 	public Collection<MatchedStep<?>> getMatchedSteps(IDocument document) {
-		GlueSteps glueSteps = glueMap.get(document);
-		if (glueSteps == null) {
+		DocumentGlue glue = glueMap.get(document);
+		if (glue == null) {
 			return List.of();
 		}
-		return glueSteps.matchedSteps();
+		return glue.matchedSteps();
 	}
 
 	@Activate
@@ -193,6 +225,7 @@ public class JavaGlueValidatorService implements IGlueValidator, JavaGlueStore,
 	@Deactivate
 	synchronized void shutdown() {
 		GherkinEditorDocumentManager.removeDocumentListener(this);
+		JavaGlueModelWarmer.shutdown();
 		preferenceChangeListeners.forEach(IEclipsePreferences::removePreferenceChangeListener);
 		if (glueCodeChangeListener != null) {
 			JavaCore.removeElementChangedListener(glueCodeChangeListener);
@@ -209,7 +242,11 @@ public class JavaGlueValidatorService implements IGlueValidator, JavaGlueStore,
 
 	@Override
 	public void documentDisposed(IDocument document) {
-		glueMap.remove(document);
+		DocumentGlue glue = glueMap.remove(document);
+		if (glue != null && glueMap.values().stream().noneMatch(g -> g.javaProject().equals(glue.javaProject()))) {
+			// no document refers to the project anymore
+			snapshots.remove(glue.javaProject());
+		}
 	}
 
 }
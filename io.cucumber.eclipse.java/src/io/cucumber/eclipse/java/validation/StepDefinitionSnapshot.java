@@ -0,0 +1,68 @@
+package io.cucumber.eclipse.java.validation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.cucumber.eclipse.java.plugins.CucumberStepDefinition;
+
+/**
+ * Immutable set of the step definitions of a project as discovered by one
+ * dry-run.
+ * <p>
+ * A snapshot is shared by all documents validated against the same glue, so
+ * the memory used for the step definitions scales with the number of projects
+ * instead of the number of documents. The version of a snapshot is reserved
+ * when the validation that produces it starts (see {@link #nextVersion()}), so
+ * a snapshot with a higher version always reflects a later state of the glue,
+ * even if a validation that started earlier finishes later.
+ * </p>
+ *
+ * @param version the version of this snapshot
+ * @param steps   all step definitions found in the project
+ */
+public record StepDefinitionSnapshot(long version, List<CucumberStepDefinition> steps) {
+
+	private static final AtomicLong VERSION = new AtomicLong();
+
+	/**
+	 * Reserves a version, must be called before the state of the glue is read
+	 *
+	 * @return a version higher than all versions reserved before
+	 */
+	public static long nextVersion() {
+		return VERSION.incrementAndGet();
+	}
+
+	/**
+	 * Creates a new snapshot
+	 *
+	 * @param version the version reserved when the validation started
+	 * @param steps   the step definitions to capture
+	 * @return the snapshot
+	 */
+	public static StepDefinitionSnapshot of(long version, Collection<CucumberStepDefinition> steps) {
+		return new StepDefinitionSnapshot(version, List.copyOf(steps));
+	}
+
+	/**
+	 * Confirms the step definitions for a later state of the glue, the steps are
+	 * shared with this snapshot
+	 *
+	 * @param version the version reserved by the later validation
+	 * @return a snapshot with the given version or this snapshot if it is not
+	 *         older
+	 */
+	public StepDefinitionSnapshot withVersion(long version) {
+		return version > this.version ? new StepDefinitionSnapshot(version, steps) : this;
+	}
+
+	/**
+	 * @param other the snapshot to compare with, might be <code>null</code>
+	 * @return <code>true</code> if this snapshot is more recent than the other one
+	 */
+	public boolean isNewerThan(StepDefinitionSnapshot other) {
+		return other == null || version > other.version;
+	}
+
+}
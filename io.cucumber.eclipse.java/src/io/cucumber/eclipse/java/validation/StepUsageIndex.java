@@ -0,0 +1,280 @@
+package io.cucumber.eclipse.java.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+import io.cucumber.eclipse.editor.document.GherkinEditorDocument;
+import io.cucumber.eclipse.editor.document.GherkinEditorDocumentManager;
+import io.cucumber.eclipse.java.plugins.CucumberCodeLocation;
+import io.cucumber.eclipse.java.plugins.MatchedStep;
+import io.cucumber.eclipse.java.preferences.CucumberJavaPreferences;
+import io.cucumber.eclipse.java.runtime.ClassLoaderPool;
+
+/**
+ * Per project inverted index from the code location of a step definition to
+ * the feature file lines that use it.
+ * <p>
+ * The index is maintained as a by-product of glue validation: every time
+ * {@link JavaGlueJob} produces the matched steps of a feature file, the usages
+ * of that file are replaced. A search for the references of a step definition
+ * is then a lookup instead of a dry-run over all feature files.
+ * </p>
+ * <p>
+ * The usages of a file are recorded together with the modification stamp of
+ * the file (only if they were matched from the saved content) and the {@link #glueFingerprint(IJavaProject) fingerprint of the
+ * glue} they were matched against, usages of a file that was changed since, or
+ * of glue that was changed since, are stale and not reported, see
+ * {@link #contains(IFile, long)}. Such files as well as files that were never
+ * validated must be searched with a dry-run. A change of the glue code also
+ * drops all usages of the project right away (see
+ * {@link #invalidate(IProject)}).
+ * </p>
+ * <p>
+ * The index is persisted by the {@link StepUsageStorage}, so it is available
+ * right after a restart, usages are refreshed whenever a feature file is
+ * validated again.
+ * </p>
+ */
+public final class StepUsageIndex {
+
+	private static final Map<IJavaProject, StepUsageIndex> INDEX = new ConcurrentHashMap<>();
+
+	/**
+	 * code location -> files that contain at least one usage
+	 */
+	private final Map<String, Set<IFile>> filesByLocation = new ConcurrentHashMap<>();
+
+	/**
+	 * file -> usages of the file
+	 */
+	private final Map<IFile, FileUsages> usagesByFile = new ConcurrentHashMap<>();
+
+	StepUsageIndex() {
+	}
+
+	/**
+	 * A usage of a step definition
+	 *
+	 * @param file the feature file
+	 * @param line the 1-based line of the step
+	 */
+	public record Usage(IFile file, int line) {
+	}
+
+	/**
+	 * The usages of a feature file and the state they were recorded for
+	 *
+	 * @param modificationStamp the modification stamp of the file
+	 * @param glueFingerprint   the fingerprint of the glue
+	 * @param lines             the lines of the file per code location
+	 */
+	record FileUsages(long modificationStamp, long glueFingerprint, Map<String, int[]> lines) {
+	}
+
+	/**
+	 * Returns the index of the given project, restoring a stored index the first
+	 * time it is requested
+	 *
+	 * @param javaProject the project
+	 * @return the index of the project
+	 */
+	public static StepUsageIndex get(IJavaProject javaProject) {
+		return INDEX.computeIfAbsent(javaProject, StepUsageStorage::load);
+	}
+
+	/**
+	 * Computes the fingerprint of the glue usages are recorded for
+	 *
+	 * @param javaProject the project
+	 * @return the current fingerprint or an empty optional if it can't be
+	 *         computed, no usages are current then
+	 * @see ClassLoaderPool#persistentGlueFingerprint(IJavaProject, Collection)
+	 */
+	public static OptionalLong glueFingerprint(IJavaProject javaProject) {
+		try {
+			return OptionalLong.of(ClassLoaderPool.persistentGlueFingerprint(javaProject,
+					CucumberJavaPreferences.of(javaProject.getProject()).glueFilter()));
+		} catch (CoreException e) {
+			return OptionalLong.empty();
+		}
+	}
+
+	/**
+	 * Records the matched steps of validated documents
+	 *
+	 * @param javaProject     the project the documents were validated in
+	 * @param glueFingerprint the fingerprint of the glue captured before the
+	 *                        validation started
+	 * @param results         the validation results
+	 */
+	static void record(IJavaProject javaProject, OptionalLong glueFingerprint,
+			Map<GherkinEditorDocument, GlueSteps> results) {
+		if (results.isEmpty() || glueFingerprint.isEmpty()) {
+			return;
+		}
+		StepUsageIndex index = get(javaProject);
+		for (Map.Entry<GherkinEditorDocument, GlueSteps> entry : results.entrySet()) {
+			IResource resource = entry.getKey().getResource();
+			if (resource instanceof IFile file && !isDirty(entry.getKey())) {
+				index.update(file, glueFingerprint.getAsLong(), entry.getValue().matchedSteps());
+			}
+		}
+		StepUsageStorage.scheduleSave(javaProject, index);
+	}
+
+	/**
+	 * @return <code>true</code> if the document is an editor buffer with unsaved
+	 *         changes, its usages do not belong to the content of the file then and
+	 *         the usages recorded for the file stay as they are
+	 */
+	private static boolean isDirty(GherkinEditorDocument document) {
+		ITextFileBuffer buffer = GherkinEditorDocumentManager.getTextBuffer(document.getDocument());
+		return buffer != null && buffer.isDirty();
+	}
+
+	/**
+	 * Drops the usages of all java projects that belong to the given project, e.g.
+	 * because its glue code was changed
+	 *
+	 * @param project the project to invalidate
+	 */
+	static void invalidate(IProject project) {
+		IJavaProject javaProject = JavaCore.create(project);
+		// replace instead of remove, so the stored usages are not loaded again
+		StepUsageIndex index = new StepUsageIndex();
+		if (INDEX.put(javaProject, index) != null || StepUsageStorage.exists(javaProject)) {
+			StepUsageStorage.scheduleSave(javaProject, index);
+		}
+	}
+
+	/**
+	 * @param file            a feature file
+	 * @param glueFingerprint the current {@link #glueFingerprint(IJavaProject)
+	 *                        fingerprint of the glue}
+	 * @return <code>true</code> if the usages of the file are known to the index
+	 *         and neither the file nor the glue were changed since they were
+	 *         recorded
+	 */
+	public boolean contains(IFile file, long glueFingerprint) {
+		FileUsages usages = usagesByFile.get(file);
+		return usages != null && usages.glueFingerprint() == glueFingerprint
+				&& usages.modificationStamp() == file.getModificationStamp();
+	}
+
+	/**
+	 * @return the code locations of all step definitions that are used at least
+	 *         once
+	 */
+	public Collection<CucumberCodeLocation> getCodeLocations() {
+		List<CucumberCodeLocation> locations = new ArrayList<>(filesByLocation.size());
+		for (String location : filesByLocation.keySet()) {
+			locations.add(new CucumberCodeLocation(location));
+		}
+		return locations;
+	}
+
+	/**
+	 * @param codeLocation    the code location of a step definition
+	 * @param glueFingerprint the current {@link #glueFingerprint(IJavaProject)
+	 *                        fingerprint of the glue}
+	 * @return the usages of the step definition in existing feature files whose
+	 *         usages are current (see {@link #contains(IFile, long)})
+	 */
+	public List<Usage> getUsages(CucumberCodeLocation codeLocation, long glueFingerprint) {
+		Set<IFile> files = filesByLocation.get(codeLocation.getLocation());
+		if (files == null) {
+			return List.of();
+		}
+		List<Usage> usages = new ArrayList<>();
+		for (IFile file : files) {
+			if (!file.exists()) {
+				remove(file);
+				continue;
+			}
+			if (!contains(file, glueFingerprint)) {
+				continue;
+			}
+			FileUsages usagesOfFile = usagesByFile.get(file);
+			int[] lines = usagesOfFile == null ? null : usagesOfFile.lines().get(codeLocation.getLocation());
+			if (lines != null) {
+				for (int line : lines) {
+					usages.add(new Usage(file, line));
+				}
+			}
+		}
+		return usages;
+	}
+
+	/**
+	 * Replaces the usages of a feature file
+	 *
+	 * @param file            the feature file
+	 * @param glueFingerprint the fingerprint of the glue the steps were matched
+	 *                        against
+	 * @param matchedSteps    all steps of the file that were matched to glue code
+	 */
+	synchronized void update(IFile file, long glueFingerprint, Collection<MatchedStep<?>> matchedSteps) {
+		Map<String, List<Integer>> lines = new HashMap<>();
+		for (MatchedStep<?> matchedStep : matchedSteps) {
+			CucumberCodeLocation codeLocation = matchedStep.getCodeLocation();
+			if (codeLocation != null && matchedStep.getLocation() != null) {
+				lines.computeIfAbsent(codeLocation.getLocation(), l -> new ArrayList<>())
+						.add(matchedStep.getLocation().getLine());
+			}
+		}
+		Map<String, int[]> usages = new HashMap<>();
+		lines.forEach((location, list) -> usages.put(location, list.stream().mapToInt(Integer::intValue).toArray()));
+		put(file, new FileUsages(file.getModificationStamp(), glueFingerprint, usages));
+	}
+
+	/**
+	 * Replaces the usages of a feature file
+	 *
+	 * @param file   the feature file
+	 * @param usages the usages of the file
+	 */
+	synchronized void put(IFile file, FileUsages usages) {
+		remove(file);
+		usagesByFile.put(file, usages);
+		for (String location : usages.lines().keySet()) {
+			filesByLocation.computeIfAbsent(location, l -> ConcurrentHashMap.newKeySet()).add(file);
+		}
+	}
+
+	private synchronized void remove(IFile file) {
+		FileUsages previous = usagesByFile.remove(file);
+		if (previous == null) {
+			return;
+		}
+		for (String location : previous.lines().keySet()) {
+			Set<IFile> files = filesByLocation.get(location);
+			if (files != null) {
+				files.remove(file);
+				if (files.isEmpty()) {
+					filesByLocation.remove(location);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return a copy of the usages per file for storing the index
+	 */
+	synchronized Map<IFile, FileUsages> usagesByFile() {
+		return new HashMap<>(usagesByFile);
+	}
+}
@@ -0,0 +1,196 @@
+package io.cucumber.eclipse.java.validation;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IJavaProject;
+
+import io.cucumber.eclipse.editor.EditorLogging;
+import io.cucumber.eclipse.editor.StorageHelper;
+import io.cucumber.eclipse.editor.Tracing;
+
+/**
+ * Persists the {@link StepUsageIndex} of a project into the
+ * <code>.cucumber</code> build folder (see {@link StorageHelper}). Each file is
+ * stored with the modification stamp and glue fingerprint its usages were
+ * recorded for, usages of files changed since are dropped when loading. Saving
+ * is deferred, so a series of validations only writes the index once.
+ */
+final class StepUsageStorage {
+
+	private static final String BUILD_FILE = "cucumber.stepUsages.tmp";
+
+	private static final int FORMAT_VERSION = 2;
+
+	private static final long SAVE_DELAY = 10_000;
+
+	private static final Map<IJavaProject, SaveJob> SAVE_JOBS = new ConcurrentHashMap<>();
+
+	private StepUsageStorage() {
+	}
+
+	/**
+	 * Loads the stored index of the given project, usages of feature files that
+	 * no longer exist are dropped
+	 *
+	 * @param javaProject the project
+	 * @return the stored index or an empty index if nothing was stored
+	 */
+	static StepUsageIndex load(IJavaProject javaProject) {
+		StepUsageIndex index = new StepUsageIndex();
+		long start = Tracing.PERF_STEPS ? System.currentTimeMillis() : 0;
+		try {
+			IFolder outputFolder = StorageHelper.getOutputFolder(javaProject.getProject());
+			if (!outputFolder.exists()) {
+				return index;
+			}
+			IFile buildFile = outputFolder.getFile(BUILD_FILE);
+			if (!buildFile.exists()) {
+				return index;
+			}
+			try (InputStream stream = buildFile.getContents(true)) {
+				int files = read(index, javaProject.getProject().getWorkspace().getRoot(),
+						new DataInputStream(new BufferedInputStream(stream)));
+				if (Tracing.PERF_STEPS) {
+					Tracing.get().trace(Tracing.PERFORMANCE_STEPS,
+							"StepUsageStorage: restored usages of " + files + " feature file(s) of '"
+									+ javaProject.getElementName() + "' in " + (System.currentTimeMillis() - start)
+									+ "ms");
+				}
+			}
+		} catch (IOException | CoreException | RuntimeException e) {
+			EditorLogging.error("loading the step usages of " + javaProject.getElementName()
+					+ " failed, they will be collected on the next validation", e);
+			return new StepUsageIndex();
+		}
+		return index;
+	}
+
+	/**
+	 * @param javaProject the project
+	 * @return <code>true</code> if an index of the project is stored
+	 */
+	static boolean exists(IJavaProject javaProject) {
+		IProject project = javaProject.getProject();
+		try {
+			return project.isAccessible() && StorageHelper.getOutputFolder(project).getFile(BUILD_FILE).exists();
+		} catch (CoreException | RuntimeException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Schedules saving the index of the given project, if a save is already
+	 * pending it is postponed
+	 *
+	 * @param javaProject the project
+	 * @param index       the index to save
+	 */
+	static void scheduleSave(IJavaProject javaProject, StepUsageIndex index) {
+		SaveJob job = SAVE_JOBS.computeIfAbsent(javaProject, SaveJob::new);
+		job.index = index;
+		job.schedule(SAVE_DELAY);
+	}
+
+	private static int read(StepUsageIndex index, IWorkspaceRoot root, DataInputStream in) throws IOException {
+		if (in.readInt() != FORMAT_VERSION) {
+			return 0;
+		}
+		int fileCount = in.readInt();
+		int restored = 0;
+		for (int i = 0; i < fileCount; i++) {
+			IFile file = root.getFile(Path.fromPortableString(in.readUTF()));
+			long modificationStamp = in.readLong();
+			long glueFingerprint = in.readLong();
+			int locationCount = in.readInt();
+			Map<String, int[]> usages = new HashMap<>(locationCount);
+			for (int j = 0; j < locationCount; j++) {
+				String location = in.readUTF();
+				int[] lines = new int[in.readInt()];
+				for (int k = 0; k < lines.length; k++) {
+					lines[k] = in.readInt();
+				}
+				usages.put(location, lines);
+			}
+			if (file.exists() && file.getModificationStamp() == modificationStamp) {
+				index.put(file, new StepUsageIndex.FileUsages(modificationStamp, glueFingerprint, usages));
+				restored++;
+			}
+		}
+		return restored;
+	}
+
+	private static void write(StepUsageIndex index, DataOutputStream out) throws IOException {
+		out.writeInt(FORMAT_VERSION);
+		Map<IFile, StepUsageIndex.FileUsages> usagesByFile = index.usagesByFile();
+		out.writeInt(usagesByFile.size());
+		for (Map.Entry<IFile, StepUsageIndex.FileUsages> entry : usagesByFile.entrySet()) {
+			StepUsageIndex.FileUsages usages = entry.getValue();
+			out.writeUTF(entry.getKey().getFullPath().toPortableString());
+			out.writeLong(usages.modificationStamp());
+			out.writeLong(usages.glueFingerprint());
+			out.writeInt(usages.lines().size());
+			for (Map.Entry<String, int[]> usage : usages.lines().entrySet()) {
+				out.writeUTF(usage.getKey());
+				out.writeInt(usage.getValue().length);
+				for (int line : usage.getValue()) {
+					out.writeInt(line);
+				}
+			}
+		}
+	}
+
+	private static final class SaveJob extends Job {
+
+		private final IJavaProject javaProject;
+
+		private volatile StepUsageIndex index;
+
+		SaveJob(IJavaProject javaProject) {
+			super("Saving step usages of " + javaProject.getElementName());
+			this.javaProject = javaProject;
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			StepUsageIndex current = index;
+			IProject project = javaProject.getProject();
+			if (current == null || !project.isAccessible()) {
+				return Status.OK_STATUS;
+			}
+			long start = Tracing.PERF_STEPS ? System.currentTimeMillis() : 0;
+			try {
+				StorageHelper.saveIntoBuildDirectory(BUILD_FILE, project, monitor, stream -> {
+					DataOutputStream out = new DataOutputStream(stream);
+					write(current, out);
+					out.flush();
+				});
+				if (Tracing.PERF_STEPS) {
+					Tracing.get().trace(Tracing.PERFORMANCE_STEPS, "StepUsageStorage: saved usages of '"
+							+ javaProject.getElementName() + "' in " + (System.currentTimeMillis() - start) + "ms");
+				}
+			} catch (CoreException | RuntimeException e) {
+				EditorLogging.error("saving the step usages of " + javaProject.getElementName() + " failed", e);
+			}
+			return Status.OK_STATUS;
+		}
+	}
+}
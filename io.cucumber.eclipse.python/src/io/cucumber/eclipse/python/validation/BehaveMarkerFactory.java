@@ -9,6 +9,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 
 import io.cucumber.eclipse.editor.marker.MarkerFactory;
+import io.cucumber.eclipse.editor.marker.StepMatchStates;
 
 /**
  * Utility class for creating Python/Behave specific markers
@@ -36,6 +37,8 @@ public class BehaveMarkerFactory {
 			}
 		}
 		
+		StepMatchStates.update(resource, snippetType, lineNumbers);
+
 		// Create new markers for unmatched steps
 		for (int lineNumber : lineNumbers) {
 			String sourceId = snippetType + "_" + lineNumber;